@@ -2,8 +2,11 @@ package com.backend_java.Migration;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.PropertySource;
 
 @SpringBootApplication
+// Lowest precedence, so the reactive profile (and any deployment) can override it
+@PropertySource("classpath:servlet-stack.properties")
 public class MigrationApplication {
 
 	public static void main(String[] args) {
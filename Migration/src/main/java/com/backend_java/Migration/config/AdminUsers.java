@@ -0,0 +1,31 @@
+package com.backend_java.Migration.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * User ids granted ROLE_ADMIN by the JWT filters (app.security.admin-users). Admin-only routes
+ * are the operational ones, e.g. /actuator/answerstats.
+ */
+@Component
+public class AdminUsers {
+
+    static final String ROLE = "ADMIN";
+
+    private static final List<GrantedAuthority> ADMIN = List.of(new SimpleGrantedAuthority("ROLE_" + ROLE));
+
+    private final Set<String> userIds;
+
+    public AdminUsers(@Value("${app.security.admin-users:}") List<String> userIds) {
+        this.userIds = Set.copyOf(userIds.stream().map(String::trim).filter(id -> !id.isEmpty()).toList());
+    }
+
+    public List<GrantedAuthority> authoritiesOf(String userId) {
+        return userIds.contains(userId) ? ADMIN : List.of();
+    }
+}
@@ -0,0 +1,27 @@
+package com.backend_java.Migration.config;
+
+import com.backend_java.Migration.services.GradingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * GET /actuator/answerstats/{questionId}?limit=5: memo hit rate and most frequent wrong answers of
+ * a question. Admin only in both security chains, and only reachable once added to
+ * management.endpoints.web.exposure.include.
+ */
+@Component
+@Endpoint(id = "answerstats")
+@RequiredArgsConstructor
+public class AnswerStatsEndpoint {
+
+    private final GradingService gradingService;
+
+    @ReadOperation
+    public GradingService.AnswerStats answerStats(@Selector String questionId, @Nullable Integer limit) {
+        return gradingService.getAnswerStats(questionId, limit != null ? limit : 5);
+    }
+}
@@ -0,0 +1,49 @@
+package com.backend_java.Migration.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+@Configuration
+public class CacheConfig {
+
+    /**
+     * Per-user GET /api/curriculum payloads, dropped on any progress write or catalog reload.
+     */
+    @Bean
+    public Cache<String, List<Map<String, Object>>> curriculumViewCache(
+            @Value("${app.cache.curriculum.max-size:10000}") long maxSize,
+            @Value("${app.cache.curriculum.expire-after-access:30m}") Duration expireAfterAccess,
+            MeterRegistry meterRegistry) {
+        Cache<String, List<Map<String, Object>>> cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(expireAfterAccess)
+                .recordStats()
+                .build();
+        return CaffeineCacheMetrics.monitor(meterRegistry, cache, "curriculum.view");
+    }
+
+    /**
+     * Serialized lesson and problem responses keyed by their ETag, so each content version is rendered once.
+     */
+    @Bean
+    public Cache<String, ContentCaching.Rendered> renderedContentCache(
+            @Value("${app.http.content-cache.rendered-max-size:32MB}") DataSize maxSize,
+            MeterRegistry meterRegistry) {
+        Cache<String, ContentCaching.Rendered> cache = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((String etag, ContentCaching.Rendered rendered) -> rendered.size())
+                .recordStats()
+                .build();
+        return CaffeineCacheMetrics.monitor(meterRegistry, cache, "content.rendered");
+    }
+}
@@ -0,0 +1,128 @@
+package com.backend_java.Migration.config;
+
+import com.backend_java.Migration.services.AttemptService;
+import com.backend_java.Migration.services.CatalogService;
+import com.backend_java.Migration.services.LeaderboardService;
+import com.backend_java.Migration.services.SearchService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Loads the in-memory indexes once seeding is done.
+ * Runners complete before Spring Boot reports the app as ready to accept traffic.
+ * Catalog reads fail until a load succeeds, so a failed load is retried in the background with
+ * backoff; readiness stays DOWN meanwhile. After that the same thread polls the content version
+ * DataSeeder bumps and reloads the catalog when another instance has seeded new content; the
+ * CatalogReloadedEvent lets the dependent caches and indexes catch up.
+ */
+@Component
+@Order(2)
+@RequiredArgsConstructor
+@Slf4j
+public class CacheWarmer implements CommandLineRunner, DisposableBean {
+
+    private final CatalogService catalogService;
+    private final LeaderboardService leaderboardService;
+    private final AttemptService attemptService;
+    private final SearchService searchService;
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${app.catalog.load-retry.initial-backoff:1s}")
+    private Duration initialBackoff;
+
+    @Value("${app.catalog.load-retry.max-backoff:1m}")
+    private Duration maxBackoff;
+
+    @Value("${app.catalog.refresh-interval:30s}")
+    private Duration refreshInterval;
+
+    private volatile Thread catalogWatch;
+    private long contentVersion;
+
+    @Override
+    public void run(String... args) {
+        boolean loaded = loadCatalog();
+        catalogWatch = Thread.ofVirtual().name("catalog-watch").start(() -> watchCatalog(loaded));
+        try {
+            leaderboardService.rebuild();
+        } catch (Exception e) {
+            log.error("Failed to build leaderboard index: {}", e.getMessage(), e);
+        }
+        try {
+            attemptService.migrateEmbeddedHistory();
+        } catch (Exception e) {
+            log.error("Failed to migrate embedded question history: {}", e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        Thread watch = catalogWatch;
+        if (watch != null) {
+            watch.interrupt();
+        }
+    }
+
+    /**
+     * Loads the catalog and the search index built from it; false if the catalog could not be loaded.
+     */
+    private boolean loadCatalog() {
+        try {
+            // Read first: content seeded during the load is picked up by the next poll
+            long version = DataSeeder.contentVersion(mongoTemplate);
+            catalogService.reload();
+            contentVersion = version;
+        } catch (Exception e) {
+            log.error("Failed to load content catalog: {}", e.getMessage(), e);
+            return false;
+        }
+        try {
+            searchService.rebuild();
+        } catch (Exception e) {
+            log.error("Failed to build search index: {}", e.getMessage(), e);
+        }
+        return true;
+    }
+
+    private void watchCatalog(boolean loaded) {
+        try {
+            Duration backoff = initialBackoff;
+            while (!loaded) {
+                log.warn("Retrying the content catalog load in {}.", backoff);
+                Thread.sleep(backoff);
+                backoff = backoff.multipliedBy(2).compareTo(maxBackoff) > 0 ? maxBackoff : backoff.multipliedBy(2);
+                loaded = loadCatalog();
+            }
+            if (refreshInterval.isZero()) {
+                return;
+            }
+            while (true) {
+                Thread.sleep(refreshInterval);
+                refreshCatalog();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void refreshCatalog() {
+        try {
+            long version = DataSeeder.contentVersion(mongoTemplate);
+            if (version != contentVersion) {
+                log.info("Seeded content changed (v{} -> v{}), reloading the catalog.", contentVersion, version);
+                catalogService.reload();
+                contentVersion = version;
+            }
+        } catch (Exception e) {
+            log.warn("Failed to refresh the content catalog: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.backend_java.Migration.config;
+
+import com.backend_java.Migration.services.CatalogService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports DOWN until the content catalog has been loaded.
+ * Included in the readiness group so traffic is only routed to warmed instances.
+ */
+@Component("catalog")
+@RequiredArgsConstructor
+public class CatalogHealthIndicator implements HealthIndicator {
+
+    private final CatalogService catalogService;
+
+    @Override
+    public Health health() {
+        if (!catalogService.isLoaded()) {
+            return Health.down().withDetail("reason", "Content catalog not loaded").build();
+        }
+        return Health.up().withDetail("version", catalogService.getVersion()).build();
+    }
+}
@@ -0,0 +1,184 @@
+package com.backend_java.Migration.config;
+
+import com.backend_java.Migration.services.CatalogService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Conditional GET for content that only changes with the catalog. A matching If-None-Match is
+ * answered with 304 before the body is produced; every response carries the ETag and a
+ * Cache-Control of app.http.content-cache.max-age. It is private by default since the routes sit
+ * behind the JWT filter; app.http.content-cache.public is only safe once they are permitAll in
+ * both security chains.
+ * <p>
+ * Bodies are serialized once per ETag, as JSON and gzipped, and written as bytes with the
+ * Content-Encoding the client accepts. Clients accepting gzip get their own strong ETag, also when
+ * the body is sent uncompressed because gzip would not make it smaller.
+ */
+@Component
+public class ContentCaching {
+
+    private static final String GZIP = "gzip";
+
+    private final CacheControl cacheControl;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, Rendered> renderedContentCache;
+
+    /**
+     * @param gzip null when compressing would not make the body smaller
+     */
+    public record Rendered(byte[] identity, byte[] gzip) {
+        int size() {
+            return identity.length + (gzip != null ? gzip.length : 0);
+        }
+    }
+
+    public ContentCaching(ObjectMapper objectMapper,
+                          Cache<String, Rendered> renderedContentCache,
+                          @Value("${app.http.content-cache.max-age:60s}") Duration maxAge,
+                          @Value("${app.http.content-cache.public:false}") boolean shared) {
+        this.objectMapper = objectMapper;
+        this.renderedContentCache = renderedContentCache;
+        CacheControl control = CacheControl.maxAge(maxAge);
+        this.cacheControl = shared ? control.cachePublic() : control.cachePrivate();
+    }
+
+    @EventListener
+    public void onCatalogReloaded(CatalogService.CatalogReloadedEvent event) {
+        renderedContentCache.invalidateAll();
+    }
+
+    /**
+     * @param etag null when the content is unknown; the body is then produced as usual, e.g. to fail
+     */
+    public ResponseEntity<byte[]> respond(WebRequest request, String etag, Supplier<?> body) {
+        if (etag == null) {
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(serialize(body.get()));
+        }
+        boolean gzip = acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        String representation = representationETag(etag, gzip);
+        if (request.checkNotModified(representation)) {
+            return notModified(representation);
+        }
+        Rendered rendered = renderedContentCache.getIfPresent(etag);
+        if (rendered == null) {
+            rendered = render(body.get());
+            renderedContentCache.put(etag, rendered);
+        }
+        return ok(representation, rendered, gzip);
+    }
+
+    public Mono<ResponseEntity<byte[]>> respond(ServerWebExchange exchange, String etag, Supplier<? extends Mono<?>> body) {
+        if (etag == null) {
+            return body.get().map(content -> ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(serialize(content)));
+        }
+        boolean gzip = acceptsGzip(exchange.getRequest().getHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING));
+        String representation = representationETag(etag, gzip);
+        if (exchange.checkNotModified(representation)) {
+            return Mono.just(notModified(representation));
+        }
+        Rendered cached = renderedContentCache.getIfPresent(etag);
+        Mono<Rendered> rendered = cached != null ? Mono.just(cached) : body.get().map(content -> {
+            Rendered fresh = render(content);
+            renderedContentCache.put(etag, fresh);
+            return fresh;
+        });
+        return rendered.map(content -> ok(representation, content, gzip));
+    }
+
+    private ResponseEntity<byte[]> ok(String etag, Rendered rendered, boolean gzip) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON);
+        if (gzip && rendered.gzip() != null) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, GZIP)
+                    .contentLength(rendered.gzip().length)
+                    .body(rendered.gzip());
+        }
+        return builder.contentLength(rendered.identity().length).body(rendered.identity());
+    }
+
+    private ResponseEntity<byte[]> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .build();
+    }
+
+    /**
+     * Depends only on the request, so revalidation never needs the rendered body.
+     */
+    private static String representationETag(String etag, boolean gzip) {
+        return gzip ? etag + "-" + GZIP : etag;
+    }
+
+    private Rendered render(Object content) {
+        byte[] identity = serialize(content);
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(identity.length / 4 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(identity);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        byte[] gzip = compressed.size() < identity.length ? compressed.toByteArray() : null;
+        return new Rendered(identity, gzip);
+    }
+
+    private byte[] serialize(Object content) {
+        try {
+            return objectMapper.writeValueAsBytes(content);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * True unless gzip is absent from Accept-Encoding or refused with q=0.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            if (!parts[0].trim().toLowerCase(Locale.ROOT).equals(GZIP)) {
+                continue;
+            }
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        return Double.parseDouble(param.substring(2)) > 0;
+                    } catch (NumberFormatException e) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+}
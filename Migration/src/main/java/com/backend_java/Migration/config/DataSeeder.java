@@ -3,136 +3,378 @@ package com.backend_java.Migration.config;
 import com.backend_java.Migration.models.Lesson;
 import com.backend_java.Migration.models.Problem;
 import com.backend_java.Migration.models.Question;
-import com.backend_java.Migration.repositories.LessonRepository;
-import com.backend_java.Migration.repositories.ProblemRepository;
-import com.backend_java.Migration.repositories.QuestionRepository;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+/**
+ * Brings lessons, questions and problems in line with curriculum.json and problems.json on every
+ * start, so content changes reach deployed databases.
+ * <p>
+ * The files are streamed one lesson / problem at a time. Each entry is hashed, and per batch the
+ * stored hashes are read in one query and only new or changed entries are written in one bulk
+ * write per collection. Lessons and problems are matched by slug and keep their _id. A changed
+ * lesson's questions are rewritten in place by position, keeping their ids and with them users'
+ * attempts. Lessons no longer in the file are reported but left in place, as progress refers to them.
+ * A run that writes anything bumps the shared content version, which every instance's CacheWarmer
+ * polls to reload its catalog.
+ */
 @Component
-@RequiredArgsConstructor
+@Order(1)
 @Slf4j
 public class DataSeeder implements CommandLineRunner {
 
-    private final LessonRepository lessonRepository;
-    private final QuestionRepository questionRepository;
-    private final ProblemRepository problemRepository;
+    static final String CONTENT_VERSIONS = "content_versions";
+    static final String CATALOG_CONTENT = "catalog";
+
+    private final MongoTemplate mongoTemplate;
     private final ObjectMapper objectMapper;
+    private final int batchSize;
+
+    public DataSeeder(MongoTemplate mongoTemplate,
+                      ObjectMapper objectMapper,
+                      @Value("${app.seed.batch-size:100}") int batchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+    }
+
+    private record SeedLesson(Lesson lesson, List<Question> questions) {}
+
+    static final class Tally {
+        int inserted;
+        int updated;
+        int reordered;
+        int unchanged;
+        int questions;
+
+        boolean changed() {
+            return inserted + updated + reordered > 0;
+        }
+
+        @Override
+        public String toString() {
+            return inserted + " inserted, " + updated + " updated, " + reordered + " reordered, " + unchanged + " unchanged";
+        }
+    }
 
     @Override
-    public void run(String... args) throws Exception {
+    public void run(String... args) {
         try {
-            if (lessonRepository.count() > 0) {
-                log.info("Database already seeded with curriculum. Skipping...");
-                return;
+            long started = System.nanoTime();
+            Tally lessons = seedCurriculum();
+            Tally problems = seedProblems();
+            if (lessons.changed() || problems.changed()) {
+                mongoTemplate.upsert(Query.query(Criteria.where("_id").is(CATALOG_CONTENT)), new Update()
+                        .inc("version", 1L)
+                        .currentDate("updatedAt"), CONTENT_VERSIONS);
             }
+            log.info("Seeded in {} ms. Lessons: {} ({} questions written). Problems: {}.",
+                    (System.nanoTime() - started) / 1_000_000, lessons, lessons.questions, problems);
+        } catch (Exception e) {
+            log.error("Failed to seed database: {}", e.getMessage(), e);
+        }
+    }
 
-            log.info("Seeding database with C++ curriculum and problems...");
-
-            // 1. Seed Curriculum
-            try (InputStream is = new ClassPathResource("curriculum.json").getInputStream()) {
-                JsonNode root = objectMapper.readTree(is);
-                JsonNode units = root.get("units");
-
-                int globalLessonOrder = 0;
-
-                for (JsonNode unitNode : units) {
-                    // Process Lessons in Unit
-                    JsonNode lessonsNode = unitNode.get("lessons");
-                    for (JsonNode lessonNode : lessonsNode) {
-                        // Create Lesson
-                        Lesson lesson = Lesson.builder()
-                                .title(lessonNode.get("title").asText())
-                                .slug(lessonNode.get("slug").asText())
-                                .description(lessonNode.get("description").asText())
-                                .level(Lesson.DifficultyLevel.valueOf(lessonNode.get("level").asText().toUpperCase()))
-                                .order(globalLessonOrder++)
-                                .type(Lesson.LessonType.LESSON)
-                                .isPublished(true)
-                                .build();
-
-                        // Convert content list
-                        List<Object> content = objectMapper.convertValue(lessonNode.get("content"), new TypeReference<List<Object>>() {});
-                        lesson.setContent(content);
-
-                        Lesson savedLesson = lessonRepository.save(lesson);
-
-                        // Process Questions for Lesson
-                        JsonNode questionsNode = lessonNode.get("questions");
-                        for (JsonNode qNode : questionsNode) {
-                            Question question = Question.builder()
-                                    .type(Question.QuestionType.valueOf(qNode.get("type").asText().replace("-", "_").toUpperCase()))
-                                    .prompt(qNode.get("prompt").asText())
-                                    .lessonId(savedLesson.getId())
-                                    .build();
-                            
-                            // Optional fields
-                            if (qNode.has("options")) {
-                                question.setOptions(objectMapper.convertValue(qNode.get("options"), new TypeReference<List<String>>() {}));
-                            }
-                            if (qNode.has("solution")) {
-                                 // Handle solution which can be number (MCQ) or string (FILL_IN_BLANK) or list (PARSONS)
-                                JsonNode solutionNode = qNode.get("solution");
-                                if (solutionNode.isNumber()) {
-                                    question.setSolution(solutionNode.asInt());
-                                } else if (solutionNode.isArray()) {
-                                    question.setSolution(objectMapper.convertValue(solutionNode, new TypeReference<List<Integer>>() {}));
-                                } else {
-                                    question.setSolution(solutionNode.asText());
-                                }
-                            }
-                            if (qNode.has("blocks")) {
-                                question.setBlocks(objectMapper.convertValue(qNode.get("blocks"), new TypeReference<List<String>>() {}));
-                            }
-                            if (qNode.has("codeTemplate")) {
-                                question.setCodeTemplate(qNode.get("codeTemplate").asText());
-                            }
-                            if (qNode.has("concepts")) {
-                                question.setConcepts(objectMapper.convertValue(qNode.get("concepts"), new TypeReference<List<String>>() {}));
+    /**
+     * Version of the seeded content, 0 before anything was seeded.
+     */
+    static long contentVersion(MongoTemplate mongoTemplate) {
+        Document version = mongoTemplate.findById(CATALOG_CONTENT, Document.class, CONTENT_VERSIONS);
+        return version == null ? 0 : version.get("version", Number.class).longValue();
+    }
+
+    Tally seedCurriculum() throws IOException {
+        Tally tally = new Tally();
+        Set<String> slugs = new HashSet<>();
+        List<SeedLesson> batch = new ArrayList<>(batchSize);
+        int order = 0;
+
+        // { ..., "units": [ { ..., "lessons": [ {lesson}, ... ] }, ... ] }
+        try (InputStream is = new ClassPathResource("curriculum.json").getInputStream();
+             JsonParser parser = objectMapper.getFactory().createParser(is)) {
+            expect(parser.nextToken(), JsonToken.START_OBJECT);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                boolean units = "units".equals(parser.currentName());
+                parser.nextToken();
+                if (!units) {
+                    parser.skipChildren();
+                    continue;
+                }
+                expect(parser.currentToken(), JsonToken.START_ARRAY);
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        boolean lessons = "lessons".equals(parser.currentName());
+                        parser.nextToken();
+                        if (!lessons) {
+                            parser.skipChildren();
+                            continue;
+                        }
+                        expect(parser.currentToken(), JsonToken.START_ARRAY);
+                        while (parser.nextToken() == JsonToken.START_OBJECT) {
+                            SeedLesson lesson = toLesson(objectMapper.readTree(parser), order++);
+                            slugs.add(lesson.lesson().getSlug());
+                            batch.add(lesson);
+                            if (batch.size() == batchSize) {
+                                writeLessons(batch, tally);
+                                batch.clear();
                             }
-                            
-                            questionRepository.save(question);
                         }
                     }
                 }
             }
+        }
+        if (!batch.isEmpty()) {
+            writeLessons(batch, tally);
+        }
 
-            // 2. Seed Problems
-            try (InputStream is = new ClassPathResource("problems.json").getInputStream()) {
-                JsonNode problemsNode = objectMapper.readTree(is);
-                List<Problem> problems = new ArrayList<>();
-                for (JsonNode pNode : problemsNode) {
-                    Problem problem = Problem.builder()
-                            .title(pNode.get("title").asText())
-                            .slug(pNode.get("slug").asText())
-                            .description(pNode.get("description").asText())
-                            .difficulty(Problem.Difficulty.valueOf(pNode.get("difficulty").asText().toUpperCase()))
-                            .leetcodeUrl(pNode.get("leetcodeUrl").asText())
-                            .order(pNode.get("order").asInt())
-                            .build();
-                    
-                    if (pNode.has("tags")) {
-                        problem.setTags(objectMapper.convertValue(pNode.get("tags"), new TypeReference<List<String>>() {}));
-                    }
-                    problems.add(problem);
+        Query stale = Query.query(Criteria.where("slug").nin(slugs));
+        stale.fields().include("slug");
+        List<String> staleSlugs = mongoTemplate.find(stale, Lesson.class).stream().map(Lesson::getSlug).toList();
+        if (!staleSlugs.isEmpty()) {
+            log.warn("Lessons no longer in curriculum.json were left in place: {}", staleSlugs);
+        }
+        return tally;
+    }
+
+    Tally seedProblems() throws IOException {
+        Tally tally = new Tally();
+        List<Problem> batch = new ArrayList<>(batchSize);
+        try (InputStream is = new ClassPathResource("problems.json").getInputStream();
+             JsonParser parser = objectMapper.getFactory().createParser(is)) {
+            expect(parser.nextToken(), JsonToken.START_ARRAY);
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                batch.add(toProblem(objectMapper.readTree(parser)));
+                if (batch.size() == batchSize) {
+                    writeProblems(batch, tally);
+                    batch.clear();
                 }
-                problemRepository.saveAll(problems);
             }
+        }
+        if (!batch.isEmpty()) {
+            writeProblems(batch, tally);
+        }
+        return tally;
+    }
 
-            log.info("Database seeding completed successfully!");
-        } catch (Exception e) {
-            log.error("Failed to seed database: {}", e.getMessage(), e);
+    private void writeLessons(List<SeedLesson> batch, Tally tally) {
+        Map<String, Lesson> stored = stored(Lesson.class, batch.stream().map(seed -> seed.lesson().getSlug()).toList(),
+                Lesson::getSlug, "order");
+        BulkOperations lessonOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Lesson.class);
+        List<SeedLesson> changed = new ArrayList<>();
+        boolean writes = false;
+        for (SeedLesson seed : batch) {
+            Lesson lesson = seed.lesson();
+            Lesson current = stored.get(lesson.getSlug());
+            if (current == null) {
+                lesson.setId(new ObjectId().toHexString());
+                lessonOps.insert(lesson);
+                changed.add(seed);
+                tally.inserted++;
+            } else if (!lesson.getContentHash().equals(current.getContentHash())) {
+                lesson.setId(current.getId());
+                lessonOps.replaceOne(byId(current.getId()), lesson);
+                changed.add(seed);
+                tally.updated++;
+            } else if (lesson.getOrder() != current.getOrder()) {
+                lessonOps.updateOne(byId(current.getId()), new Update().set("order", lesson.getOrder()));
+                tally.reordered++;
+            } else {
+                tally.unchanged++;
+                continue;
+            }
+            writes = true;
+        }
+        if (writes) {
+            lessonOps.execute();
+        }
+        writeQuestions(changed, tally);
+    }
+
+    /**
+     * Questions have no key of their own in the file, so the i-th question of a lesson replaces
+     * the i-th stored one (in _id order, i.e. insertion order); extra ones are inserted or removed.
+     */
+    private void writeQuestions(List<SeedLesson> changed, Tally tally) {
+        if (changed.isEmpty()) {
+            return;
+        }
+        Query query = Query.query(Criteria.where("lessonId").in(changed.stream().map(seed -> seed.lesson().getId()).toList()))
+                .with(Sort.by("_id"));
+        query.fields().include("lessonId");
+        Map<String, List<String>> storedIds = mongoTemplate.find(query, Question.class).stream()
+                .collect(Collectors.groupingBy(Question::getLessonId, Collectors.mapping(Question::getId, Collectors.toList())));
+
+        BulkOperations questionOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Question.class);
+        List<String> surplus = new ArrayList<>();
+        for (SeedLesson seed : changed) {
+            List<String> ids = storedIds.getOrDefault(seed.lesson().getId(), List.of());
+            List<Question> questions = seed.questions();
+            for (int i = 0; i < questions.size(); i++) {
+                Question question = questions.get(i);
+                question.setLessonId(seed.lesson().getId());
+                if (i < ids.size()) {
+                    question.setId(ids.get(i));
+                    questionOps.replaceOne(byId(ids.get(i)), question);
+                } else {
+                    question.setId(new ObjectId().toHexString());
+                    questionOps.insert(question);
+                }
+            }
+            if (ids.size() > questions.size()) {
+                surplus.addAll(ids.subList(questions.size(), ids.size()));
+            }
+            tally.questions += questions.size();
+        }
+        if (!surplus.isEmpty()) {
+            questionOps.remove(Query.query(Criteria.where("_id").in(surplus)));
+        }
+        questionOps.execute();
+    }
+
+    private void writeProblems(List<Problem> batch, Tally tally) {
+        Map<String, Problem> stored = stored(Problem.class, batch.stream().map(Problem::getSlug).toList(), Problem::getSlug);
+        BulkOperations problemOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Problem.class);
+        boolean writes = false;
+        for (Problem problem : batch) {
+            Problem current = stored.get(problem.getSlug());
+            if (current == null) {
+                problemOps.insert(problem);
+                tally.inserted++;
+            } else if (!problem.getContentHash().equals(current.getContentHash())) {
+                problem.setId(current.getId());
+                problemOps.replaceOne(byId(current.getId()), problem);
+                tally.updated++;
+            } else {
+                tally.unchanged++;
+                continue;
+            }
+            writes = true;
+        }
+        if (writes) {
+            problemOps.execute();
+        }
+    }
+
+    /**
+     * _id, slug, contentHash (and {@code extraFields}) of the stored documents with these slugs.
+     */
+    private <T> Map<String, T> stored(Class<T> type, List<String> slugs, Function<T, String> slug, String... extraFields) {
+        Query query = Query.query(Criteria.where("slug").in(slugs));
+        query.fields().include("slug", "contentHash").include(extraFields);
+        return mongoTemplate.find(query, type).stream().collect(Collectors.toMap(slug, Function.identity()));
+    }
+
+    private SeedLesson toLesson(JsonNode lessonNode, int order) throws IOException {
+        Lesson lesson = Lesson.builder()
+                .title(lessonNode.get("title").asText())
+                .slug(lessonNode.get("slug").asText())
+                .description(lessonNode.get("description").asText())
+                .level(Lesson.DifficultyLevel.valueOf(lessonNode.get("level").asText().toUpperCase()))
+                .order(order)
+                .type(Lesson.LessonType.LESSON)
+                .isPublished(true)
+                .contentHash(hash(lessonNode))
+                .build();
+        lesson.setContent(objectMapper.convertValue(lessonNode.get("content"), new TypeReference<List<Object>>() {}));
+
+        List<Question> questions = new ArrayList<>();
+        for (JsonNode qNode : lessonNode.get("questions")) {
+            Question question = Question.builder()
+                    .type(Question.QuestionType.valueOf(qNode.get("type").asText().replace("-", "_").toUpperCase()))
+                    .prompt(qNode.get("prompt").asText())
+                    .build();
+
+            // Optional fields
+            if (qNode.has("options")) {
+                question.setOptions(objectMapper.convertValue(qNode.get("options"), new TypeReference<List<String>>() {}));
+            }
+            if (qNode.has("solution")) {
+                // Handle solution which can be number (MCQ) or string (FILL_IN_BLANK) or list (PARSONS)
+                JsonNode solutionNode = qNode.get("solution");
+                if (solutionNode.isNumber()) {
+                    question.setSolution(solutionNode.asInt());
+                } else if (solutionNode.isArray()) {
+                    question.setSolution(objectMapper.convertValue(solutionNode, new TypeReference<List<Integer>>() {}));
+                } else {
+                    question.setSolution(solutionNode.asText());
+                }
+            }
+            if (qNode.has("blocks")) {
+                question.setBlocks(objectMapper.convertValue(qNode.get("blocks"), new TypeReference<List<String>>() {}));
+            }
+            if (qNode.has("codeTemplate")) {
+                question.setCodeTemplate(qNode.get("codeTemplate").asText());
+            }
+            if (qNode.has("concepts")) {
+                question.setConcepts(objectMapper.convertValue(qNode.get("concepts"), new TypeReference<List<String>>() {}));
+            }
+            questions.add(question);
+        }
+        return new SeedLesson(lesson, questions);
+    }
+
+    private Problem toProblem(JsonNode pNode) throws IOException {
+        Problem problem = Problem.builder()
+                .title(pNode.get("title").asText())
+                .slug(pNode.get("slug").asText())
+                .description(pNode.get("description").asText())
+                .difficulty(Problem.Difficulty.valueOf(pNode.get("difficulty").asText().toUpperCase()))
+                .leetcodeUrl(pNode.get("leetcodeUrl").asText())
+                .order(pNode.get("order").asInt())
+                .contentHash(hash(pNode))
+                .build();
+        if (pNode.has("tags")) {
+            problem.setTags(objectMapper.convertValue(pNode.get("tags"), new TypeReference<List<String>>() {}));
+        }
+        return problem;
+    }
+
+    // Over the entry as written in the file; a lesson's position is compared separately
+    private String hash(JsonNode node) throws IOException {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(node)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Query byId(String id) {
+        return Query.query(Criteria.where("_id").is(id));
+    }
+
+    private static void expect(JsonToken actual, JsonToken expected) throws IOException {
+        if (actual != expected) {
+            throw new IOException("Unexpected seed file structure: expected " + expected + " but found " + actual);
         }
     }
 }
@@ -0,0 +1,31 @@
+package com.backend_java.Migration.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Reports DOWN until every declared Mongo index is known to exist.
+ * Included in the readiness group so no instance serves queries that would scan whole collections.
+ */
+@Component("indexes")
+@RequiredArgsConstructor
+public class IndexHealthIndicator implements HealthIndicator {
+
+    private final IndexManager indexManager;
+
+    @Override
+    public Health health() {
+        List<String> missing = indexManager.getMissing();
+        if (missing == null) {
+            return Health.down().withDetail("reason", "Indexes not verified yet").build();
+        }
+        if (!missing.isEmpty()) {
+            return Health.down().withDetail("missing", missing).build();
+        }
+        return Health.up().build();
+    }
+}
@@ -0,0 +1,119 @@
+package com.backend_java.Migration.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Creates the indexes the repositories rely on, declared with @Indexed / @CompoundIndex on the
+ * mapped documents, before anything else touches the database. Spring Boot leaves auto-index
+ * creation off, so without this the annotations are never applied.
+ * <p>
+ * With {@code app.mongo.indexes.create=false} indexes are only verified (e.g. when they are
+ * built by hand on a large production collection). Declared indexes that are still missing keep
+ * the "indexes" health contributor, and with it readiness, DOWN.
+ */
+@Component
+@Order(0)
+@Slf4j
+public class IndexManager implements CommandLineRunner {
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoMappingContext mappingContext;
+    private final boolean create;
+
+    // "collection {keys}" per declared index not in the database; null until checked
+    private volatile List<String> missing;
+
+    public IndexManager(MongoTemplate mongoTemplate,
+                        MongoMappingContext mappingContext,
+                        @Value("${app.mongo.indexes.create:true}") boolean create) {
+        this.mongoTemplate = mongoTemplate;
+        this.mappingContext = mappingContext;
+        this.create = create;
+    }
+
+    @Override
+    public void run(String... args) {
+        try {
+            missing = ensureIndexes();
+        } catch (Exception e) {
+            log.error("Failed to verify Mongo indexes: {}", e.getMessage(), e);
+        }
+    }
+
+    public List<String> getMissing() {
+        return missing;
+    }
+
+    /**
+     * @return the declared indexes still missing afterwards
+     */
+    public List<String> ensureIndexes() {
+        IndexResolver resolver = IndexResolver.create(mappingContext);
+        List<String> absent = new ArrayList<>();
+        for (MongoPersistentEntity<?> entity : mappingContext.getPersistentEntities()) {
+            if (!entity.isAnnotationPresent(Document.class)) {
+                continue;
+            }
+            IndexOperations indexOps = mongoTemplate.indexOps(entity.getCollection());
+            List<IndexInfo> existing = indexOps.getIndexInfo();
+            for (IndexDefinition index : resolver.resolveIndexFor(entity.getTypeInformation())) {
+                String description = entity.getCollection() + " " + index.getIndexKeys().toJson();
+                if (isPresent(existing, index)) {
+                    continue;
+                }
+                if (create) {
+                    try {
+                        indexOps.ensureIndex(index);
+                        existing = indexOps.getIndexInfo();
+                        log.info("Created index {}", description);
+                    } catch (RuntimeException e) {
+                        log.error("Failed to create index {}: {}", description, e.getMessage());
+                    }
+                }
+                if (!isPresent(existing, index)) {
+                    absent.add(description);
+                }
+            }
+        }
+        if (absent.isEmpty()) {
+            log.info("All declared Mongo indexes are present.");
+        } else {
+            log.error("Missing Mongo indexes: {}", absent);
+        }
+        return List.copyOf(absent);
+    }
+
+    /**
+     * Same keys in the same order and directions, and unique if declared unique. Names may differ.
+     */
+    private static boolean isPresent(List<IndexInfo> existing, IndexDefinition index) {
+        String keys = index.getIndexKeys().entrySet().stream()
+                .map(key -> key.getKey() + ":" + key.getValue())
+                .collect(Collectors.joining(","));
+        boolean unique = Boolean.TRUE.equals(index.getIndexOptions().get("unique"));
+        return existing.stream().anyMatch(info -> keys.equals(keys(info)) && (!unique || info.isUnique()));
+    }
+
+    private static String keys(IndexInfo info) {
+        return info.getIndexFields().stream()
+                .map(field -> field.getKey() + ":" + (field.getDirection() == Sort.Direction.DESC ? -1 : 1))
+                .collect(Collectors.joining(","));
+    }
+}
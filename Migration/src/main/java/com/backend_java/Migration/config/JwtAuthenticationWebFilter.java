@@ -0,0 +1,49 @@
+package com.backend_java.Migration.config;
+
+import com.backend_java.Migration.services.JwtService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link JwtAuthenticationFilter}. Not a bean on purpose: WebFlux would
+ * otherwise also register it outside the security chain, see {@link ReactiveSecurityConfig}.
+ */
+@RequiredArgsConstructor
+public class JwtAuthenticationWebFilter implements WebFilter {
+
+    private final JwtService jwtService;
+    private final AdminUsers adminUsers;
+
+    @Override
+    @NonNull
+    public Mono<Void> filter(@NonNull ServerWebExchange exchange, @NonNull WebFilterChain chain) {
+        String authHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return chain.filter(exchange);
+        }
+
+        String userId;
+        try {
+            // Signature checks are served from JwtService's verified-token cache; no I/O here
+            userId = jwtService.extractUserId(authHeader.substring(7));
+        } catch (Exception e) {
+            // Invalid/expired tokens continue unauthenticated, as in the servlet filter
+            return chain.filter(exchange);
+        }
+        if (userId == null) {
+            return chain.filter(exchange);
+        }
+
+        UsernamePasswordAuthenticationToken authToken =
+                new UsernamePasswordAuthenticationToken(userId, null, adminUsers.authoritiesOf(userId));
+        return chain.filter(exchange)
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authToken));
+    }
+}
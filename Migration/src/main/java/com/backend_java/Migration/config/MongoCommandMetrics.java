@@ -0,0 +1,95 @@
+package com.backend_java.Migration.config;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Documents returned or written per Mongo command, as {@code mongodb.driver.commands.documents}
+ * tagged command and collection. Latency per command and collection is Boot's
+ * {@code mongodb.driver.commands} timer; this adds how much each command moved.
+ * Registered on both the blocking and the reactive client.
+ */
+@Configuration
+public class MongoCommandMetrics implements CommandListener {
+
+    static final Set<String> DATA_COMMANDS = Set.of(
+            "find", "getMore", "aggregate", "count", "distinct", "insert", "update", "delete", "findAndModify");
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Integer, String> collectionByRequest = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    public MongoCommandMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoDocumentMetricsCustomizer() {
+        return settings -> settings.addCommandListener(this);
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        if (DATA_COMMANDS.contains(event.getCommandName())) {
+            // The command document is only valid during this callback
+            collectionByRequest.put(event.getRequestId(), collection(event.getCommandName(), event.getCommand()));
+        }
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        String collection = collectionByRequest.remove(event.getRequestId());
+        if (collection == null) {
+            return;
+        }
+        String command = event.getCommandName();
+        summaries.computeIfAbsent(command + '/' + collection, key -> DistributionSummary
+                        .builder("mongodb.driver.commands.documents")
+                        .description("Documents returned or written by a Mongo command")
+                        .baseUnit("documents")
+                        .tag("command", command)
+                        .tag("collection", collection)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry))
+                .record(documents(command, event.getResponse()));
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        collectionByRequest.remove(event.getRequestId());
+    }
+
+    static String collection(String command, BsonDocument document) {
+        BsonValue name = document.get(command.equals("getMore") ? "collection" : command);
+        return name != null && name.isString() ? name.asString().getValue() : "unknown";
+    }
+
+    static int documents(String command, BsonDocument response) {
+        return switch (command) {
+            case "find", "aggregate" -> batchSize(response, "firstBatch");
+            case "getMore" -> batchSize(response, "nextBatch");
+            case "distinct" -> response.isArray("values") ? response.getArray("values").size() : 0;
+            case "findAndModify" -> response.containsKey("value") && !response.get("value").isNull() ? 1 : 0;
+            // insert/delete: n written; update: n matched (upserts included); count: n counted
+            default -> response.isNumber("n") ? response.getNumber("n").intValue() : 0;
+        };
+    }
+
+    private static int batchSize(BsonDocument response, String batch) {
+        BsonDocument cursor = response.isDocument("cursor") ? response.getDocument("cursor") : null;
+        return cursor != null && cursor.isArray(batch) ? cursor.getArray(batch).size() : 0;
+    }
+}
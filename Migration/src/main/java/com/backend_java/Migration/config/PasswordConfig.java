@@ -0,0 +1,21 @@
+package com.backend_java.Migration.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+// Shared by the servlet and reactive security setups
+@Configuration
+public class PasswordConfig {
+
+    // Raising this re-hashes each user's password on their next successful login
+    @Value("${app.security.bcrypt-strength:10}")
+    private int bcryptStrength;
+
+    @Bean
+    public PasswordEncoder passwordEncoder() {
+        return new BCryptPasswordEncoder(bcryptStrength);
+    }
+}
@@ -0,0 +1,100 @@
+package com.backend_java.Migration.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Checks each finished request's {@link QueryProfile} against a per-endpoint budget of Mongo
+ * round-trips. Every profile is logged at DEBUG; requests over budget, and requests repeating the
+ * same collection.command {@code repeat-threshold} times (the usual N+1 shape), are logged at WARN.
+ * <p>
+ * With {@code app.query-budget.enforce=true} (tests) an over-budget request throws instead, so a
+ * query-count regression fails the build.
+ */
+@Component
+@Slf4j
+public class QueryBudget {
+
+    public static final String HEADER = "X-Query-Profile";
+
+    private final MeterRegistry meterRegistry;
+    private final int defaultBudget;
+    private final Map<String, Integer> budgets = new HashMap<>();
+    private final int repeatThreshold;
+    private final boolean debugHeader;
+    private final boolean enforce;
+    private final Map<String, DistributionSummary> queryCounts = new ConcurrentHashMap<>();
+
+    public QueryBudget(MeterRegistry meterRegistry,
+                       @Value("${app.query-budget.default:10}") int defaultBudget,
+                       @Value("${app.query-budget.endpoints:}") List<String> endpointBudgets,
+                       @Value("${app.query-budget.repeat-threshold:3}") int repeatThreshold,
+                       @Value("${app.query-budget.debug-header:false}") boolean debugHeader,
+                       @Value("${app.query-budget.enforce:false}") boolean enforce) {
+        this.meterRegistry = meterRegistry;
+        this.defaultBudget = defaultBudget;
+        this.repeatThreshold = repeatThreshold;
+        this.debugHeader = debugHeader;
+        this.enforce = enforce;
+        // "METHOD /pattern=max", e.g. "POST /api/progress/validate=4"
+        for (String entry : endpointBudgets) {
+            int separator = entry.lastIndexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("app.query-budget.endpoints entry without '=': " + entry);
+            }
+            budgets.put(entry.substring(0, separator).trim(), Integer.parseInt(entry.substring(separator + 1).trim()));
+        }
+    }
+
+    public boolean debugHeader() {
+        return debugHeader;
+    }
+
+    /**
+     * @param method   HTTP method
+     * @param pattern  the matched route pattern, or null when no handler matched
+     */
+    public void complete(String method, String pattern, QueryProfile profile) {
+        if (pattern == null) {
+            log.debug("{} (no handler): {}", method, profile);
+            return;
+        }
+        String endpoint = method + " " + pattern;
+        queryCounts.computeIfAbsent(endpoint, key -> DistributionSummary.builder("http.server.queries")
+                        .description("Mongo round-trips per request")
+                        .tag("method", method)
+                        .tag("uri", pattern)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry))
+                .record(profile.queries());
+
+        List<String> repeated = profile.operations().entrySet().stream()
+                .filter(operation -> operation.getValue() >= repeatThreshold)
+                .map(operation -> operation.getKey() + " x" + operation.getValue())
+                .toList();
+        int budget = budgets.getOrDefault(endpoint, defaultBudget);
+        boolean overBudget = profile.queries() > budget;
+
+        if (overBudget) {
+            Counter.builder("http.server.queries.over-budget").tag("method", method).tag("uri", pattern)
+                    .register(meterRegistry).increment();
+            log.warn("{} exceeded its query budget of {}: {}", endpoint, budget, profile);
+        } else if (!repeated.isEmpty()) {
+            log.warn("{} repeats {}, possible N+1: {}", endpoint, repeated, profile);
+        } else {
+            log.debug("{}: {}", endpoint, profile);
+        }
+        if (overBudget && enforce) {
+            throw new IllegalStateException(endpoint + " exceeded its query budget of " + budget + ": " + profile);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.backend_java.Migration.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Binds a {@link QueryProfile} to the request thread for every dispatch of a request (async
+ * controllers resume on another thread) and checks it against the {@link QueryBudget} once the
+ * request is done.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    private static final String PROFILE_ATTRIBUTE = QueryProfile.class.getName();
+
+    private final QueryBudget queryBudget;
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        QueryProfile profile = (QueryProfile) request.getAttribute(PROFILE_ATTRIBUTE);
+        if (profile == null) {
+            profile = new QueryProfile();
+            request.setAttribute(PROFILE_ATTRIBUTE, profile);
+        }
+
+        QueryProfile previous = QueryProfile.bind(profile);
+        try {
+            filterChain.doFilter(request, queryBudget.debugHeader() ? new ProfileHeaderResponse(response, profile) : response);
+        } finally {
+            QueryProfile.restore(previous);
+        }
+        if (request.isAsyncStarted()) {
+            return;
+        }
+        if (queryBudget.debugHeader() && !response.isCommitted()) {
+            response.setHeader(QueryBudget.HEADER, profile.toString());
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        queryBudget.complete(request.getMethod(), pattern == null ? null : pattern.toString(), profile);
+    }
+
+    /**
+     * Sets the profile header as the body starts, when the controller's queries are all done.
+     */
+    private static final class ProfileHeaderResponse extends HttpServletResponseWrapper {
+        private final QueryProfile profile;
+        private boolean headerWritten;
+
+        ProfileHeaderResponse(HttpServletResponse response, QueryProfile profile) {
+            super(response);
+            this.profile = profile;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeader();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeader();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeader();
+            super.flushBuffer();
+        }
+
+        private void writeHeader() {
+            if (!headerWritten && !isCommitted()) {
+                headerWritten = true;
+                setHeader(QueryBudget.HEADER, profile.toString());
+            }
+        }
+    }
+}
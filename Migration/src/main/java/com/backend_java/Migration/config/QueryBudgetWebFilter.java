@@ -0,0 +1,46 @@
+package com.backend_java.Migration.config;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link QueryBudgetFilter}: the profile travels in the Reactor context,
+ * where {@link QueryProfiler} finds it for the reactive driver.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class QueryBudgetWebFilter implements WebFilter {
+
+    private final QueryBudget queryBudget;
+
+    @Override
+    @NonNull
+    public Mono<Void> filter(@NonNull ServerWebExchange exchange, @NonNull WebFilterChain chain) {
+        QueryProfile profile = new QueryProfile();
+        if (queryBudget.debugHeader()) {
+            exchange.getResponse().beforeCommit(() -> {
+                exchange.getResponse().getHeaders().set(QueryBudget.HEADER, profile.toString());
+                return Mono.empty();
+            });
+        }
+        return chain.filter(exchange)
+                .contextWrite(context -> context.put(QueryProfile.class, profile))
+                .then(Mono.fromRunnable(() -> {
+                    PathPattern pattern = exchange.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                    queryBudget.complete(exchange.getRequest().getMethod().name(),
+                            pattern == null ? null : pattern.getPatternString(), profile);
+                }));
+    }
+}
@@ -0,0 +1,82 @@
+package com.backend_java.Migration.config;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mongo round-trips made on behalf of one HTTP request, per "collection.command".
+ * <p>
+ * Servlet requests bind it to the request thread ({@link #bind}); reactive requests carry it in
+ * the Reactor context. Either way {@link QueryProfiler} hands it to the driver, so blocking
+ * repositories, reactive repositories and MongoTemplate calls are all counted. Work handed to
+ * another thread pool (e.g. password hashing) is not attributed to the request.
+ */
+public final class QueryProfile {
+
+    private static final ThreadLocal<QueryProfile> CURRENT = new ThreadLocal<>();
+
+    private final AtomicInteger queries = new AtomicInteger();
+    private final AtomicLong nanos = new AtomicLong();
+    private final Map<String, AtomicInteger> byOperation = new ConcurrentHashMap<>();
+
+    static QueryProfile current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Makes {@code profile} the current thread's profile.
+     *
+     * @return the previous one, to hand back to {@link #restore}
+     */
+    static QueryProfile bind(QueryProfile profile) {
+        QueryProfile previous = CURRENT.get();
+        CURRENT.set(profile);
+        return previous;
+    }
+
+    static void restore(QueryProfile previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    void started(String collection, String command) {
+        queries.incrementAndGet();
+        byOperation.computeIfAbsent(collection + '.' + command, key -> new AtomicInteger()).incrementAndGet();
+    }
+
+    void finished(long elapsedNanos) {
+        nanos.addAndGet(elapsedNanos);
+    }
+
+    public int queries() {
+        return queries.get();
+    }
+
+    public double millis() {
+        return nanos.get() / 1e6;
+    }
+
+    /**
+     * Round-trips per "collection.command", sorted by key.
+     */
+    public Map<String, Integer> operations() {
+        Map<String, Integer> operations = new TreeMap<>();
+        byOperation.forEach((operation, count) -> operations.put(operation, count.get()));
+        return operations;
+    }
+
+    /**
+     * e.g. {@code 3 queries, 1.8 ms [progress.find=1, users.find=1, users.update=1]}
+     */
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%d queries, %.1f ms %s", queries(), millis(), operations());
+    }
+}
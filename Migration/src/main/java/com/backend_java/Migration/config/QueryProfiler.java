@@ -0,0 +1,128 @@
+package com.backend_java.Migration.config;
+
+import com.mongodb.RequestContext;
+import com.mongodb.client.SynchronousContextProvider;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import com.mongodb.reactivestreams.client.ReactiveContextProvider;
+import org.reactivestreams.Subscriber;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.CoreSubscriber;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Attributes every Mongo command to the {@link QueryProfile} of the request that issued it.
+ * <p>
+ * The driver asks a context provider for the caller's context when an operation starts (on the
+ * calling thread for the blocking client, from the subscriber for the reactive one) and hands
+ * that context back on each command event. One provider serves both clients.
+ */
+@Configuration
+public class QueryProfiler implements CommandListener, SynchronousContextProvider, ReactiveContextProvider {
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer queryProfilerCustomizer() {
+        return settings -> settings.contextProvider(this).addCommandListener(this);
+    }
+
+    @Override
+    public RequestContext getContext() {
+        return context(QueryProfile.current());
+    }
+
+    @Override
+    public RequestContext getContext(Subscriber<?> subscriber) {
+        return subscriber instanceof CoreSubscriber<?> core
+                ? context(core.currentContext().getOrDefault(QueryProfile.class, null))
+                : null;
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        QueryProfile profile = profile(event.getRequestContext());
+        if (profile != null && MongoCommandMetrics.DATA_COMMANDS.contains(event.getCommandName())) {
+            profile.started(MongoCommandMetrics.collection(event.getCommandName(), event.getCommand()), event.getCommandName());
+        }
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        QueryProfile profile = profile(event.getRequestContext());
+        if (profile != null) {
+            profile.finished(event.getElapsedTime(TimeUnit.NANOSECONDS));
+        }
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        QueryProfile profile = profile(event.getRequestContext());
+        if (profile != null) {
+            profile.finished(event.getElapsedTime(TimeUnit.NANOSECONDS));
+        }
+    }
+
+    private static RequestContext context(QueryProfile profile) {
+        return profile == null ? null : new ProfileContext(profile);
+    }
+
+    private static QueryProfile profile(RequestContext context) {
+        return context instanceof ProfileContext profiled ? profiled.profile : null;
+    }
+
+    /**
+     * The driver's context for one operation; other keys are kept for whatever else puts them.
+     */
+    private static final class ProfileContext implements RequestContext {
+        private final QueryProfile profile;
+        private final Map<Object, Object> values = new ConcurrentHashMap<>();
+
+        ProfileContext(QueryProfile profile) {
+            this.profile = profile;
+            values.put(QueryProfile.class, profile);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T get(Object key) {
+            return (T) values.get(key);
+        }
+
+        @Override
+        public boolean hasKey(Object key) {
+            return values.containsKey(key);
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return values.isEmpty();
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            values.put(key, value);
+        }
+
+        @Override
+        public void delete(Object key) {
+            values.remove(key);
+        }
+
+        @Override
+        public int size() {
+            return values.size();
+        }
+
+        @Override
+        public Stream<Map.Entry<Object, Object>> stream() {
+            return values.entrySet().stream();
+        }
+    }
+}
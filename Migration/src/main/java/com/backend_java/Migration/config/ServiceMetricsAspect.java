@@ -0,0 +1,99 @@
+package com.backend_java.Migration.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code service.calls} timer (with histogram) around every public method of the {@code *ServiceImpl} beans,
+ * tagged service, method and exception. Mono, Flux and CompletionStage results are timed until they complete,
+ * not until they are returned.
+ * <p>
+ * CatalogServiceImpl lookups are in-memory map reads, called many times per request and already counted by
+ * {@code catalog.lookups}; only its reload is timed.
+ */
+@Aspect
+@Component
+public class ServiceMetricsAspect {
+
+    private static final String NONE = "none";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Method, Timer> successTimers = new ConcurrentHashMap<>();
+
+    public ServiceMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("(execution(public * com.backend_java.Migration.services.impl.*ServiceImpl.*(..))"
+            + " && !within(com.backend_java.Migration.services.impl.CatalogServiceImpl))"
+            + " || execution(public * com.backend_java.Migration.services.impl.CatalogServiceImpl.reload(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Class<?> service = joinPoint.getTarget().getClass();
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            stop(service, method, start, e);
+            throw e;
+        }
+        if (result instanceof Mono<?> mono) {
+            return Mono.defer(() -> {
+                long subscribedAt = System.nanoTime();
+                return mono.doOnSuccess(value -> stop(service, method, subscribedAt, null))
+                        .doOnError(e -> stop(service, method, subscribedAt, e));
+            });
+        }
+        if (result instanceof Flux<?> flux) {
+            return Flux.defer(() -> {
+                long subscribedAt = System.nanoTime();
+                return flux.doOnComplete(() -> stop(service, method, subscribedAt, null))
+                        .doOnError(e -> stop(service, method, subscribedAt, e));
+            });
+        }
+        if (result instanceof CompletionStage<?> stage) {
+            stage.whenComplete((value, e) -> stop(service, method, start, e));
+            return result;
+        }
+        stop(service, method, start, null);
+        return result;
+    }
+
+    private void stop(Class<?> service, Method method, long start, Throwable error) {
+        long elapsed = System.nanoTime() - start;
+        Timer timer = error == null
+                ? successTimers.computeIfAbsent(method, m -> timer(service, m, NONE))
+                : timer(service, method, unwrap(error).getClass().getSimpleName());
+        timer.record(elapsed, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer timer(Class<?> service, Method method, String exception) {
+        return Timer.builder("service.calls")
+                .description("Service method latency")
+                .tag("service", service.getSimpleName())
+                .tag("method", method.getName())
+                .tag("exception", exception)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null
+                ? error.getCause() : error;
+    }
+}
@@ -0,0 +1,239 @@
+package com.backend_java.Migration.config;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reports slow Mongo queries with their plans. Every query slower than
+ * {@code app.mongo.slow-query.threshold} counts as {@code mongodb.driver.commands.slow}; at most
+ * once per {@code explain-interval} per collection and command, the slow query is explained off
+ * the driver's threads and logged with its winning plan and redacted filter. Plans that scan the
+ * whole collection also count {@code mongodb.collection.scans}, the meter to alert on.
+ */
+@Configuration
+@Slf4j
+public class SlowQuerySampler implements CommandListener {
+
+    private static final Set<String> EXPLAINABLE = Set.of("find", "aggregate", "count", "distinct");
+    // Added to every command by the driver; explain rejects or ignores them on the inner command
+    private static final Set<String> DRIVER_FIELDS = Set.of(
+            "$db", "lsid", "$clusterTime", "$readPreference", "txnNumber", "readConcern",
+            "apiVersion", "apiStrict", "apiDeprecationErrors");
+
+    private final ObjectProvider<MongoDatabaseFactory> databaseFactory;
+    private final MeterRegistry meterRegistry;
+    private final long thresholdNanos;
+    private final long explainIntervalNanos;
+    private final Map<Integer, Started> startedByRequest = new ConcurrentHashMap<>();
+    private final Map<String, Long> lastExplained = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor explainer;
+
+    private record Started(String database, String collection, BsonDocument command) {}
+
+    // The database factory needs the client this listener is registered on, so it is looked up lazily
+    public SlowQuerySampler(ObjectProvider<MongoDatabaseFactory> databaseFactory,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.mongo.slow-query.threshold:100ms}") Duration threshold,
+                            @Value("${app.mongo.slow-query.explain-interval:10m}") Duration explainInterval) {
+        this.databaseFactory = databaseFactory;
+        this.meterRegistry = meterRegistry;
+        this.thresholdNanos = threshold.toNanos();
+        this.explainIntervalNanos = explainInterval.toNanos();
+        this.explainer = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(16),
+                r -> {
+                    Thread t = new Thread(r, "slow-query-explain");
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer slowQuerySamplerCustomizer() {
+        return settings -> settings.addCommandListener(this);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        explainer.shutdownNow();
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        String command = event.getCommandName();
+        if (EXPLAINABLE.contains(command)) {
+            // The command document is only valid during this callback
+            startedByRequest.put(event.getRequestId(), new Started(event.getDatabaseName(),
+                    MongoCommandMetrics.collection(command, event.getCommand()), event.getCommand().clone()));
+        }
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        Started started = startedByRequest.remove(event.getRequestId());
+        long elapsed = event.getElapsedTime(TimeUnit.NANOSECONDS);
+        if (started == null || elapsed < thresholdNanos) {
+            return;
+        }
+        String command = event.getCommandName();
+        Counter.builder("mongodb.driver.commands.slow")
+                .tag("command", command)
+                .tag("collection", started.collection())
+                .register(meterRegistry)
+                .increment();
+        if (explainDue(started.collection() + '.' + command)) {
+            explainer.execute(() -> explain(started, command, elapsed));
+        }
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        startedByRequest.remove(event.getRequestId());
+    }
+
+    private boolean explainDue(String operation) {
+        long now = System.nanoTime();
+        Long previous = lastExplained.get(operation);
+        if (previous == null) {
+            return lastExplained.putIfAbsent(operation, now) == null;
+        }
+        return now - previous >= explainIntervalNanos && lastExplained.replace(operation, previous, now);
+    }
+
+    private void explain(Started started, String command, long elapsedNanos) {
+        BsonDocument query = new BsonDocument();
+        started.command().forEach((field, value) -> {
+            if (!DRIVER_FIELDS.contains(field)) {
+                query.append(field, value);
+            }
+        });
+        String took = String.format(Locale.ROOT, "%.1f ms", elapsedNanos / 1e6);
+        try {
+            Document explained = databaseFactory.getObject().getMongoDatabase(started.database())
+                    .runCommand(new BsonDocument("explain", query).append("verbosity", new BsonString("queryPlanner")));
+            String plan = plan(explained);
+            if (plan.contains("COLLSCAN")) {
+                Counter.builder("mongodb.collection.scans")
+                        .tag("collection", started.collection())
+                        .register(meterRegistry)
+                        .increment();
+            }
+            log.warn("Slow {} on {} took {}, plan {}: {}", command, started.collection(), took, plan, shape(query));
+        } catch (RuntimeException e) {
+            log.warn("Slow {} on {} took {}, explain failed ({}): {}",
+                    command, started.collection(), took, e.getMessage(), shape(query));
+        }
+    }
+
+    /**
+     * The winning plan as its stages, outermost first, e.g. {@code FETCH <- IXSCAN(userId_1_lessonId_1)}.
+     */
+    private static String plan(Document explained) {
+        Document planner = find(explained, "queryPlanner");
+        Document winning = planner == null ? null : planner.get("winningPlan", Document.class);
+        if (winning == null) {
+            return "unknown";
+        }
+        // Slot-based engine plans nest the classic plan tree under queryPlan
+        Document root = winning.get("queryPlan", Document.class);
+        List<String> stages = new ArrayList<>();
+        stages(root != null ? root : winning, stages);
+        return String.join(" <- ", stages);
+    }
+
+    private static void stages(Document stage, List<String> stages) {
+        String indexName = stage.getString("indexName");
+        stages.add(stage.getString("stage") + (indexName != null ? "(" + indexName + ")" : ""));
+        Document input = stage.get("inputStage", Document.class);
+        if (input != null) {
+            stages(input, stages);
+        }
+        for (Object child : stage.getList("inputStages", Object.class, List.of())) {
+            if (child instanceof Document childStage) {
+                stages(childStage, stages);
+            }
+        }
+    }
+
+    // Aggregations report the planner per pipeline stage, e.g. stages[0].$cursor.queryPlanner
+    private static Document find(Object value, String key) {
+        if (value instanceof Document document) {
+            if (document.get(key) instanceof Document found) {
+                return found;
+            }
+            for (Object nested : document.values()) {
+                Document found = find(nested, key);
+                if (found != null) {
+                    return found;
+                }
+            }
+        } else if (value instanceof List<?> list) {
+            for (Object nested : list) {
+                Document found = find(nested, key);
+                if (found != null) {
+                    return found;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Filter or pipeline and sort with every value replaced by "?", so no user data is logged.
+     */
+    private static String shape(BsonDocument command) {
+        BsonDocument shape = new BsonDocument();
+        for (String field : List.of("filter", "query", "pipeline")) {
+            if (command.containsKey(field)) {
+                shape.append(field, redact(command.get(field)));
+            }
+        }
+        if (command.isDocument("sort")) {
+            shape.append("sort", command.getDocument("sort"));
+        }
+        return shape.toJson();
+    }
+
+    private static BsonValue redact(BsonValue value) {
+        if (value.isDocument()) {
+            BsonDocument redacted = new BsonDocument();
+            value.asDocument().forEach((key, nested) -> redacted.append(key, redact(nested)));
+            return redacted;
+        }
+        if (value.isArray()) {
+            BsonArray redacted = new BsonArray();
+            value.asArray().forEach(nested -> redacted.add(redact(nested)));
+            return redacted;
+        }
+        return new BsonString("?");
+    }
+}
@@ -0,0 +1,34 @@
+package com.backend_java.Migration.config;
+
+import com.backend_java.Migration.services.SrsRecomputeService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * One-off batch mode, e.g. after tuning app.srs.* or re-tagging question concepts:
+ * java -jar app.jar --app.srs.recompute.enabled=true --app.srs.recompute.job-id=sm2-2026-10
+ * Re-running with the same job id resumes from its last checkpoint.
+ */
+@Component
+@Order(3)
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.srs.recompute.enabled", havingValue = "true")
+public class SrsRecomputeRunner implements CommandLineRunner {
+
+    private final SrsRecomputeService srsRecomputeService;
+
+    @Value("${app.srs.recompute.job-id:srs-recompute}")
+    private String jobId;
+
+    @Value("${app.srs.recompute.resume:true}")
+    private boolean resume;
+
+    @Override
+    public void run(String... args) {
+        srsRecomputeService.recompute(jobId, resume);
+    }
+}
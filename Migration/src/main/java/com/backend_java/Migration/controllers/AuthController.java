@@ -7,29 +7,33 @@ import com.backend_java.Migration.models.User;
 import com.backend_java.Migration.services.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/auth")
 @RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class AuthController {
 
     private final UserService userService;
 
+    // Async: the request thread is released while BCrypt runs on the hashing executor
     @PostMapping("/register")
-    public ResponseEntity<ApiResponse<AuthResponse>> register(@Valid @RequestBody User user) {
-        AuthResponse response = userService.register(user);
-        return ResponseEntity.ok(ApiResponse.success(response));
+    public CompletableFuture<ResponseEntity<ApiResponse<AuthResponse>>> register(@Valid @RequestBody User user) {
+        return userService.register(user)
+                .thenApply(response -> ResponseEntity.ok(ApiResponse.success(response)));
     }
 
     @PostMapping("/login")
-    public ResponseEntity<ApiResponse<AuthResponse>> login(@Valid @RequestBody AuthRequest request) {
-        AuthResponse response = userService.login(request.getEmail(), request.getPassword());
-        return ResponseEntity.ok(ApiResponse.success(response));
+    public CompletableFuture<ResponseEntity<ApiResponse<AuthResponse>>> login(@Valid @RequestBody AuthRequest request) {
+        return userService.login(request.getEmail(), request.getPassword())
+                .thenApply(response -> ResponseEntity.ok(ApiResponse.success(response)));
     }
 
     @GetMapping("/profile")
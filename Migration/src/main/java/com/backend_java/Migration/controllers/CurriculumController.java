@@ -1,10 +1,14 @@
 package com.backend_java.Migration.controllers;
 
+import com.backend_java.Migration.config.ContentCaching;
 import com.backend_java.Migration.dto.ApiResponse;
+import com.backend_java.Migration.services.CatalogService;
 import com.backend_java.Migration.services.LessonService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Map;
@@ -12,9 +16,12 @@ import java.util.Map;
 @RestController
 @RequestMapping("/api/curriculum")
 @RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class CurriculumController {
 
     private final LessonService lessonService;
+    private final CatalogService catalogService;
+    private final ContentCaching contentCaching;
 
     @GetMapping
     public ResponseEntity<ApiResponse<List<Map<String, Object>>>> getCurriculum() {
@@ -24,8 +31,8 @@ public class CurriculumController {
     }
 
     @GetMapping("/{slug}")
-    public ResponseEntity<ApiResponse<Map<String, Object>>> getLesson(@PathVariable String slug) {
-        Map<String, Object> data = lessonService.getLessonWithQuestions(slug);
-        return ResponseEntity.ok(ApiResponse.success(data));
+    public ResponseEntity<byte[]> getLesson(@PathVariable String slug, WebRequest request) {
+        return contentCaching.respond(request, catalogService.getLessonETag(slug),
+                () -> ApiResponse.success(lessonService.getLessonWithQuestions(slug)));
     }
 }
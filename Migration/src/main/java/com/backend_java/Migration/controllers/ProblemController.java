@@ -1,34 +1,47 @@
 package com.backend_java.Migration.controllers;
 
+import com.backend_java.Migration.config.ContentCaching;
 import com.backend_java.Migration.dto.ApiResponse;
-import com.backend_java.Migration.models.Problem;
+import com.backend_java.Migration.dto.ProblemQuery;
+import com.backend_java.Migration.services.CatalogService;
 import com.backend_java.Migration.services.ProblemService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/problems")
 @RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class ProblemController {
 
     private final ProblemService problemService;
+    private final CatalogService catalogService;
+    private final ContentCaching contentCaching;
 
     @GetMapping
-    public ResponseEntity<ApiResponse<List<Problem>>> getProblems() {
-        return ResponseEntity.ok(ApiResponse.success(problemService.getAllProblems()));
+    public ResponseEntity<byte[]> getProblems(ProblemQuery query, WebRequest request) {
+        if (query.isEmpty()) {
+            return contentCaching.respond(request, catalogService.getProblemsETag(),
+                    () -> ApiResponse.success(problemService.getAllProblems()));
+        }
+        return contentCaching.respond(request, catalogService.getProblemsETag(query),
+                () -> ApiResponse.success(problemService.findProblems(query)));
     }
 
     @GetMapping("/{slug}")
-    public ResponseEntity<ApiResponse<Problem>> getProblem(@PathVariable String slug) {
-        return ResponseEntity.ok(ApiResponse.success(problemService.getProblemBySlug(slug)));
+    public ResponseEntity<byte[]> getProblem(@PathVariable String slug, WebRequest request) {
+        return contentCaching.respond(request, catalogService.getProblemETag(slug),
+                () -> ApiResponse.success(problemService.getProblemBySlug(slug)));
     }
 
     @GetMapping("/leetcode/{username}")
-    public ResponseEntity<ApiResponse<Map<String, Object>>> getLeetCodeStats(@PathVariable String username) {
-        return ResponseEntity.ok(ApiResponse.success(problemService.getLeetCodeStats(username)));
+    public CompletableFuture<ResponseEntity<ApiResponse<Map<String, Object>>>> getLeetCodeStats(@PathVariable String username) {
+        return problemService.getLeetCodeStats(username).thenApply(stats -> ResponseEntity.ok(ApiResponse.success(stats)));
     }
 }
@@ -5,7 +5,9 @@ import com.backend_java.Migration.dto.CompleteLessonRequest;
 import com.backend_java.Migration.dto.ProgressRequest;
 import com.backend_java.Migration.services.LessonService;
 import com.backend_java.Migration.services.ProgressService;
+import com.backend_java.Migration.services.ReviewService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
@@ -15,10 +17,12 @@ import java.util.Map;
 @RestController
 @RequestMapping("/api/progress")
 @RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class ProgressController {
 
     private final ProgressService progressService;
     private final LessonService lessonService;
+    private final ReviewService reviewService;
 
     @PostMapping("/validate")
     public ResponseEntity<ApiResponse<Map<String, Object>>> validateAnswer(@RequestBody ProgressRequest request) {
@@ -34,4 +38,11 @@ public class ProgressController {
         lessonService.completeLesson(userId, request.getLessonId(), request.getScore());
         return ResponseEntity.ok(ApiResponse.success("Lesson marked as complete and next lesson unlocked."));
     }
+
+    @GetMapping("/review-session")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getReviewSession(
+            @RequestParam(defaultValue = "10") int limit) {
+        String userId = SecurityContextHolder.getContext().getAuthentication().getName();
+        return ResponseEntity.ok(ApiResponse.success(reviewService.buildReviewSession(userId, limit)));
+    }
 }
@@ -0,0 +1,29 @@
+package com.backend_java.Migration.controllers;
+
+import com.backend_java.Migration.dto.ApiResponse;
+import com.backend_java.Migration.dto.SearchHit;
+import com.backend_java.Migration.services.SearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class SearchController {
+
+    private final SearchService searchService;
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<SearchHit>>> search(@RequestParam(defaultValue = "") String q,
+                                                               @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(ApiResponse.success(searchService.search(q, limit)));
+    }
+}
@@ -0,0 +1,48 @@
+package com.backend_java.Migration.controllers.reactive;
+
+import com.backend_java.Migration.dto.ApiResponse;
+import com.backend_java.Migration.dto.AuthRequest;
+import com.backend_java.Migration.dto.AuthResponse;
+import com.backend_java.Migration.models.User;
+import com.backend_java.Migration.services.ReactiveUserService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.security.Principal;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/auth")
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveAuthController {
+
+    private final ReactiveUserService userService;
+
+    @PostMapping("/register")
+    public Mono<ResponseEntity<ApiResponse<AuthResponse>>> register(@Valid @RequestBody User user) {
+        return userService.register(user).map(response -> ResponseEntity.ok(ApiResponse.success(response)));
+    }
+
+    @PostMapping("/login")
+    public Mono<ResponseEntity<ApiResponse<AuthResponse>>> login(@Valid @RequestBody AuthRequest request) {
+        return userService.login(request.getEmail(), request.getPassword())
+                .map(response -> ResponseEntity.ok(ApiResponse.success(response)));
+    }
+
+    @GetMapping("/profile")
+    public Mono<ResponseEntity<ApiResponse<User>>> getProfile(Principal principal) {
+        return userService.getProfile(principal.getName()).map(user -> ResponseEntity.ok(ApiResponse.success(user)));
+    }
+
+    @PutMapping("/update-profile")
+    public Mono<ResponseEntity<ApiResponse<User>>> updateProfile(
+            Principal principal, @RequestBody Map<String, Object> updates) {
+        return userService.updateProfile(principal.getName(), updates)
+                .map(user -> ResponseEntity.ok(ApiResponse.success(user)));
+    }
+}
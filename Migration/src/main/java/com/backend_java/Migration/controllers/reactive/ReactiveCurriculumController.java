@@ -0,0 +1,39 @@
+package com.backend_java.Migration.controllers.reactive;
+
+import com.backend_java.Migration.config.ContentCaching;
+import com.backend_java.Migration.dto.ApiResponse;
+import com.backend_java.Migration.services.CatalogService;
+import com.backend_java.Migration.services.ReactiveLessonService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.security.Principal;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/curriculum")
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveCurriculumController {
+
+    private final ReactiveLessonService lessonService;
+    private final CatalogService catalogService;
+    private final ContentCaching contentCaching;
+
+    @GetMapping
+    public Mono<ResponseEntity<ApiResponse<List<Map<String, Object>>>>> getCurriculum(Principal principal) {
+        return lessonService.getCurriculumForUser(principal.getName())
+                .map(data -> ResponseEntity.ok(ApiResponse.success(data)));
+    }
+
+    @GetMapping("/{slug}")
+    public Mono<ResponseEntity<byte[]>> getLesson(@PathVariable String slug, ServerWebExchange exchange) {
+        return contentCaching.respond(exchange, catalogService.getLessonETag(slug),
+                () -> lessonService.getLessonWithQuestions(slug).map(ApiResponse::success));
+    }
+}
@@ -0,0 +1,28 @@
+package com.backend_java.Migration.controllers.reactive;
+
+import com.backend_java.Migration.dto.ApiResponse;
+import com.backend_java.Migration.services.ReactiveUserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.security.Principal;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/leaderboard")
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveLeaderboardController {
+
+    private final ReactiveUserService userService;
+
+    @GetMapping
+    public Mono<ResponseEntity<ApiResponse<Map<String, Object>>>> getLeaderboard(Principal principal) {
+        return userService.getLeaderboard(principal.getName()).map(data -> ResponseEntity.ok(ApiResponse.success(data)));
+    }
+}
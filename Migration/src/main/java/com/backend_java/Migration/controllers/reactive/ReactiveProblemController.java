@@ -0,0 +1,47 @@
+package com.backend_java.Migration.controllers.reactive;
+
+import com.backend_java.Migration.config.ContentCaching;
+import com.backend_java.Migration.dto.ApiResponse;
+import com.backend_java.Migration.dto.ProblemQuery;
+import com.backend_java.Migration.services.CatalogService;
+import com.backend_java.Migration.services.ReactiveProblemService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/problems")
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveProblemController {
+
+    private final ReactiveProblemService problemService;
+    private final CatalogService catalogService;
+    private final ContentCaching contentCaching;
+
+    @GetMapping
+    public Mono<ResponseEntity<byte[]>> getProblems(ProblemQuery query, ServerWebExchange exchange) {
+        if (query.isEmpty()) {
+            return contentCaching.respond(exchange, catalogService.getProblemsETag(),
+                    () -> problemService.getAllProblems().map(ApiResponse::success));
+        }
+        return contentCaching.respond(exchange, catalogService.getProblemsETag(query),
+                () -> problemService.findProblems(query).map(ApiResponse::success));
+    }
+
+    @GetMapping("/{slug}")
+    public Mono<ResponseEntity<byte[]>> getProblem(@PathVariable String slug, ServerWebExchange exchange) {
+        return contentCaching.respond(exchange, catalogService.getProblemETag(slug),
+                () -> problemService.getProblemBySlug(slug).map(ApiResponse::success));
+    }
+
+    @GetMapping("/leetcode/{username}")
+    public Mono<ResponseEntity<ApiResponse<Map<String, Object>>>> getLeetCodeStats(@PathVariable String username) {
+        return problemService.getLeetCodeStats(username).map(stats -> ResponseEntity.ok(ApiResponse.success(stats)));
+    }
+}
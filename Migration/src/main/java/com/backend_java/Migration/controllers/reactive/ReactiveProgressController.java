@@ -0,0 +1,46 @@
+package com.backend_java.Migration.controllers.reactive;
+
+import com.backend_java.Migration.dto.ApiResponse;
+import com.backend_java.Migration.dto.CompleteLessonRequest;
+import com.backend_java.Migration.dto.ProgressRequest;
+import com.backend_java.Migration.services.ReactiveLessonService;
+import com.backend_java.Migration.services.ReactiveProgressService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.security.Principal;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/progress")
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveProgressController {
+
+    private final ReactiveProgressService progressService;
+    private final ReactiveLessonService lessonService;
+
+    @PostMapping("/validate")
+    public Mono<ResponseEntity<ApiResponse<Map<String, Object>>>> validateAnswer(
+            Principal principal, @RequestBody ProgressRequest request) {
+        return progressService.validateAnswer(principal.getName(), request.getQuestionId(), request.getAnswer())
+                .map(result -> ResponseEntity.ok(ApiResponse.success(result)));
+    }
+
+    @PostMapping("/complete-lesson")
+    public Mono<ResponseEntity<ApiResponse<String>>> completeLesson(
+            Principal principal, @RequestBody CompleteLessonRequest request) {
+        return lessonService.completeLesson(principal.getName(), request.getLessonId(), request.getScore())
+                .thenReturn(ResponseEntity.ok(ApiResponse.success("Lesson marked as complete and next lesson unlocked.")));
+    }
+
+    @GetMapping("/review-session")
+    public Mono<ResponseEntity<ApiResponse<Map<String, Object>>>> getReviewSession(
+            Principal principal, @RequestParam(defaultValue = "10") int limit) {
+        return progressService.buildReviewSession(principal.getName(), limit)
+                .map(session -> ResponseEntity.ok(ApiResponse.success(session)));
+    }
+}
@@ -0,0 +1,17 @@
+package com.backend_java.Migration.dto;
+
+import com.backend_java.Migration.models.Problem;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProblemPage {
+    private List<Problem> problems;
+    // Pass back as cursor for the next page; null on the last one
+    private String nextCursor;
+}
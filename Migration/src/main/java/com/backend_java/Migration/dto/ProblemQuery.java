@@ -0,0 +1,25 @@
+package com.backend_java.Migration.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Query parameters of GET /api/problems. Tags match case-insensitively, all of them unless
+ * match=any; difficulties are alternatives. cursor is the nextCursor of the previous page.
+ */
+@Data
+public class ProblemQuery {
+    private List<String> tags;
+    private String match;
+    private List<String> difficulty;
+    private String cursor;
+    private Integer limit;
+
+    /**
+     * No parameters at all: the full, unpaginated list.
+     */
+    public boolean isEmpty() {
+        return tags == null && match == null && difficulty == null && cursor == null && limit == null;
+    }
+}
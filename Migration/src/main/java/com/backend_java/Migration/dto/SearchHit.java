@@ -0,0 +1,16 @@
+package com.backend_java.Migration.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchHit {
+    // "lesson" or "problem"; slug resolves against /api/curriculum or /api/problems
+    private String type;
+    private String slug;
+    private String title;
+    private double score;
+}
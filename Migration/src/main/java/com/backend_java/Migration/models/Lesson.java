@@ -1,5 +1,6 @@
 package com.backend_java.Migration.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -49,6 +50,10 @@ public class Lesson {
     @Builder.Default
     private boolean isPublished = false;
 
+    // SHA-256 of the seed file entry this document was written from; see DataSeeder
+    @JsonIgnore
+    private String contentHash;
+
     public enum LessonType {
         UNIT, LESSON
     }
@@ -1,5 +1,6 @@
 package com.backend_java.Migration.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -39,6 +40,10 @@ public class Problem {
     private String explanation;
     private int order;
 
+    // SHA-256 of the seed file entry this document was written from; see DataSeeder
+    @JsonIgnore
+    private String contentHash;
+
     public enum Difficulty {
         EASY, MEDIUM, HARD
     }
@@ -6,6 +6,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.util.List;
@@ -20,6 +21,7 @@ public class Question {
     @JsonProperty("_id")
     private String id;
 
+    @Indexed
     private String lessonId; // Matches the ObjectId ref in Node.js
 
     private QuestionType type; // We use an Enum here for safety
@@ -0,0 +1,38 @@
+package com.backend_java.Migration.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * One correctly answered question of one user (replaces the embedded User.questionHistory array).
+ * The _id is "userId:questionId", so the primary key enforces one record per pair
+ * and all per-user reads are _id range scans.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "question_attempts")
+public class QuestionAttempt {
+    @Id
+    private String id;
+
+    private String userId;
+    private String questionId;
+
+    @Builder.Default
+    private boolean correct = true;
+
+    @Builder.Default
+    private LocalDateTime answeredAt = LocalDateTime.now();
+
+    public static String idFor(String userId, String questionId) {
+        return userId + ":" + questionId;
+    }
+}
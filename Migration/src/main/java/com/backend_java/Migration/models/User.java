@@ -7,6 +7,7 @@ import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.index.IndexDirection;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
@@ -37,6 +38,7 @@ public class User {
     private String avatar;
 
     @Builder.Default        // Set default values when using the Builder pattern
+    @Indexed(name = "xp_desc", direction = IndexDirection.DESCENDING)
     private int xp = 0;
 
     @Builder.Default
@@ -49,9 +51,7 @@ public class User {
     private LocalDateTime lastActiveAt = LocalDateTime.now();
 
     // Nested Lists (replacing Mongoose Arrays)
-    @Builder.Default
-    private List<QuestionHistory> questionHistory = new ArrayList<>();
-
+    // Answer history lives in the question_attempts collection (see QuestionAttempt)
     @Builder.Default
     private List<ConceptMastery> conceptMastery = new ArrayList<>();
 
@@ -64,17 +64,6 @@ public class User {
 
     // --- Inner Classes for Nested Data ---
 
-    @Data
-    @Builder
-    @NoArgsConstructor
-    @AllArgsConstructor
-    public static class QuestionHistory {
-        private String questionId;
-        @Builder.Default
-        private LocalDateTime answeredAt = LocalDateTime.now();
-        private boolean correct;
-    }
-
     @Data
     @Builder
     @NoArgsConstructor
@@ -0,0 +1,14 @@
+package com.backend_java.Migration.repositories;
+
+import com.backend_java.Migration.models.QuestionAttempt;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import java.util.List;
+
+public interface QuestionAttemptRepository extends MongoRepository<QuestionAttempt, String> {
+    /**
+     * All attempts of a user as an _id range scan ("userId:" <= _id < "userId;"), question ids only.
+     */
+    @Query(value = "{ '_id': { '$gte': ?0, '$lt': ?1 } }", fields = "{ 'questionId': 1 }")
+    List<QuestionAttempt> findQuestionIdsInIdRange(String fromInclusive, String toExclusive);
+}
@@ -0,0 +1,48 @@
+package com.backend_java.Migration.repositories;
+
+import com.backend_java.Migration.models.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Partial-update operations on users that must not read-modify-write the whole document.
+ */
+public interface UserRepositoryCustom {
+
+    /**
+     * Everything one graded answer changes on the user document.
+     * streakCount and activeAt are null when the streak is left untouched; lastActiveAt is the
+     * value the streak was computed from. readConcepts.get(i) is updatedConcepts.get(i) as read.
+     */
+    record AnswerUpdate(
+            int xpEarned,
+            Integer streakCount,
+            LocalDateTime activeAt,
+            LocalDateTime lastActiveAt,
+            List<User.ConceptMastery> updatedConcepts,
+            List<User.ConceptMastery> readConcepts,
+            List<User.ConceptMastery> newConcepts
+    ) {}
+
+    /**
+     * Apply an answer as an ordered bulk of separate updateOne operations: one round-trip, but
+     * not atomic across them. $inc xp always applies. The streak and each concept's positional
+     * $set only apply while the stored values still equal the ones they were computed from, so
+     * a concurrent answer's write is never overwritten from a stale read. New concepts are
+     * $push-ed under a $ne filter so concurrent submissions never duplicate them.
+     * Returns false if any of those guarded writes was skipped.
+     */
+    boolean recordAnswer(String userId, AnswerUpdate update);
+
+    /**
+     * $inc xp, and $set the streak only if lastActiveAt is still the value it was computed from,
+     * without loading or rewriting the rest of the document.
+     */
+    void incrementXp(String userId, int xpEarned, int streakCount, LocalDateTime activeAt, LocalDateTime lastActiveAt);
+
+    /**
+     * $set only the password hash, e.g. when upgrading the BCrypt cost on login.
+     */
+    void updatePassword(String userId, String encodedPassword);
+}
@@ -0,0 +1,103 @@
+package com.backend_java.Migration.repositories;
+
+import com.backend_java.Migration.models.User;
+import com.mongodb.bulk.BulkWriteResult;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import org.springframework.data.util.Pair;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public boolean recordAnswer(String userId, AnswerUpdate update) {
+        List<Pair<Query, UpdateDefinition>> writes = answerWrites(userId, update);
+        if (writes.isEmpty()) {
+            return true;
+        }
+        BulkWriteResult result = mongoTemplate.bulkOps(BulkOperations.BulkMode.ORDERED, User.class)
+                .updateOne(writes)
+                .execute();
+        return result.getMatchedCount() == writes.size();
+    }
+
+    /**
+     * The ordered writes for one graded answer: $inc xp; a $set per updated concept entry, matching
+     * only while the entry is as read; the streak guarded on lastActiveAt; then one guarded $push per
+     * new concept. Every write but the $inc matches nothing after a conflict, so the matched count
+     * tells whether all of them applied. Also used by the reactive repository.
+     */
+    public static List<Pair<Query, UpdateDefinition>> answerWrites(String userId, AnswerUpdate update) {
+        List<Pair<Query, UpdateDefinition>> writes = new ArrayList<>();
+
+        if (update.xpEarned() != 0) {
+            writes.add(Pair.of(byId(userId), new Update().inc("xp", update.xpEarned())));
+        }
+        List<User.ConceptMastery> updated = update.updatedConcepts();
+        for (int i = 0; i < updated.size(); i++) {
+            User.ConceptMastery read = update.readConcepts().get(i);
+            Query unchanged = Query.query(Criteria.where("_id").is(userId)
+                    .and("conceptMastery").elemMatch(entryAsRead("", read)));
+            // The whole entry in one $set, so the filter is evaluated once
+            writes.add(Pair.of(unchanged, new Update()
+                    .set("conceptMastery.$[c]", updated.get(i))
+                    .filterArray(entryAsRead("c.", read))));
+        }
+        if (update.streakCount() != null) {
+            writes.add(Pair.of(streakUnchanged(userId, update.lastActiveAt()), new Update()
+                    .set("streakCount", update.streakCount())
+                    .set("lastActiveAt", update.activeAt())));
+        }
+
+        for (User.ConceptMastery concept : update.newConcepts()) {
+            Query absent = Query.query(Criteria.where("_id").is(userId)
+                    .and("conceptMastery.concept").ne(concept.getConcept()));
+            writes.add(Pair.of(absent, new Update().push("conceptMastery", concept)));
+        }
+        return writes;
+    }
+
+    @Override
+    public void incrementXp(String userId, int xpEarned, int streakCount, LocalDateTime activeAt, LocalDateTime lastActiveAt) {
+        mongoTemplate.bulkOps(BulkOperations.BulkMode.ORDERED, User.class)
+                .updateOne(byId(userId), new Update().inc("xp", xpEarned))
+                .updateOne(streakUnchanged(userId, lastActiveAt), new Update()
+                        .set("streakCount", streakCount)
+                        .set("lastActiveAt", activeAt))
+                .execute();
+    }
+
+    @Override
+    public void updatePassword(String userId, String encodedPassword) {
+        mongoTemplate.updateFirst(byId(userId), new Update().set("password", encodedPassword), User.class);
+    }
+
+    private static Criteria entryAsRead(String prefix, User.ConceptMastery read) {
+        return Criteria.where(prefix + "concept").is(read.getConcept())
+                .and(prefix + "masteryLevel").is(read.getMasteryLevel())
+                .and(prefix + "interval").is(read.getInterval())
+                .and(prefix + "repetition").is(read.getRepetition())
+                .and(prefix + "efactor").is(read.getEfactor())
+                .and(prefix + "nextReviewAt").is(read.getNextReviewAt());
+    }
+
+    private static Query byId(String userId) {
+        return Query.query(Criteria.where("_id").is(userId));
+    }
+
+    // The streak was computed from lastActiveAt; a concurrent answer that moved it already set the streak
+    private static Query streakUnchanged(String userId, LocalDateTime lastActiveAt) {
+        return Query.query(Criteria.where("_id").is(userId).and("lastActiveAt").is(lastActiveAt));
+    }
+}
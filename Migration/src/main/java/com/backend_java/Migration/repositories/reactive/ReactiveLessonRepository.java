@@ -0,0 +1,9 @@
+package com.backend_java.Migration.repositories.reactive;
+
+import com.backend_java.Migration.models.Lesson;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveLessonRepository extends ReactiveMongoRepository<Lesson, String> {
+    Mono<Lesson> findBySlug(String slug);
+}
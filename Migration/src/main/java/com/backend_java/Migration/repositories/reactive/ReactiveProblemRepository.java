@@ -0,0 +1,9 @@
+package com.backend_java.Migration.repositories.reactive;
+
+import com.backend_java.Migration.models.Problem;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveProblemRepository extends ReactiveMongoRepository<Problem, String> {
+    Mono<Problem> findBySlug(String slug);
+}
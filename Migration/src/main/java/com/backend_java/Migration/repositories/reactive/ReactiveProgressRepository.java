@@ -0,0 +1,11 @@
+package com.backend_java.Migration.repositories.reactive;
+
+import com.backend_java.Migration.models.Progress;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveProgressRepository extends ReactiveMongoRepository<Progress, String> {
+    Flux<Progress> findByUserId(String userId);
+    Mono<Progress> findByUserIdAndLessonId(String userId, String lessonId);
+}
@@ -0,0 +1,9 @@
+package com.backend_java.Migration.repositories.reactive;
+
+import com.backend_java.Migration.models.Question;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+
+public interface ReactiveQuestionRepository extends ReactiveMongoRepository<Question, String> {
+    Flux<Question> findByLessonId(String lessonId);
+}
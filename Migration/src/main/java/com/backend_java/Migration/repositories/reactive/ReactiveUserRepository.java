@@ -0,0 +1,11 @@
+package com.backend_java.Migration.repositories.reactive;
+
+import com.backend_java.Migration.models.User;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveUserRepository extends ReactiveMongoRepository<User, String>, ReactiveUserRepositoryCustom {
+    Mono<User> findByEmail(String email);
+    Mono<Boolean> existsByEmail(String email);
+    Mono<Boolean> existsByUsername(String username);
+}
@@ -0,0 +1,17 @@
+package com.backend_java.Migration.repositories.reactive;
+
+import com.backend_java.Migration.repositories.UserRepositoryCustom;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterparts of {@link UserRepositoryCustom}, issuing the same updates.
+ */
+public interface ReactiveUserRepositoryCustom {
+
+    /**
+     * Emits false if a guarded write was skipped, see {@link UserRepositoryCustom#recordAnswer}.
+     */
+    Mono<Boolean> recordAnswer(String userId, UserRepositoryCustom.AnswerUpdate update);
+
+    Mono<Void> updatePassword(String userId, String encodedPassword);
+}
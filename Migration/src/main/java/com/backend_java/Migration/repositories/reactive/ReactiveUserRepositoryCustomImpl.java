@@ -0,0 +1,42 @@
+package com.backend_java.Migration.repositories.reactive;
+
+import com.backend_java.Migration.models.User;
+import com.backend_java.Migration.repositories.UserRepositoryCustom;
+import com.backend_java.Migration.repositories.UserRepositoryCustomImpl;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import org.springframework.data.util.Pair;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+public class ReactiveUserRepositoryCustomImpl implements ReactiveUserRepositoryCustom {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    @Override
+    public Mono<Boolean> recordAnswer(String userId, UserRepositoryCustom.AnswerUpdate update) {
+        List<Pair<Query, UpdateDefinition>> writes = UserRepositoryCustomImpl.answerWrites(userId, update);
+        if (writes.isEmpty()) {
+            return Mono.just(true);
+        }
+        ReactiveBulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.ORDERED, User.class);
+        for (Pair<Query, UpdateDefinition> write : writes) {
+            bulk.updateOne(write.getFirst(), write.getSecond());
+        }
+        return bulk.execute().map(result -> result.getMatchedCount() == writes.size());
+    }
+
+    @Override
+    public Mono<Void> updatePassword(String userId, String encodedPassword) {
+        return mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(userId)),
+                new Update().set("password", encodedPassword), User.class).then();
+    }
+}
@@ -0,0 +1,21 @@
+package com.backend_java.Migration.services;
+
+/**
+ * Tracks which questions each user has already answered correctly.
+ */
+public interface AttemptService {
+
+    boolean hasAnswered(String userId, String questionId);
+
+    /**
+     * Record a correct answer. Returns true only for the first one per user and question,
+     * even under concurrent submissions.
+     */
+    boolean recordCorrectAnswer(String userId, String questionId);
+
+    /**
+     * Move any legacy embedded User.questionHistory entries into the attempts collection.
+     * Runs once: a marker in the migrations collection skips the scan after a pass without failures.
+     */
+    void migrateEmbeddedHistory();
+}
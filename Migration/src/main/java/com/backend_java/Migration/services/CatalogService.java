@@ -0,0 +1,121 @@
+package com.backend_java.Migration.services;
+
+import com.backend_java.Migration.dto.ProblemPage;
+import com.backend_java.Migration.dto.ProblemQuery;
+import com.backend_java.Migration.models.Lesson;
+import com.backend_java.Migration.models.Problem;
+import com.backend_java.Migration.models.Question;
+import com.backend_java.Migration.utils.AnswerMatcher;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable, versioned in-memory view of the seeded content (lessons, questions and problems).
+ * Reads never touch Mongo; reload() builds a fresh snapshot and swaps it in atomically.
+ * Lookups return null on a miss so callers can fall back to the repositories.
+ * Every read except isLoaded() throws IllegalStateException until the first reload() has completed.
+ */
+public interface CatalogService {
+
+    /**
+     * Published when a reload replaces an earlier snapshot, i.e. when CacheWarmer picks up newly
+     * seeded content, so dependent caches can drop stale entries.
+     */
+    record CatalogReloadedEvent(long version) {}
+
+    long getVersion();
+
+    boolean isLoaded();
+
+    /**
+     * All lessons ordered by their curriculum order.
+     */
+    List<Lesson> getLessons();
+
+    /**
+     * Client-facing curriculum row for the lesson, without user-specific fields.
+     */
+    Map<String, Object> getCurriculumRow(String lessonId);
+
+    Lesson getLesson(String lessonId);
+
+    Lesson getLessonBySlug(String slug);
+
+    Lesson getNextLesson(Lesson lesson);
+
+    Question getQuestion(String questionId);
+
+    /**
+     * Dense 0-based index of the question within the current version, or -1 if unknown.
+     */
+    int getQuestionOrdinal(String questionId);
+
+    int getQuestionCount();
+
+    /**
+     * Questions of a lesson in seeding order, or null if the lesson is unknown.
+     */
+    List<Question> getQuestionsForLesson(String lessonId);
+
+    /**
+     * The question's solution compiled for grading, or null if the question is unknown.
+     */
+    AnswerMatcher getAnswerMatcher(String questionId);
+
+    /**
+     * Client-facing view of a question with the solution stripped, or null if unknown.
+     */
+    Map<String, Object> getSafeQuestion(String questionId);
+
+    /**
+     * Inverted index over Question.concepts: every question tagged with the concept, in catalog order.
+     */
+    List<Question> getQuestionsForConcept(String concept);
+
+    /**
+     * Every concept tag used by at least one question.
+     */
+    Set<String> getConcepts();
+
+    /**
+     * All problems ordered by their problem-set order, then by id.
+     */
+    List<Problem> getProblems();
+
+    Problem getProblemBySlug(String slug);
+
+    /**
+     * One page of the problems matching the query, in problem-set order after its cursor (the
+     * order and id of the previous page's last problem, so problems sharing an order are neither
+     * skipped nor repeated). Tags and difficulties are answered from bitmaps over the problem
+     * list, so the cost does not grow with the number of problems skipped.
+     *
+     * @throws IllegalArgumentException for an unknown difficulty or match mode, or a malformed cursor or limit
+     */
+    ProblemPage findProblems(ProblemQuery query);
+
+    /**
+     * Strong ETag of the lesson view (lesson and safe questions), or null if the lesson is unknown.
+     * Derived from the seeded content hashes, so it only changes with the content and is the same
+     * on every instance.
+     */
+    String getLessonETag(String slug);
+
+    /**
+     * Strong ETag of the full problem list.
+     */
+    String getProblemsETag();
+
+    /**
+     * Strong ETag of the page findProblems returns for the query.
+     */
+    String getProblemsETag(ProblemQuery query);
+
+    /**
+     * Strong ETag of one problem, or null if the problem is unknown.
+     */
+    String getProblemETag(String slug);
+
+    void reload();
+}
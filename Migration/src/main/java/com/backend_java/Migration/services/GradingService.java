@@ -0,0 +1,28 @@
+package com.backend_java.Migration.services;
+
+import com.backend_java.Migration.models.Question;
+
+import java.util.List;
+
+/**
+ * Grades answers against the question's compiled matcher, memoizing results per
+ * (question, normalized answer) so the same submission is only graded once.
+ */
+public interface GradingService {
+
+    /**
+     * A wrong answer as it was normalized for the memo, with how often it was submitted (an upper
+     * bound once more distinct wrong answers were seen than are tracked).
+     */
+    record WrongAnswer(Object answer, long count) {}
+
+    record AnswerStats(String questionId, long graded, long memoHits, double hitRate, List<WrongAnswer> topWrongAnswers) {}
+
+    boolean isCorrect(Question question, Object answer);
+
+    /**
+     * Memo hit rate for the question and its most frequent wrong answers. Reveals solutions and
+     * learners' submissions, so it is only served to admins (the answerstats actuator endpoint).
+     */
+    AnswerStats getAnswerStats(String questionId, int limit);
+}
@@ -1,28 +1,95 @@
 package com.backend_java.Migration.services;
 
 import com.backend_java.Migration.models.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 @Service
+@RequiredArgsConstructor
 public class JwtService {
 
+    private final MeterRegistry meterRegistry;
+
     @Value("${jwt.secret:very-long-secret-key-at-least-32-characters-long}")
     private String secret;
 
     @Value("${jwt.expiration:604800000}") // 7 days in milliseconds
     private long expiration;
 
+    @Value("${jwt.cache.max-size:100000}")
+    private long cacheMaxSize;
+
+    // Built once: deriving the HMAC key and parser per request was pure overhead
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    /**
+     * Verified tokens keyed by their SHA-256 digest; each entry expires with its token.
+     */
+    private Cache<ByteBuffer, VerifiedToken> verifiedTokens;
+    private Timer verificationTimer;
+    private Counter cacheHits;
+    private Counter cacheMisses;
+
+    private record VerifiedToken(String userId, long expiresAtMillis) {}
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser().verifyWith(signingKey).build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new Expiry<ByteBuffer, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(ByteBuffer key, VerifiedToken value, long currentTime) {
+                        long remainingMillis = value.expiresAtMillis() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(ByteBuffer key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(ByteBuffer key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwt.verified-tokens");
+        verificationTimer = Timer.builder("jwt.verification")
+                .description("Full signature verification of a JWT (cache misses only)")
+                .register(meterRegistry);
+        cacheHits = Counter.builder("jwt.cache").tag("result", "hit").register(meterRegistry);
+        cacheMisses = Counter.builder("jwt.cache").tag("result", "miss").register(meterRegistry);
+    }
+
     public String generateToken(User user) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("id", user.getId());
@@ -33,7 +100,7 @@ public class JwtService {
                 .subject(user.getId())
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignInKey())
+                .signWith(signingKey)
                 .compact();
     }
 
@@ -42,11 +109,27 @@ public class JwtService {
         return (extractedUserId.equals(userId)) && !isTokenExpired(token);
     }
 
+    /**
+     * Returns the user id of a valid token; throws for invalid or expired ones (which are never cached).
+     */
     public String extractUserId(String token) {
-        Claims claims = extractAllClaims(token);
+        ByteBuffer key = digest(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(key);
+        if (cached != null) {
+            cacheHits.increment();
+            return cached.userId();
+        }
+        cacheMisses.increment();
+
+        Claims claims = verificationTimer.record(() -> extractAllClaims(token));
         String id = claims.get("id", String.class);
-        if (id != null) return id;
-        return claims.getSubject();
+        if (id == null) id = claims.getSubject();
+
+        Date exp = claims.getExpiration();
+        if (id != null && exp != null) {
+            verifiedTokens.put(key, new VerifiedToken(id, exp.getTime()));
+        }
+        return id;
     }
 
     private <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
@@ -55,9 +138,7 @@ public class JwtService {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSignInKey())
-                .build()
+        return parser
                 .parseSignedClaims(token)
                 .getPayload();
     }
@@ -66,8 +147,12 @@ public class JwtService {
         return extractClaim(token, Claims::getExpiration).before(new Date());
     }
 
-    private SecretKey getSignInKey() {
-        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private static ByteBuffer digest(String token) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 }
@@ -0,0 +1,39 @@
+package com.backend_java.Migration.services;
+
+import java.util.List;
+
+/**
+ * In-process rank index over user XP.
+ * Rebuilt from Mongo at startup and kept current by every XP write,
+ * so top-N and rank lookups never scan the users collection.
+ */
+public interface LeaderboardService {
+    /**
+     * Reload the whole index from the users collection (id + xp projection only).
+     */
+    void rebuild();
+
+    /**
+     * Set the absolute XP of a user, adding the user if not yet tracked.
+     */
+    void track(String userId, int xp);
+
+    /**
+     * Apply an XP delta to a tracked user (untracked users start from 0).
+     */
+    void addXp(String userId, int delta);
+
+    List<String> getTopUserIds(int limit);
+
+    /**
+     * 1-based rank for the given XP: number of users with strictly more XP, plus one.
+     */
+    long getRankForXp(int xp);
+
+    /**
+     * XP currently indexed for the user, or null if the user is not tracked.
+     */
+    Integer getUserXp(String userId);
+
+    long getTotalUsers();
+}
@@ -0,0 +1,375 @@
+package com.backend_java.Migration.services;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fetches LeetCode statistics from the third-party stats APIs.
+ * <p>
+ * Upstreams are tried in configured order. If the current one has not answered within
+ * {@code hedge-delay} the next one is started alongside it (immediately if it fails), the
+ * first successful response wins and the losers are cancelled. Each upstream has its own
+ * circuit breaker. Results are cached per username and refreshed in the background once
+ * older than {@code refresh-after}; the stale value keeps being served until
+ * {@code expire-after}, even while the upstreams are down.
+ */
+@Slf4j
+@Service
+public class LeetCodeStatsClient {
+
+    private static final TypeReference<Map<String, Object>> JSON_OBJECT = new TypeReference<>() {
+    };
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final List<Upstream> upstreams;
+    private final Duration requestTimeout;
+    private final Duration hedgeDelay;
+    private final AsyncLoadingCache<String, Map<String, Object>> stats;
+    private final Counter hedges;
+
+    @Autowired
+    public LeetCodeStatsClient(ObjectMapper objectMapper,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.leetcode.upstreams:https://leetcode-stats-api.herokuapp.com/{username},https://alfa-leetcode-api.onrender.com/userProfile/{username}}") List<String> upstreamUrls,
+                               @Value("${app.leetcode.connect-timeout:2s}") Duration connectTimeout,
+                               @Value("${app.leetcode.request-timeout:5s}") Duration requestTimeout,
+                               @Value("${app.leetcode.hedge-delay:1s}") Duration hedgeDelay,
+                               @Value("${app.leetcode.breaker.failure-threshold:5}") int failureThreshold,
+                               @Value("${app.leetcode.breaker.open-duration:30s}") Duration openDuration,
+                               @Value("${app.leetcode.cache.refresh-after:10m}") Duration refreshAfter,
+                               @Value("${app.leetcode.cache.expire-after:6h}") Duration expireAfter,
+                               @Value("${app.leetcode.cache.max-size:10000}") long maxSize,
+                               @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        HttpClient.Builder client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(connectTimeout)
+                .followRedirects(HttpClient.Redirect.NORMAL);
+        if (virtualThreads) {
+            client.executor(Executors.newVirtualThreadPerTaskExecutor());
+        }
+        this.httpClient = client.build();
+        this.objectMapper = objectMapper;
+        this.requestTimeout = requestTimeout;
+        this.hedgeDelay = hedgeDelay;
+        this.upstreams = new ArrayList<>();
+        for (String url : upstreamUrls) {
+            upstreams.add(new Upstream(url.trim(), new CircuitBreaker(failureThreshold, openDuration), meterRegistry));
+        }
+        this.stats = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .refreshAfterWrite(refreshAfter)
+                .expireAfterWrite(expireAfter)
+                .recordStats()
+                .buildAsync((username, executor) -> fetch(username));
+        this.hedges = Counter.builder("leetcode.stats.hedges").register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, stats, "leetcode.stats");
+    }
+
+    /**
+     * Completes with the normalized stats, or exceptionally with a {@link RuntimeException}
+     * when no upstream could answer and nothing is cached.
+     */
+    public CompletableFuture<Map<String, Object>> getStats(String username) {
+        // A copy, so a caller cancelling its future cannot cancel the shared cached load
+        return stats.get(username).copy();
+    }
+
+    private CompletableFuture<Map<String, Object>> fetch(String username) {
+        Hedge hedge = new Hedge(username);
+        hedge.launch(0, false);
+        return hedge.result;
+    }
+
+    private final class Hedge {
+        private final String username;
+        private final CompletableFuture<Map<String, Object>> result = new CompletableFuture<>();
+        private final List<CompletableFuture<?>> exchanges = new CopyOnWriteArrayList<>();
+        private final ReentrantLock lock = new ReentrantLock();
+        private int launched;
+        private int failed;
+
+        private Hedge(String username) {
+            this.username = username;
+        }
+
+        /**
+         * Starts the next upstream whose breaker lets it through, provided nothing has been
+         * launched since the caller looked (the hedge timer and a failure of the previous
+         * call may both ask for the same one).
+         */
+        void launch(int expectedLaunched, boolean hedged) {
+            Upstream upstream = null;
+            boolean exhausted;
+            int position;
+            lock.lock();
+            try {
+                if (result.isDone() || launched != expectedLaunched) {
+                    return;
+                }
+                while (upstream == null && launched < upstreams.size()) {
+                    Upstream candidate = upstreams.get(launched++);
+                    if (candidate.breaker.allowRequest()) {
+                        upstream = candidate;
+                    } else {
+                        candidate.rejections.increment();
+                        failed++;
+                    }
+                }
+                exhausted = failed == upstreams.size();
+                position = launched;
+            } finally {
+                lock.unlock();
+            }
+            if (upstream == null) {
+                if (exhausted) {
+                    result.completeExceptionally(new RuntimeException("Could not fetch LeetCode statistics."));
+                }
+                return;
+            }
+            if (hedged) {
+                hedges.increment();
+            }
+
+            Upstream current = upstream;
+            CompletableFuture<HttpResponse<byte[]>> exchange = send(current, username);
+            exchanges.add(exchange);
+            if (result.isDone()) {
+                exchange.cancel(true);
+            }
+            if (position < upstreams.size()) {
+                CompletableFuture.delayedExecutor(hedgeDelay.toMillis(), TimeUnit.MILLISECONDS)
+                        .execute(() -> launch(position, true));
+            }
+
+            exchange.whenComplete((response, error) -> {
+                if (error != null) {
+                    current.onError(error);
+                }
+            });
+            exchange.thenApply(current::read).whenComplete((stats, error) -> {
+                if (error == null) {
+                    if (result.complete(stats)) {
+                        exchanges.forEach(e -> e.cancel(true));
+                    }
+                    return;
+                }
+                int next;
+                boolean allFailed;
+                lock.lock();
+                try {
+                    next = launched;
+                    allFailed = ++failed == upstreams.size();
+                } finally {
+                    lock.unlock();
+                }
+                if (allFailed) {
+                    result.completeExceptionally(new RuntimeException("Could not fetch LeetCode statistics."));
+                } else {
+                    // Fail over right away rather than waiting for the hedge timer
+                    launch(next, false);
+                }
+            });
+        }
+    }
+
+    private CompletableFuture<HttpResponse<byte[]>> send(Upstream upstream, String username) {
+        HttpRequest request = HttpRequest.newBuilder(upstream.uri(username))
+                .timeout(requestTimeout)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+        long start = System.nanoTime();
+        CompletableFuture<HttpResponse<byte[]>> exchange = httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray());
+        exchange.whenComplete((response, error) -> upstream.recordExchange(System.nanoTime() - start, response, error));
+        return exchange;
+    }
+
+    private final class Upstream {
+        private final String urlTemplate;
+        private final String host;
+        private final CircuitBreaker breaker;
+        private final MeterRegistry meterRegistry;
+        private final Counter successes;
+        private final Counter failures;
+        private final Counter rejections;
+
+        private Upstream(String urlTemplate, CircuitBreaker breaker, MeterRegistry meterRegistry) {
+            this.urlTemplate = urlTemplate;
+            this.breaker = breaker;
+            this.meterRegistry = meterRegistry;
+            this.host = URI.create(urlTemplate.replace("{username}", "_")).getHost();
+            this.successes = Counter.builder("leetcode.stats.requests").tag("upstream", host).tag("outcome", "success").register(meterRegistry);
+            this.failures = Counter.builder("leetcode.stats.requests").tag("upstream", host).tag("outcome", "failure").register(meterRegistry);
+            this.rejections = Counter.builder("leetcode.stats.requests").tag("upstream", host).tag("outcome", "rejected").register(meterRegistry);
+            Gauge.builder("leetcode.stats.breaker.open", breaker, b -> b.isOpen() ? 1 : 0).tag("upstream", host).register(meterRegistry);
+        }
+
+        URI uri(String username) {
+            return URI.create(urlTemplate.replace("{username}", URLEncoder.encode(username, StandardCharsets.UTF_8)));
+        }
+
+        Map<String, Object> read(HttpResponse<byte[]> response) {
+            int status = response.statusCode();
+            if (status >= 500 || status == 429) {
+                failures.increment();
+                breaker.onFailure();
+                throw new IllegalStateException("HTTP " + status);
+            }
+            if (status != 200) {
+                // The upstream is healthy, it just has nothing for this username
+                failures.increment();
+                breaker.onSuccess();
+                throw new IllegalStateException("HTTP " + status);
+            }
+            Map<String, Object> body;
+            try {
+                body = objectMapper.readValue(response.body(), JSON_OBJECT);
+            } catch (IOException e) {
+                failures.increment();
+                breaker.onFailure();
+                throw new CompletionException(e);
+            }
+            successes.increment();
+            breaker.onSuccess();
+            return normalize(body);
+        }
+
+        /**
+         * Round-trip time of one exchange, tagged with the HTTP status or why there was none.
+         */
+        void recordExchange(long nanos, HttpResponse<?> response, Throwable error) {
+            String status;
+            if (response != null) {
+                status = String.valueOf(response.statusCode());
+            } else {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                status = cause instanceof CancellationException ? "CANCELLED"
+                        : cause instanceof HttpTimeoutException ? "TIMEOUT" : "IO_ERROR";
+            }
+            Timer.builder("leetcode.stats.http")
+                    .description("Outbound LeetCode stats requests")
+                    .tag("upstream", host)
+                    .tag("status", status)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(nanos, TimeUnit.NANOSECONDS);
+        }
+
+        void onError(Throwable error) {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (cause instanceof CancellationException) {
+                // Lost the hedge race; says nothing about the upstream's health
+                breaker.onCancel();
+                return;
+            }
+            log.warn("LeetCode API failed for URL: {}. Error: {}", urlTemplate, cause.toString());
+            failures.increment();
+            breaker.onFailure();
+        }
+    }
+
+    /**
+     * The alfa-leetcode-api profile has no {@code status} field; map it onto the
+     * leetcode-stats-api shape the frontend reads.
+     */
+    static Map<String, Object> normalize(Map<String, Object> response) {
+        if (response.containsKey("status")) {
+            return response;
+        }
+        Map<String, Object> normalized = new LinkedHashMap<>();
+        normalized.put("status", "success");
+        for (String field : List.of("totalSolved", "totalQuestions", "easySolved", "totalEasy", "mediumSolved",
+                "totalMedium", "hardSolved", "totalHard", "acceptanceRate", "ranking")) {
+            if (response.containsKey(field)) {
+                normalized.put(field, response.get(field));
+            }
+        }
+        return normalized;
+    }
+
+    /**
+     * Opens after {@code failureThreshold} consecutive failures. Once {@code openDuration}
+     * has passed a single probe is let through: success closes the breaker, failure
+     * re-opens it for another {@code openDuration}.
+     */
+    static final class CircuitBreaker {
+        private final int failureThreshold;
+        private final long openNanos;
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+        private final AtomicBoolean probing = new AtomicBoolean();
+        private volatile boolean open;
+        private volatile long openedAt;
+
+        CircuitBreaker(int failureThreshold, Duration openDuration) {
+            this.failureThreshold = failureThreshold;
+            this.openNanos = openDuration.toNanos();
+        }
+
+        boolean allowRequest() {
+            if (!open) {
+                return true;
+            }
+            if (System.nanoTime() - openedAt < openNanos) {
+                return false;
+            }
+            return probing.compareAndSet(false, true);
+        }
+
+        void onSuccess() {
+            consecutiveFailures.set(0);
+            open = false;
+            probing.set(false);
+        }
+
+        void onFailure() {
+            if (consecutiveFailures.incrementAndGet() >= failureThreshold || probing.get()) {
+                openedAt = System.nanoTime();
+                open = true;
+                probing.set(false);
+            }
+        }
+
+        void onCancel() {
+            probing.set(false);
+        }
+
+        boolean isOpen() {
+            return open;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.backend_java.Migration.services;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * BCrypt work isolated on a dedicated, bounded executor so login bursts cannot
+ * exhaust the request threads. Futures fail fast with RejectedExecutionException when saturated.
+ */
+public interface PasswordService {
+    CompletableFuture<String> encode(CharSequence rawPassword);
+
+    CompletableFuture<Boolean> matches(CharSequence rawPassword, String encodedPassword);
+
+    /**
+     * True if the hash was produced with a lower BCrypt cost than currently configured.
+     */
+    boolean needsUpgrade(String encodedPassword);
+}
@@ -1,11 +1,15 @@
 package com.backend_java.Migration.services;
 
+import com.backend_java.Migration.dto.ProblemPage;
+import com.backend_java.Migration.dto.ProblemQuery;
 import com.backend_java.Migration.models.Problem;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 public interface ProblemService {
     List<Problem> getAllProblems();
+    ProblemPage findProblems(ProblemQuery query);
     Problem getProblemBySlug(String slug);
-    Map<String, Object> getLeetCodeStats(String username);
+    CompletableFuture<Map<String, Object>> getLeetCodeStats(String username);
 }
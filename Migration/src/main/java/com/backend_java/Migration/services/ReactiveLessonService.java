@@ -0,0 +1,17 @@
+package com.backend_java.Migration.services;
+
+import com.backend_java.Migration.models.Lesson;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Non-blocking counterpart of {@link LessonService} for the reactive profile.
+ */
+public interface ReactiveLessonService {
+    Mono<List<Map<String, Object>>> getCurriculumForUser(String userId);
+    Mono<Map<String, Object>> getLessonWithQuestions(String slug);
+    Mono<Void> completeLesson(String userId, String lessonId, int score);
+    Mono<Lesson> getLessonById(String lessonId);
+}
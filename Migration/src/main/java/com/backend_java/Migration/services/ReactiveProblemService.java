@@ -0,0 +1,19 @@
+package com.backend_java.Migration.services;
+
+import com.backend_java.Migration.dto.ProblemPage;
+import com.backend_java.Migration.dto.ProblemQuery;
+import com.backend_java.Migration.models.Problem;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Non-blocking counterpart of {@link ProblemService} for the reactive profile.
+ */
+public interface ReactiveProblemService {
+    Mono<List<Problem>> getAllProblems();
+    Mono<ProblemPage> findProblems(ProblemQuery query);
+    Mono<Problem> getProblemBySlug(String slug);
+    Mono<Map<String, Object>> getLeetCodeStats(String username);
+}
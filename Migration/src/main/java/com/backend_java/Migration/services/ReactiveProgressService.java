@@ -0,0 +1,14 @@
+package com.backend_java.Migration.services;
+
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Non-blocking counterpart of {@link ProgressService} for the reactive profile.
+ */
+public interface ReactiveProgressService {
+    Mono<Map<String, Object>> validateAnswer(String userId, String questionId, Object answer);
+
+    Mono<Map<String, Object>> buildReviewSession(String userId, int limit);
+}
@@ -0,0 +1,27 @@
+package com.backend_java.Migration.services;
+
+import com.backend_java.Migration.dto.AuthResponse;
+import com.backend_java.Migration.models.User;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Non-blocking counterpart of {@link UserService} for the reactive profile.
+ */
+public interface ReactiveUserService {
+    Mono<AuthResponse> register(User user);
+    Mono<AuthResponse> login(String email, String password);
+    Mono<User> getProfile(String userId);
+    Mono<User> updateProfile(String userId, Map<String, Object> updates);
+
+    Mono<Map<String, Object>> getLeaderboard(String currentUserId);
+
+    /**
+     * See {@link UserService#recordAnswer}.
+     */
+    Mono<UserService.RecordedAnswer> recordAnswer(User user, boolean correct, int xpEarned,
+                               List<User.ConceptMastery> updatedConcepts,
+                               List<User.ConceptMastery> newConcepts);
+}
@@ -0,0 +1,23 @@
+package com.backend_java.Migration.services;
+
+import com.backend_java.Migration.models.User;
+import java.util.List;
+import java.util.Map;
+
+public interface ReviewService {
+    /**
+     * Build a spaced-repetition review session from the user's due concepts.
+     * Maps to: GET /api/progress/review-session
+     */
+    Map<String, Object> buildReviewSession(String userId, int limit);
+
+    /**
+     * Reschedule concepts in the user's due queue after grading (no-op if the queue is not cached).
+     */
+    void onMasteryUpdated(String userId, List<User.ConceptMastery> concepts);
+
+    /**
+     * Drop every cached queue, e.g. after schedules were rewritten in bulk.
+     */
+    void invalidateAll();
+}
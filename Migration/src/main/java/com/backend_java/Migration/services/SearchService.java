@@ -0,0 +1,27 @@
+package com.backend_java.Migration.services;
+
+import com.backend_java.Migration.dto.SearchHit;
+
+import java.util.List;
+
+/**
+ * Keyword search over the catalog's lessons (title, description, content) and problems (title,
+ * description, tags), ranked with BM25. The last word of the query also matches as a prefix, for
+ * search-as-you-type. The index lives in memory; it is built at startup and on every catalog reload,
+ * never by a search, so searching does no I/O and is safe on an event loop.
+ */
+public interface SearchService {
+
+    /**
+     * Best matches first; empty for a blank query.
+     *
+     * @throws IllegalArgumentException if limit is not positive
+     * @throws IllegalStateException before the index is first built
+     */
+    List<SearchHit> search(String query, int limit);
+
+    /**
+     * Brings the index up to the current catalog version, re-analyzing only changed documents.
+     */
+    void rebuild();
+}
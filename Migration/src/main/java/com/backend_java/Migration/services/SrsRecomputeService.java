@@ -0,0 +1,22 @@
+package com.backend_java.Migration.services;
+
+/**
+ * Batch engine that rewrites every user's conceptMastery schedule under the current SM-2 parameters.
+ */
+public interface SrsRecomputeService {
+
+    record RecomputeReport(
+            String jobId,
+            long usersScanned,
+            long usersUpdated,
+            double seconds,
+            double usersPerSecond,
+            String lastUserId
+    ) {}
+
+    /**
+     * Stream all users through a cursor and recompute their schedules in bounded batches.
+     * With resume=true the job continues after the last checkpointed user of jobId.
+     */
+    RecomputeReport recompute(String jobId, boolean resume);
+}
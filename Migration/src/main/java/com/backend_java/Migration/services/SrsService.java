@@ -20,4 +20,10 @@ public interface SrsService {
     }
 
     SrsStats calculateNextReview(int interval, int repetition, double efactor, int quality);
+
+    /**
+     * Recompute an existing schedule under the current SM-2 parameters,
+     * keeping the time of the last review (nextReviewAt - interval days).
+     */
+    SrsStats reschedule(int interval, int repetition, double efactor, LocalDateTime nextReviewAt);
 }
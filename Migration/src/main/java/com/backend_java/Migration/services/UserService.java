@@ -2,16 +2,35 @@ package com.backend_java.Migration.services;
 
 import com.backend_java.Migration.dto.AuthResponse;
 import com.backend_java.Migration.models.User;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 public interface UserService {
     // Auth & Profile
-    AuthResponse register(User user);
-    AuthResponse login(String email, String password);
+    // BCrypt runs on the password-hashing executor, never on the request thread
+    CompletableFuture<AuthResponse> register(User user);
+    CompletableFuture<AuthResponse> login(String email, String password);
     User getProfile(String userId);
     User updateProfile(String userId, Map<String, Object> updates);
 
     // Leaderboard & Gamification
     Map<String, Object> getLeaderboard(String currentUserId);
     void updateXpAndStreak(String userId, int xpEarned);
+
+    /**
+     * What one answer left stored: the streak and the mastery entry of each concept it wrote. If a
+     * concurrent write changed any of them first, the user is re-read: current is that user,
+     * conflicts names the concepts not written and concepts holds their stored entries instead.
+     */
+    record RecordedAnswer(int streak, List<User.ConceptMastery> concepts, List<String> conflicts, User current) {}
+
+    /**
+     * Persist the outcome of one graded answer, based on the user as read before grading. Streak and
+     * mastery changes are skipped if a concurrent write changed the values they were computed from.
+     * Streak and XP only move on correct answers.
+     */
+    RecordedAnswer recordAnswer(User user, boolean correct, int xpEarned,
+                                List<User.ConceptMastery> updatedConcepts,
+                                List<User.ConceptMastery> newConcepts);
 }
@@ -0,0 +1,222 @@
+package com.backend_java.Migration.services.impl;
+
+import com.backend_java.Migration.models.QuestionAttempt;
+import com.backend_java.Migration.repositories.QuestionAttemptRepository;
+import com.backend_java.Migration.services.AttemptService;
+import com.backend_java.Migration.services.CatalogService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mongodb.bulk.BulkWriteError;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+/**
+ * Question attempts live in their own collection; a per-user bitmap over catalog
+ * question ordinals answers "already answered?" in O(1) without touching Mongo.
+ */
+@Slf4j
+@Service
+public class AttemptServiceImpl implements AttemptService {
+
+    private static final String MIGRATIONS = "migrations";
+    private static final String HISTORY_MIGRATION = "question-history-to-attempts";
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final QuestionAttemptRepository attemptRepository;
+    private final MongoTemplate mongoTemplate;
+    private final CatalogService catalogService;
+    private final Cache<String, AttemptBitmap> bitmaps;
+
+    public AttemptServiceImpl(QuestionAttemptRepository attemptRepository,
+                              MongoTemplate mongoTemplate,
+                              CatalogService catalogService,
+                              @Value("${app.cache.attempts.max-size:50000}") long maxSize,
+                              @Value("${app.cache.attempts.expire-after-access:2h}") Duration expireAfterAccess,
+                              MeterRegistry meterRegistry) {
+        this.attemptRepository = attemptRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.catalogService = catalogService;
+        this.bitmaps = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(expireAfterAccess)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, bitmaps, "attempts.bitmaps");
+    }
+
+    @Override
+    public boolean hasAnswered(String userId, String questionId) {
+        int ordinal = catalogService.getQuestionOrdinal(questionId);
+        if (ordinal < 0) {
+            return attemptRepository.existsById(QuestionAttempt.idFor(userId, questionId));
+        }
+        return bitmap(userId).get(ordinal);
+    }
+
+    @Override
+    public boolean recordCorrectAnswer(String userId, String questionId) {
+        int ordinal = catalogService.getQuestionOrdinal(questionId);
+        if (ordinal >= 0 && bitmap(userId).get(ordinal)) {
+            return false;
+        }
+
+        boolean first;
+        try {
+            attemptRepository.insert(QuestionAttempt.builder()
+                    .id(QuestionAttempt.idFor(userId, questionId))
+                    .userId(userId)
+                    .questionId(questionId)
+                    .build());
+            first = true;
+        } catch (DuplicateKeyException e) {
+            first = false;
+        }
+
+        if (ordinal >= 0) {
+            AttemptBitmap cached = bitmaps.getIfPresent(userId);
+            if (cached != null && cached.version == catalogService.getVersion()) {
+                cached.set(ordinal);
+            }
+        }
+        return first;
+    }
+
+    @Override
+    public void migrateEmbeddedHistory() {
+        // Nothing writes questionHistory any more, so once a pass has moved every user there is nothing left to scan
+        Document marker = mongoTemplate.findById(HISTORY_MIGRATION, Document.class, MIGRATIONS);
+        if (marker != null && marker.getBoolean("completed", false)) {
+            return;
+        }
+
+        Query legacy = Query.query(Criteria.where("questionHistory.0").exists(true));
+        legacy.fields().include("questionHistory");
+
+        int migratedUsers = 0;
+        int failedUsers = 0;
+        try (Stream<Document> users = mongoTemplate.stream(legacy, Document.class, "users")) {
+            for (Document user : (Iterable<Document>) users::iterator) {
+                Object rawId = user.get("_id");
+                String userId = rawId instanceof ObjectId oid ? oid.toHexString() : String.valueOf(rawId);
+                List<QuestionAttempt> attempts = new ArrayList<>();
+                for (Document h : user.getList("questionHistory", Document.class)) {
+                    String questionId = h.getString("questionId");
+                    Date answeredAt = h.getDate("answeredAt");
+                    attempts.add(QuestionAttempt.builder()
+                            .id(QuestionAttempt.idFor(userId, questionId))
+                            .userId(userId)
+                            .questionId(questionId)
+                            .correct(h.getBoolean("correct", true))
+                            .answeredAt(answeredAt != null
+                                    ? LocalDateTime.ofInstant(answeredAt.toInstant(), ZoneId.systemDefault())
+                                    : LocalDateTime.now())
+                            .build());
+                }
+                try {
+                    mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, QuestionAttempt.class)
+                            .insert(attempts)
+                            .execute();
+                } catch (BulkOperationException e) {
+                    List<BulkWriteError> failures = e.getErrors().stream()
+                            .filter(error -> error.getCode() != DUPLICATE_KEY)
+                            .toList();
+                    if (!failures.isEmpty()) {
+                        // Keep the embedded history: it is the only copy of whatever was not inserted
+                        log.error("Could not move {} of {} attempts of user {}, keeping its question history: {}",
+                                failures.size(), attempts.size(), userId, failures.getFirst().getMessage());
+                        failedUsers++;
+                        continue;
+                    }
+                    // Duplicates from an earlier, interrupted run are expected
+                    log.debug("Skipped {} existing attempts for user {}", e.getErrors().size(), userId);
+                }
+                mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(rawId)),
+                        new Update().unset("questionHistory"), "users");
+                migratedUsers++;
+            }
+        }
+        if (migratedUsers > 0) {
+            log.info("Moved embedded question history of {} users into question_attempts.", migratedUsers);
+        }
+        // Users that failed are retried on the next start
+        mongoTemplate.upsert(Query.query(Criteria.where("_id").is(HISTORY_MIGRATION)), new Update()
+                .inc("usersMigrated", migratedUsers)
+                .set("usersFailed", failedUsers)
+                .set("completed", failedUsers == 0)
+                .set("updatedAt", new Date()), MIGRATIONS);
+    }
+
+    @EventListener
+    public void onCatalogReloaded(CatalogService.CatalogReloadedEvent event) {
+        // Question ordinals are only stable within one catalog version
+        bitmaps.invalidateAll();
+    }
+
+    private AttemptBitmap bitmap(String userId) {
+        long version = catalogService.getVersion();
+        AttemptBitmap bitmap = bitmaps.get(userId, this::loadBitmap);
+        if (bitmap.version != version) {
+            bitmap = loadBitmap(userId);
+            bitmaps.put(userId, bitmap);
+        }
+        return bitmap;
+    }
+
+    private AttemptBitmap loadBitmap(String userId) {
+        AttemptBitmap bitmap = new AttemptBitmap(catalogService.getVersion(), catalogService.getQuestionCount());
+        for (QuestionAttempt attempt : attemptRepository.findQuestionIdsInIdRange(userId + ":", userId + ";")) {
+            int ordinal = catalogService.getQuestionOrdinal(attempt.getQuestionId());
+            if (ordinal >= 0) bitmap.set(ordinal);
+        }
+        return bitmap;
+    }
+
+    /**
+     * Lock-free bitset over catalog question ordinals.
+     */
+    static final class AttemptBitmap {
+        final long version;
+        private final AtomicLongArray words;
+
+        AttemptBitmap(long version, int bits) {
+            this.version = version;
+            this.words = new AtomicLongArray(Math.max(1, (bits + 63) >>> 6));
+        }
+
+        boolean get(int bit) {
+            return (words.get(bit >>> 6) & (1L << bit)) != 0;
+        }
+
+        void set(int bit) {
+            long mask = 1L << bit;
+            int i = bit >>> 6;
+            long word;
+            do {
+                word = words.get(i);
+                if ((word & mask) != 0) return;
+            } while (!words.compareAndSet(i, word, word | mask));
+        }
+    }
+}
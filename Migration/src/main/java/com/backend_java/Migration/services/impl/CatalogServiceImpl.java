@@ -0,0 +1,353 @@
+package com.backend_java.Migration.services.impl;
+
+import com.backend_java.Migration.dto.ProblemPage;
+import com.backend_java.Migration.dto.ProblemQuery;
+import com.backend_java.Migration.models.Lesson;
+import com.backend_java.Migration.models.Problem;
+import com.backend_java.Migration.models.Question;
+import com.backend_java.Migration.repositories.LessonRepository;
+import com.backend_java.Migration.repositories.ProblemRepository;
+import com.backend_java.Migration.repositories.QuestionRepository;
+import com.backend_java.Migration.services.CatalogService;
+import com.backend_java.Migration.utils.AnswerMatcher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Slf4j
+@Service
+public class CatalogServiceImpl implements CatalogService {
+
+    private final LessonRepository lessonRepository;
+    private final QuestionRepository questionRepository;
+    private final ProblemRepository problemRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Counter lessonHits;
+    private final Counter lessonMisses;
+    private final Counter questionHits;
+    private final Counter questionMisses;
+
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private volatile Snapshot snapshot;
+
+    public CatalogServiceImpl(LessonRepository lessonRepository,
+                              QuestionRepository questionRepository,
+                              ProblemRepository problemRepository,
+                              ApplicationEventPublisher eventPublisher,
+                              MeterRegistry meterRegistry) {
+        this.lessonRepository = lessonRepository;
+        this.questionRepository = questionRepository;
+        this.problemRepository = problemRepository;
+        this.eventPublisher = eventPublisher;
+        this.lessonHits = lookupCounter(meterRegistry, "lesson", "hit");
+        this.lessonMisses = lookupCounter(meterRegistry, "lesson", "miss");
+        this.questionHits = lookupCounter(meterRegistry, "question", "hit");
+        this.questionMisses = lookupCounter(meterRegistry, "question", "miss");
+        meterRegistry.gauge("catalog.version", this, c -> c.snapshot == null ? 0 : c.snapshot.version);
+    }
+
+    @Override
+    public long getVersion() {
+        return snapshot().version;
+    }
+
+    @Override
+    public boolean isLoaded() {
+        return snapshot != null;
+    }
+
+    @Override
+    public List<Lesson> getLessons() {
+        return snapshot().lessons;
+    }
+
+    @Override
+    public Map<String, Object> getCurriculumRow(String lessonId) {
+        return snapshot().rowsById.get(lessonId);
+    }
+
+    @Override
+    public Lesson getLesson(String lessonId) {
+        return count(snapshot().lessonsById.get(lessonId), lessonHits, lessonMisses);
+    }
+
+    @Override
+    public Lesson getLessonBySlug(String slug) {
+        return count(snapshot().lessonsBySlug.get(slug), lessonHits, lessonMisses);
+    }
+
+    @Override
+    public Lesson getNextLesson(Lesson lesson) {
+        return snapshot().lessonsByOrder.get(lesson.getOrder() + 1);
+    }
+
+    @Override
+    public Question getQuestion(String questionId) {
+        return count(snapshot().questionsById.get(questionId), questionHits, questionMisses);
+    }
+
+    @Override
+    public int getQuestionOrdinal(String questionId) {
+        return snapshot().questionOrdinals.getOrDefault(questionId, -1);
+    }
+
+    @Override
+    public int getQuestionCount() {
+        return snapshot().questionOrdinals.size();
+    }
+
+    @Override
+    public List<Question> getQuestionsForLesson(String lessonId) {
+        Snapshot current = snapshot();
+        if (!current.lessonsById.containsKey(lessonId)) {
+            questionMisses.increment();
+            return null;
+        }
+        questionHits.increment();
+        return current.questionsByLesson.getOrDefault(lessonId, List.of());
+    }
+
+    @Override
+    public AnswerMatcher getAnswerMatcher(String questionId) {
+        return snapshot().matchersById.get(questionId);
+    }
+
+    @Override
+    public Map<String, Object> getSafeQuestion(String questionId) {
+        return snapshot().safeQuestionsById.get(questionId);
+    }
+
+    @Override
+    public List<Question> getQuestionsForConcept(String concept) {
+        return snapshot().questionsByConcept.getOrDefault(concept, List.of());
+    }
+
+    @Override
+    public Set<String> getConcepts() {
+        return Collections.unmodifiableSet(snapshot().questionsByConcept.keySet());
+    }
+
+    @Override
+    public List<Problem> getProblems() {
+        return snapshot().problemIndex.problems;
+    }
+
+    @Override
+    public Problem getProblemBySlug(String slug) {
+        return snapshot().problemsBySlug.get(slug);
+    }
+
+    @Override
+    public ProblemPage findProblems(ProblemQuery query) {
+        return snapshot().problemIndex.find(ProblemIndex.Request.of(query));
+    }
+
+    @Override
+    public String getLessonETag(String slug) {
+        return snapshot().lessonETags.get(slug);
+    }
+
+    @Override
+    public String getProblemsETag() {
+        return snapshot().problemsETag;
+    }
+
+    @Override
+    public String getProblemsETag(ProblemQuery query) {
+        ProblemIndex.Request request = ProblemIndex.Request.of(query);
+        List<String> parts = new ArrayList<>(List.of(snapshot().problemsETag, request.allTags() ? "all" : "any",
+                String.valueOf(request.after()), String.valueOf(request.limit())));
+        parts.add(String.join(",", request.tags()));
+        request.difficulties().forEach(difficulty -> parts.add(difficulty.name()));
+        return Snapshot.etag(parts);
+    }
+
+    @Override
+    public String getProblemETag(String slug) {
+        return snapshot().problemETags.get(slug);
+    }
+
+    @Override
+    public void reload() {
+        Snapshot previous;
+        Snapshot fresh;
+        reloadLock.lock();
+        try {
+            previous = snapshot;
+            long version = previous == null ? 1 : previous.version + 1;
+            fresh = new Snapshot(version,
+                    lessonRepository.findAll(Sort.by(Sort.Direction.ASC, "order")),
+                    questionRepository.findAll(),
+                    problemRepository.findAll(Sort.by(Sort.Direction.ASC, "order")),
+                    previous);
+            snapshot = fresh;
+        } finally {
+            reloadLock.unlock();
+        }
+        log.info("Catalog v{} loaded with {} lessons, {} questions and {} problems.",
+                fresh.version, fresh.lessons.size(), fresh.questionsById.size(), fresh.problemIndex.problems.size());
+        // Nothing can have cached data derived from a catalog that did not exist yet
+        if (previous != null) {
+            eventPublisher.publishEvent(new CatalogReloadedEvent(fresh.version));
+        }
+    }
+
+    /**
+     * Never loads on demand: a read may run on an event loop, and the readiness probe keeps traffic away until
+     * CacheWarmer has called reload().
+     */
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            throw new IllegalStateException("Catalog is not loaded yet");
+        }
+        return current;
+    }
+
+    private static <T> T count(T value, Counter hits, Counter misses) {
+        (value != null ? hits : misses).increment();
+        return value;
+    }
+
+    private static Counter lookupCounter(MeterRegistry registry, String type, String result) {
+        return Counter.builder("catalog.lookups")
+                .tag("type", type)
+                .tag("result", result)
+                .register(registry);
+    }
+
+    static final class Snapshot {
+        final long version;
+        final List<Lesson> lessons;
+        final Map<String, Lesson> lessonsById = new HashMap<>();
+        final Map<String, Lesson> lessonsBySlug = new HashMap<>();
+        final Map<Integer, Lesson> lessonsByOrder = new HashMap<>();
+        final Map<String, Map<String, Object>> rowsById = new HashMap<>();
+        final Map<String, Question> questionsById = new HashMap<>();
+        final Map<String, Integer> questionOrdinals = new HashMap<>();
+        final Map<String, List<Question>> questionsByLesson = new HashMap<>();
+        final Map<String, Map<String, Object>> safeQuestionsById = new HashMap<>();
+        final Map<String, AnswerMatcher> matchersById = new HashMap<>();
+        final Map<String, List<Question>> questionsByConcept = new HashMap<>();
+        final ProblemIndex problemIndex;
+        final Map<String, Problem> problemsBySlug = new HashMap<>();
+        final Map<String, String> lessonETags = new HashMap<>();
+        final Map<String, String> problemETags = new HashMap<>();
+        final String problemsETag;
+        // Stands in for the content hash of documents not written by DataSeeder
+        private final String unhashed = UUID.randomUUID().toString();
+
+        Snapshot(long version, List<Lesson> lessons, List<Question> questions, List<Problem> problems, Snapshot previous) {
+            this.version = version;
+            this.lessons = List.copyOf(lessons);
+            this.problemIndex = new ProblemIndex(problems);
+            for (Lesson lesson : lessons) {
+                lessonsById.put(lesson.getId(), lesson);
+                lessonsBySlug.put(lesson.getSlug(), lesson);
+                lessonsByOrder.putIfAbsent(lesson.getOrder(), lesson);
+
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("id", lesson.getId());
+                row.put("_id", lesson.getId()); // Frontend expects _id from Mongoose
+                row.put("title", lesson.getTitle());
+                row.put("description", lesson.getDescription());
+                row.put("slug", lesson.getSlug());
+                row.put("type", lesson.getType());
+                row.put("level", lesson.getLevel());
+                row.put("order", lesson.getOrder());
+                rowsById.put(lesson.getId(), Collections.unmodifiableMap(row));
+            }
+
+            Map<String, List<Question>> grouped = new HashMap<>();
+            Map<String, List<Question>> tagged = new HashMap<>();
+            for (Question question : questions) {
+                questionsById.put(question.getId(), question);
+                matchersById.put(question.getId(), matcher(question, previous));
+                questionOrdinals.putIfAbsent(question.getId(), questionOrdinals.size());
+                grouped.computeIfAbsent(question.getLessonId(), k -> new ArrayList<>()).add(question);
+                if (question.getConcepts() != null) {
+                    for (String concept : question.getConcepts()) {
+                        tagged.computeIfAbsent(concept, k -> new ArrayList<>()).add(question);
+                    }
+                }
+
+                // Hide solutions from client
+                Map<String, Object> safe = new HashMap<>();
+                safe.put("id", question.getId());
+                safe.put("type", question.getType());
+                safe.put("prompt", question.getPrompt());
+                safe.put("options", question.getOptions());
+                safe.put("blocks", question.getBlocks());
+                safe.put("codeTemplate", question.getCodeTemplate());
+                safeQuestionsById.put(question.getId(), Collections.unmodifiableMap(safe));
+            }
+            grouped.forEach((lessonId, list) -> questionsByLesson.put(lessonId, List.copyOf(list)));
+            tagged.forEach((concept, list) -> questionsByConcept.put(concept, List.copyOf(list)));
+
+            for (Lesson lesson : lessons) {
+                List<String> parts = new ArrayList<>(List.of(lesson.getId(), contentHash(lesson.getContentHash()),
+                        String.valueOf(lesson.getOrder()), String.valueOf(lesson.getType()), String.valueOf(lesson.isPublished()),
+                        String.valueOf(lesson.getXpReward()), String.valueOf(lesson.getPrerequisites())));
+                questionsByLesson.getOrDefault(lesson.getId(), List.of()).forEach(q -> parts.add(q.getId()));
+                lessonETags.put(lesson.getSlug(), etag(parts));
+            }
+            List<String> allProblems = new ArrayList<>();
+            for (Problem problem : problemIndex.problems) {
+                problemsBySlug.put(problem.getSlug(), problem);
+                List<String> parts = List.of(problem.getId(), contentHash(problem.getContentHash()),
+                        String.valueOf(problem.getExplanation()));
+                problemETags.put(problem.getSlug(), etag(parts));
+                allProblems.addAll(parts);
+            }
+            problemsETag = etag(allProblems);
+        }
+
+        private String contentHash(String seeded) {
+            return seeded != null ? seeded : unhashed;
+        }
+
+        private static String etag(List<String> parts) {
+            try {
+                MessageDigest digest = MessageDigest.getInstance("SHA-256");
+                for (String part : parts) {
+                    digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+                    digest.update((byte) 0);
+                }
+                return HexFormat.of().formatHex(digest.digest(), 0, 16);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        /**
+         * Carries the previous version's matcher over unless the question's grading inputs changed.
+         */
+        private static AnswerMatcher matcher(Question question, Snapshot previous) {
+            Question before = previous != null ? previous.questionsById.get(question.getId()) : null;
+            if (before != null && before.getType() == question.getType()
+                    && Objects.equals(before.getSolution(), question.getSolution())) {
+                return previous.matchersById.get(question.getId());
+            }
+            return AnswerMatcher.compile(question);
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.backend_java.Migration.services.impl;
+
+import com.backend_java.Migration.models.Question;
+import com.backend_java.Migration.services.CatalogService;
+import com.backend_java.Migration.services.GradingService;
+import com.backend_java.Migration.utils.AnswerMatcher;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The memo is a size-bounded Caffeine cache, so rare answers are evicted first (W-TinyLFU)
+ * while the handful of answers a whole class submits stay resident. Each entry remembers the
+ * matcher it was graded with; a question whose solution changed on catalog reload gets a new
+ * matcher, so its stale entries are simply regraded on their next hit.
+ * <p>
+ * Per-question memo hits and misses are published as {@code grading.memo.question}. The most
+ * frequent wrong answers are tracked next to them, independent of memo evictions.
+ */
+@Service
+public class GradingServiceImpl implements GradingService {
+
+    static final int TRACKED_WRONG_ANSWERS = 20;
+
+    private final CatalogService catalogService;
+    private final MeterRegistry meterRegistry;
+    private final Cache<GradeKey, Graded> memo;
+    private final int maxAnswerLength;
+    private final Map<String, QuestionCounters> countersByQuestion = new ConcurrentHashMap<>();
+    private final Counter memoHits;
+    private final Counter memoMisses;
+
+    public GradingServiceImpl(CatalogService catalogService,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.grading.memo.max-size:100000}") long maxSize,
+                              @Value("${app.grading.memo.max-answer-length:1024}") int maxAnswerLength) {
+        this.catalogService = catalogService;
+        this.meterRegistry = meterRegistry;
+        this.maxAnswerLength = maxAnswerLength;
+        this.memo = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .build();
+        this.memoHits = Counter.builder("grading.memo").tag("result", "hit").register(meterRegistry);
+        this.memoMisses = Counter.builder("grading.memo").tag("result", "miss").register(meterRegistry);
+        meterRegistry.gauge("grading.memo.size", memo, Cache::estimatedSize);
+    }
+
+    private record GradeKey(String questionId, Object answer) {}
+
+    private record Graded(AnswerMatcher matcher, boolean correct) {}
+
+    private static final class QuestionCounters {
+        final LongAdder hits = new LongAdder();
+        final LongAdder misses = new LongAdder();
+        final TopWrongAnswers wrongAnswers = new TopWrongAnswers();
+    }
+
+    /**
+     * Space-Saving: the TRACKED_WRONG_ANSWERS most frequent answers are kept; an untracked answer
+     * takes over the least frequent slot and its count, so counts are upper bounds.
+     */
+    private static final class TopWrongAnswers {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<Object, long[]> counts = new HashMap<>();
+
+        void record(Object answer) {
+            lock.lock();
+            try {
+                long[] count = counts.get(answer);
+                if (count != null) {
+                    count[0]++;
+                    return;
+                }
+                if (counts.size() < TRACKED_WRONG_ANSWERS) {
+                    counts.put(answer, new long[]{1});
+                    return;
+                }
+                Map.Entry<Object, long[]> least = null;
+                for (Map.Entry<Object, long[]> entry : counts.entrySet()) {
+                    if (least == null || entry.getValue()[0] < least.getValue()[0]) {
+                        least = entry;
+                    }
+                }
+                long replaced = least.getValue()[0];
+                counts.remove(least.getKey());
+                counts.put(answer, new long[]{replaced + 1});
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        List<WrongAnswer> top(int limit) {
+            List<WrongAnswer> top = new ArrayList<>();
+            lock.lock();
+            try {
+                counts.forEach((answer, count) -> top.add(new WrongAnswer(answer, count[0])));
+            } finally {
+                lock.unlock();
+            }
+            top.sort(Comparator.comparingLong(WrongAnswer::count).reversed());
+            return top.subList(0, Math.min(Math.max(limit, 0), top.size()));
+        }
+    }
+
+    @Override
+    public boolean isCorrect(Question question, Object answer) {
+        AnswerMatcher matcher = catalogService.getAnswerMatcher(question.getId());
+        // Questions served from the repository fallback are not in the catalog yet
+        if (matcher == null) {
+            matcher = AnswerMatcher.compile(question);
+        }
+        Object normalized = normalize(question.getType(), answer);
+        if (normalized == null) {
+            return matcher.matches(answer);
+        }
+
+        QuestionCounters counters = countersByQuestion.get(question.getId());
+        if (counters == null) {
+            counters = countersByQuestion.computeIfAbsent(question.getId(), id -> new QuestionCounters());
+            register(question.getId(), counters);
+        }
+        GradeKey key = new GradeKey(question.getId(), normalized);
+        Graded graded = memo.getIfPresent(key);
+        if (graded != null && graded.matcher() == matcher) {
+            memoHits.increment();
+            counters.hits.increment();
+        } else {
+            memoMisses.increment();
+            counters.misses.increment();
+            graded = new Graded(matcher, matcher.matches(answer));
+            memo.put(key, graded);
+        }
+        if (!graded.correct()) {
+            counters.wrongAnswers.record(normalized);
+        }
+        return graded.correct();
+    }
+
+    // Registering again is a no-op, so a lost computeIfAbsent race is harmless
+    private void register(String questionId, QuestionCounters counters) {
+        FunctionCounter.builder("grading.memo.question", counters.hits, LongAdder::sum)
+                .tag("question", questionId).tag("result", "hit").register(meterRegistry);
+        FunctionCounter.builder("grading.memo.question", counters.misses, LongAdder::sum)
+                .tag("question", questionId).tag("result", "miss").register(meterRegistry);
+    }
+
+    @Override
+    public AnswerStats getAnswerStats(String questionId, int limit) {
+        QuestionCounters counters = countersByQuestion.get(questionId);
+        long hits = counters != null ? counters.hits.sum() : 0;
+        long total = hits + (counters != null ? counters.misses.sum() : 0);
+        List<WrongAnswer> wrong = counters != null ? counters.wrongAnswers.top(limit) : List.of();
+        return new AnswerStats(questionId, total, hits, total == 0 ? 0 : (double) hits / total, wrong);
+    }
+
+    /**
+     * Reduces the answer to exactly what grading depends on, or null when it should not be
+     * memoized (unusual shapes, oversized input).
+     */
+    private Object normalize(Question.QuestionType type, Object answer) {
+        if (type == Question.QuestionType.MCQ) {
+            String choice = String.valueOf(answer);
+            return choice.length() <= maxAnswerLength ? choice : null;
+        } else if (type == Question.QuestionType.FILL_IN_BLANK) {
+            // Surrounding whitespace never changes the token stream
+            return answer instanceof String code && code.length() <= maxAnswerLength ? code.trim() : null;
+        } else if (type == Question.QuestionType.PARSONS) {
+            if (!(answer instanceof List<?> blocks) || blocks.size() > maxAnswerLength) {
+                return null;
+            }
+            List<String> order = new ArrayList<>(blocks.size());
+            for (Object block : blocks) {
+                order.add(String.valueOf(block));
+            }
+            return List.copyOf(order);
+        }
+        return null;
+    }
+}
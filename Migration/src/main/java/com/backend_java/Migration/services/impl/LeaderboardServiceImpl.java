@@ -0,0 +1,202 @@
+package com.backend_java.Migration.services.impl;
+
+import com.backend_java.Migration.models.User;
+import com.backend_java.Migration.services.LeaderboardService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Fenwick tree over XP values (one bucket per XP point) for O(log maxXp) rank queries,
+ * plus a sorted XP -> users map for O(log n + N) top-N reads.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LeaderboardServiceImpl implements LeaderboardService {
+
+    private static final int INITIAL_CAPACITY = 1 << 14;
+
+    private final MongoTemplate mongoTemplate;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<String, Integer> xpByUser = new HashMap<>();
+    private NavigableMap<Integer, Set<String>> usersByXp = new TreeMap<>();
+    private FenwickTree tree = new FenwickTree(INITIAL_CAPACITY);
+
+    @Override
+    public void rebuild() {
+        Query query = new Query();
+        query.fields().include("xp");
+
+        Map<String, Integer> freshXp = new HashMap<>();
+        NavigableMap<Integer, Set<String>> freshBuckets = new TreeMap<>();
+        int maxXp = 0;
+        try (Stream<User> users = mongoTemplate.stream(query, User.class)) {
+            for (User u : (Iterable<User>) users::iterator) {
+                int xp = Math.max(0, u.getXp());
+                freshXp.put(u.getId(), xp);
+                freshBuckets.computeIfAbsent(xp, k -> new LinkedHashSet<>()).add(u.getId());
+                maxXp = Math.max(maxXp, xp);
+            }
+        }
+
+        FenwickTree freshTree = FenwickTree.of(freshBuckets, capacityFor(maxXp));
+
+        lock.writeLock().lock();
+        try {
+            xpByUser = freshXp;
+            usersByXp = freshBuckets;
+            tree = freshTree;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Leaderboard index rebuilt with {} users.", freshXp.size());
+    }
+
+    @Override
+    public void track(String userId, int xp) {
+        lock.writeLock().lock();
+        try {
+            move(userId, Math.max(0, xp));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void addXp(String userId, int delta) {
+        lock.writeLock().lock();
+        try {
+            move(userId, Math.max(0, xpByUser.getOrDefault(userId, 0) + delta));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<String> getTopUserIds(int limit) {
+        lock.readLock().lock();
+        try {
+            List<String> ids = new ArrayList<>(Math.min(limit, xpByUser.size()));
+            for (Set<String> bucket : usersByXp.descendingMap().values()) {
+                for (String id : bucket) {
+                    if (ids.size() == limit) return ids;
+                    ids.add(id);
+                }
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public long getRankForXp(int xp) {
+        lock.readLock().lock();
+        try {
+            return tree.countAbove(Math.max(0, xp)) + 1;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Integer getUserXp(String userId) {
+        lock.readLock().lock();
+        try {
+            return xpByUser.get(userId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public long getTotalUsers() {
+        lock.readLock().lock();
+        try {
+            return xpByUser.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Caller must hold the write lock.
+    private void move(String userId, int newXp) {
+        Integer oldXp = xpByUser.put(userId, newXp);
+        if (oldXp != null) {
+            if (oldXp == newXp) return;
+            Set<String> bucket = usersByXp.get(oldXp);
+            bucket.remove(userId);
+            if (bucket.isEmpty()) usersByXp.remove(oldXp);
+            tree.add(oldXp, -1);
+        }
+        usersByXp.computeIfAbsent(newXp, k -> new LinkedHashSet<>()).add(userId);
+        if (newXp >= tree.capacity()) {
+            tree = FenwickTree.of(usersByXp, capacityFor(newXp));
+        } else {
+            tree.add(newXp, 1);
+        }
+    }
+
+    private static int capacityFor(int maxXp) {
+        int capacity = INITIAL_CAPACITY;
+        while (capacity <= maxXp) capacity <<= 1;
+        return capacity;
+    }
+
+    /**
+     * Binary indexed tree of user counts per XP value.
+     */
+    private static final class FenwickTree {
+        private final long[] counts;
+        private long total;
+
+        FenwickTree(int capacity) {
+            this.counts = new long[capacity + 1];
+        }
+
+        int capacity() {
+            return counts.length - 1;
+        }
+
+        void add(int xp, long delta) {
+            total += delta;
+            for (int i = xp + 1; i < counts.length; i += i & -i) {
+                counts[i] += delta;
+            }
+        }
+
+        // Number of users with XP <= xp.
+        long prefix(int xp) {
+            long sum = 0;
+            for (int i = Math.min(xp + 1, counts.length - 1); i > 0; i -= i & -i) {
+                sum += counts[i];
+            }
+            return sum;
+        }
+
+        long countAbove(int xp) {
+            return total - prefix(xp);
+        }
+
+        static FenwickTree of(Map<Integer, Set<String>> buckets, int capacity) {
+            FenwickTree tree = new FenwickTree(capacity);
+            buckets.forEach((xp, ids) -> tree.add(xp, ids.size()));
+            return tree;
+        }
+    }
+}
@@ -6,14 +6,18 @@ import com.backend_java.Migration.models.Question;
 import com.backend_java.Migration.repositories.LessonRepository;
 import com.backend_java.Migration.repositories.ProgressRepository;
 import com.backend_java.Migration.repositories.QuestionRepository;
+import com.backend_java.Migration.services.CatalogService;
 import com.backend_java.Migration.services.LessonService;
+import com.github.benmanes.caffeine.cache.Cache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Sort;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -28,48 +32,48 @@ public class LessonServiceImpl implements LessonService {
     private final LessonRepository lessonRepository;
     private final QuestionRepository questionRepository;
     private final ProgressRepository progressRepository;
+    private final CatalogService catalogService;
+    private final Cache<String, List<Map<String, Object>>> curriculumViewCache;
 
     @Override
     public List<Map<String, Object>> getCurriculumForUser(String userId) {
-        List<Lesson> lessons = lessonRepository.findAll(Sort.by(Sort.Direction.ASC, "order"));
-        log.info("Fetching curriculum for user {}. Found {} lessons.", userId, lessons.size());
-        List<Progress> userProgress = progressRepository.findByUserId(userId);
+        return curriculumViewCache.get(userId, this::buildCurriculumView);
+    }
 
-        return lessons.stream().map(lesson -> {
-            Map<String, Object> map = new HashMap<>();
-            
-            Progress progress = userProgress.stream()
-                    .filter(p -> p.getLessonId().equals(lesson.getId()))
-                    .findFirst()
-                    .orElse(null);
+    private List<Map<String, Object>> buildCurriculumView(String userId) {
+        log.info("Building curriculum for user {}. Found {} lessons.", userId, catalogService.getLessons().size());
+
+        Map<String, Progress> progressByLesson = new HashMap<>();
+        for (Progress p : progressRepository.findByUserId(userId)) {
+            progressByLesson.put(p.getLessonId(), p);
+        }
+        return curriculumView(catalogService, progressByLesson);
+    }
+
+    // View assembly is shared with ReactiveLessonServiceImpl; only the reads differ
+
+    static List<Map<String, Object>> curriculumView(CatalogService catalogService, Map<String, Progress> progressByLesson) {
+        List<Lesson> lessons = catalogService.getLessons();
+        List<Map<String, Object>> view = new ArrayList<>(lessons.size());
+        for (Lesson lesson : lessons) {
+            Progress progress = progressByLesson.get(lesson.getId());
 
             String status = (progress != null) ? progress.getStatus().name() :
                     (lesson.getOrder() == 0 ? "UNLOCKED" : "LOCKED");
 
-            map.put("id", lesson.getId());
-            map.put("_id", lesson.getId()); // Frontend expects _id from Mongoose
-            map.put("title", lesson.getTitle());
-            map.put("description", lesson.getDescription());
-            map.put("slug", lesson.getSlug());
-            map.put("type", lesson.getType());
-            map.put("level", lesson.getLevel());
-            map.put("order", lesson.getOrder());
+            Map<String, Object> map = new HashMap<>(catalogService.getCurriculumRow(lesson.getId()));
             map.put("status", status);
             map.put("bestScore", (progress != null) ? progress.getBestScore() : 0);
-            
-            return map;
-        }).collect(Collectors.toList());
+            view.add(Collections.unmodifiableMap(map));
+        }
+        return Collections.unmodifiableList(view);
     }
 
-    @Override
-    public Map<String, Object> getLessonWithQuestions(String slug) {
-        Lesson lesson = lessonRepository.findBySlug(slug)
-                .orElseThrow(() -> new RuntimeException("Lesson not found with slug: " + slug));
-
-        List<Question> questions = questionRepository.findByLessonId(lesson.getId());
-
+    static Map<String, Object> lessonView(CatalogService catalogService, Lesson lesson, List<Question> questions) {
         // Hide solutions from client
         List<Map<String, Object>> safeQuestions = questions.stream().map(q -> {
+            Map<String, Object> cached = catalogService.getSafeQuestion(q.getId());
+            if (cached != null) return cached;
             Map<String, Object> map = new HashMap<>();
             map.put("id", q.getId());
             map.put("type", q.getType());
@@ -87,6 +91,34 @@ public class LessonServiceImpl implements LessonService {
         return response;
     }
 
+    static void markCompleted(Progress progress, int score) {
+        progress.setStatus(Progress.Status.COMPLETED);
+        progress.setBestScore(Math.max(progress.getBestScore(), score));
+        progress.setAttempts(progress.getAttempts() + 1);
+        progress.setLastAttemptAt(LocalDateTime.now());
+    }
+
+    @EventListener
+    public void onCatalogReloaded(CatalogService.CatalogReloadedEvent event) {
+        curriculumViewCache.invalidateAll();
+    }
+
+    @Override
+    public Map<String, Object> getLessonWithQuestions(String slug) {
+        Lesson lesson = catalogService.getLessonBySlug(slug);
+        if (lesson == null) {
+            lesson = lessonRepository.findBySlug(slug)
+                    .orElseThrow(() -> new RuntimeException("Lesson not found with slug: " + slug));
+        }
+
+        List<Question> questions = catalogService.getQuestionsForLesson(lesson.getId());
+        if (questions == null) {
+            questions = questionRepository.findByLessonId(lesson.getId());
+        }
+
+        return lessonView(catalogService, lesson, questions);
+    }
+
     @Override
     public void completeLesson(String userId, String lessonId, int score) {
         Lesson lesson = getLessonById(lessonId);
@@ -97,30 +129,27 @@ public class LessonServiceImpl implements LessonService {
                         .lessonId(lessonId)
                         .build());
 
-        progress.setStatus(Progress.Status.COMPLETED);
-        progress.setBestScore(Math.max(progress.getBestScore(), score));
-        progress.setAttempts(progress.getAttempts() + 1);
-        progress.setLastAttemptAt(LocalDateTime.now());
-        
+        markCompleted(progress, score);
         progressRepository.save(progress);
+        curriculumViewCache.invalidate(userId);
 
         // Unlock next lesson
-        lessonRepository.findAll(Sort.by(Sort.Direction.ASC, "order")).stream()
-                .filter(l -> l.getOrder() == lesson.getOrder() + 1)
-                .findFirst()
-                .ifPresent(nextLesson -> {
-                    if (progressRepository.findByUserIdAndLessonId(userId, nextLesson.getId()).isEmpty()) {
-                        progressRepository.save(Progress.builder()
-                                .userId(userId)
-                                .lessonId(nextLesson.getId())
-                                .status(Progress.Status.UNLOCKED)
-                                .build());
-                    }
-                });
+        Lesson nextLesson = catalogService.getNextLesson(lesson);
+        if (nextLesson != null
+                && progressRepository.findByUserIdAndLessonId(userId, nextLesson.getId()).isEmpty()) {
+            progressRepository.save(Progress.builder()
+                    .userId(userId)
+                    .lessonId(nextLesson.getId())
+                    .status(Progress.Status.UNLOCKED)
+                    .build());
+            curriculumViewCache.invalidate(userId);
+        }
     }
 
     @Override
     public Lesson getLessonById(String lessonId) {
+        Lesson cached = catalogService.getLesson(lessonId);
+        if (cached != null) return cached;
         return lessonRepository.findById(lessonId)
                 .orElseThrow(() -> new RuntimeException("Lesson not found with id: " + lessonId));
     }
@@ -0,0 +1,196 @@
+package com.backend_java.Migration.services.impl;
+
+import com.backend_java.Migration.dto.ProblemPage;
+import com.backend_java.Migration.dto.ProblemQuery;
+import com.backend_java.Migration.models.Problem;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * The problems of one catalog version in problem-set order, with a bitmap per tag and per
+ * difficulty over their positions. Pages are cut by binary-searching the cursor and walking the
+ * matching bits, so the cost does not grow with the number of problems skipped.
+ */
+final class ProblemIndex {
+
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 200;
+
+    private static final Comparator<Problem> PROBLEM_ORDER =
+            Comparator.comparingInt(Problem::getOrder).thenComparing(Problem::getId);
+
+    // Sorted by order and then id, since orders may repeat
+    final List<Problem> problems;
+    private final int[] orders;
+    private final String[] ids;
+    private final Map<String, BitSet> byTag = new HashMap<>();
+    private final Map<Problem.Difficulty, BitSet> byDifficulty = new EnumMap<>(Problem.Difficulty.class);
+
+    ProblemIndex(Collection<Problem> problems) {
+        this.problems = problems.stream().sorted(PROBLEM_ORDER).toList();
+        orders = new int[this.problems.size()];
+        ids = new String[this.problems.size()];
+        for (int i = 0; i < this.problems.size(); i++) {
+            Problem problem = this.problems.get(i);
+            orders[i] = problem.getOrder();
+            ids[i] = problem.getId();
+            if (problem.getTags() != null) {
+                for (String tag : problem.getTags()) {
+                    byTag.computeIfAbsent(tag.toLowerCase(Locale.ROOT), k -> new BitSet()).set(i);
+                }
+            }
+            if (problem.getDifficulty() != null) {
+                byDifficulty.computeIfAbsent(problem.getDifficulty(), k -> new BitSet()).set(i);
+            }
+        }
+    }
+
+    ProblemPage find(Request request) {
+        BitSet matches = match(request.tags(), request.allTags(), request.difficulties());
+        int next = matches.nextSetBit(request.after() == null ? 0 : firstAfter(request.after()));
+        List<Problem> page = new ArrayList<>(Math.min(request.limit(), matches.cardinality()));
+        while (next >= 0 && page.size() < request.limit()) {
+            page.add(problems.get(next));
+            next = matches.nextSetBit(next + 1);
+        }
+        String nextCursor = next >= 0 ? new Cursor(page.getLast().getOrder(), page.getLast().getId()).toString() : null;
+        return new ProblemPage(page, nextCursor);
+    }
+
+    BitSet match(Set<String> tags, boolean allTags, Set<Problem.Difficulty> difficulties) {
+        BitSet matches = new BitSet(problems.size());
+        if (tags.isEmpty()) {
+            matches.set(0, problems.size());
+        } else {
+            boolean first = true;
+            for (String tag : tags) {
+                BitSet tagged = byTag.getOrDefault(tag, new BitSet());
+                if (first || !allTags) {
+                    matches.or(tagged);
+                } else {
+                    matches.and(tagged);
+                }
+                first = false;
+            }
+        }
+        if (!difficulties.isEmpty()) {
+            BitSet ofDifficulty = new BitSet(problems.size());
+            difficulties.forEach(d -> ofDifficulty.or(byDifficulty.getOrDefault(d, new BitSet())));
+            matches.and(ofDifficulty);
+        }
+        return matches;
+    }
+
+    /**
+     * Position of the first problem ordered after the given one, which need not exist any more.
+     */
+    int firstAfter(Cursor last) {
+        int low = 0;
+        int high = orders.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            int cmp = orders[mid] != last.order()
+                    ? Integer.compare(orders[mid], last.order())
+                    : ids[mid].compareTo(last.id());
+            if (cmp <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * A ProblemQuery with its defaults applied: lower-cased, sorted tags, "all" unless match is "any",
+     * and the page size capped at MAX_PAGE_SIZE.
+     */
+    record Request(Set<String> tags, boolean allTags, Set<Problem.Difficulty> difficulties, Cursor after, int limit) {
+
+        /**
+         * @throws IllegalArgumentException for an unknown difficulty or match mode, or a malformed cursor or limit
+         */
+        static Request of(ProblemQuery query) {
+            return new Request(tags(query), allTags(query), difficulties(query),
+                    query.getCursor() == null ? null : Cursor.parse(query.getCursor()), limit(query));
+        }
+
+        private static Set<String> tags(ProblemQuery query) {
+            Set<String> tags = new TreeSet<>();
+            if (query.getTags() != null) {
+                for (String tag : query.getTags()) {
+                    if (!tag.isBlank()) {
+                        tags.add(tag.trim().toLowerCase(Locale.ROOT));
+                    }
+                }
+            }
+            return tags;
+        }
+
+        private static boolean allTags(ProblemQuery query) {
+            String match = query.getMatch() == null ? "all" : query.getMatch().trim().toLowerCase(Locale.ROOT);
+            if (!match.equals("all") && !match.equals("any")) {
+                throw new IllegalArgumentException("match must be all or any: " + query.getMatch());
+            }
+            return match.equals("all");
+        }
+
+        private static Set<Problem.Difficulty> difficulties(ProblemQuery query) {
+            Set<Problem.Difficulty> difficulties = EnumSet.noneOf(Problem.Difficulty.class);
+            if (query.getDifficulty() != null) {
+                for (String difficulty : query.getDifficulty()) {
+                    try {
+                        difficulties.add(Problem.Difficulty.valueOf(difficulty.trim().toUpperCase(Locale.ROOT)));
+                    } catch (IllegalArgumentException e) {
+                        throw new IllegalArgumentException("Unknown difficulty: " + difficulty);
+                    }
+                }
+            }
+            return difficulties;
+        }
+
+        private static int limit(ProblemQuery query) {
+            if (query.getLimit() == null) {
+                return DEFAULT_PAGE_SIZE;
+            }
+            if (query.getLimit() < 1) {
+                throw new IllegalArgumentException("limit must be positive: " + query.getLimit());
+            }
+            return Math.min(query.getLimit(), MAX_PAGE_SIZE);
+        }
+    }
+
+    /**
+     * Position of a page boundary in the problem list: the order and id of the last problem served.
+     */
+    record Cursor(int order, String id) {
+
+        static Cursor parse(String cursor) {
+            int separator = cursor.indexOf(':');
+            if (separator > 0 && separator < cursor.length() - 1) {
+                try {
+                    return new Cursor(Integer.parseInt(cursor.substring(0, separator)), cursor.substring(separator + 1));
+                } catch (NumberFormatException e) {
+                    // Reported below
+                }
+            }
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+
+        @Override
+        public String toString() {
+            return order + ":" + id;
+        }
+    }
+}
@@ -1,63 +1,48 @@
 package com.backend_java.Migration.services.impl;
 
+import com.backend_java.Migration.dto.ProblemPage;
+import com.backend_java.Migration.dto.ProblemQuery;
 import com.backend_java.Migration.models.Problem;
 import com.backend_java.Migration.repositories.ProblemRepository;
+import com.backend_java.Migration.services.CatalogService;
+import com.backend_java.Migration.services.LeetCodeStatsClient;
 import com.backend_java.Migration.services.ProblemService;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
-@Slf4j
 @Service
 @RequiredArgsConstructor
 public class ProblemServiceImpl implements ProblemService {
     private final ProblemRepository problemRepository;
-    private final RestTemplate restTemplate;
+    private final CatalogService catalogService;
+    private final LeetCodeStatsClient leetCodeStatsClient;
 
     @Override
     public List<Problem> getAllProblems() {
-        return problemRepository.findAll(Sort.by(Sort.Direction.ASC, "order"));
+        return catalogService.getProblems();
+    }
+
+    @Override
+    public ProblemPage findProblems(ProblemQuery query) {
+        return catalogService.findProblems(query);
     }
 
     @Override
     public Problem getProblemBySlug(String slug) {
+        Problem problem = catalogService.getProblemBySlug(slug);
+        if (problem != null) {
+            return problem;
+        }
         return problemRepository.findBySlug(slug)
                 .orElseThrow(() -> new RuntimeException("Problem not found with slug: " + slug));
     }
 
     @Override
-    @SuppressWarnings("unchecked")
-    public Map<String, Object> getLeetCodeStats(String username) {
-        String[] apis = {
-            "https://leetcode-stats-api.herokuapp.com/" + username,
-            "https://alfa-leetcode-api.onrender.com/userProfile/" + username
-        };
-
-        for (String url : apis) {
-            try {
-                Map<String, Object> response = restTemplate.getForObject(url, Map.class);
-                if (response != null) {
-                    // Normalize the response if it's from the second API
-                    if (url.contains("onrender")) {
-                        return Map.of(
-                            "status", "success",
-                            "totalSolved", response.get("totalSolved"),
-                            "easySolved", response.get("easySolved"),
-                            "mediumSolved", response.get("mediumSolved"),
-                            "hardSolved", response.get("hardSolved")
-                        );
-                    }
-                    return response;
-                }
-            } catch (Exception e) {
-                log.warn("LeetCode API failed for URL: {}. Error: {}", url, e.getMessage());
-            }
-        }
-        throw new RuntimeException("Could not fetch LeetCode statistics.");
+    public CompletableFuture<Map<String, Object>> getLeetCodeStats(String username) {
+        return leetCodeStatsClient.getStats(username);
     }
 }
@@ -3,19 +3,25 @@ package com.backend_java.Migration.services.impl;
 import com.backend_java.Migration.models.Question;
 import com.backend_java.Migration.models.User;
 import com.backend_java.Migration.models.Lesson;
-import com.backend_java.Migration.repositories.UserRepository;
+import com.backend_java.Migration.services.AttemptService;
+import com.backend_java.Migration.services.GradingService;
 import com.backend_java.Migration.services.ImpactService;
 import com.backend_java.Migration.services.ProgressService;
+import com.backend_java.Migration.services.ReviewService;
 import com.backend_java.Migration.services.QuestionService;
 import com.backend_java.Migration.services.SrsService;
 import com.backend_java.Migration.services.UserService;
 import com.backend_java.Migration.services.LessonService;
-import com.backend_java.Migration.utils.CppValidator;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -25,10 +31,12 @@ public class ProgressServiceImpl implements ProgressService {
     
     private final QuestionService questionService;
     private final UserService userService;
-    private final UserRepository userRepository;
     private final SrsService srsService;
     private final ImpactService impactService;
     private final LessonService lessonService;
+    private final AttemptService attemptService;
+    private final ReviewService reviewService;
+    private final GradingService gradingService;
 
     @Override
     public Map<String, Object> validateAnswer(String userId, String questionId, Object answer) {
@@ -36,30 +44,69 @@ public class ProgressServiceImpl implements ProgressService {
         Lesson lesson = lessonService.getLessonById(question.getLessonId());
         User user = userService.getProfile(userId);
 
-        boolean isCorrect = false;
-        if (question.getType() == Question.QuestionType.MCQ) {
-            isCorrect = String.valueOf(answer).equals(String.valueOf(question.getSolution()));
-        } else if (question.getType() == Question.QuestionType.FILL_IN_BLANK) {
-            isCorrect = CppValidator.validateFillInBlank((String) answer, (String) question.getSolution());
-        } else if (question.getType() == Question.QuestionType.PARSONS) {
-            isCorrect = CppValidator.validateParsons(answer, question.getSolution());
+        boolean isCorrect = gradingService.isCorrect(question, answer);
+
+        // 1. Check if first attempt (a correct answer claims the attempt record atomically)
+        boolean isFirstAttempt = isCorrect
+                ? attemptService.recordCorrectAnswer(userId, questionId)
+                : !attemptService.hasAnswered(userId, questionId);
+
+        // 2. SRS Concept Mastery Update (computed here, persisted below guarded on the values read)
+        MasteryChanges mastery = planMastery(srsService, user, question.getConcepts(), isCorrect);
+
+        // 3. XP and Streak
+        ImpactService.ImpactResult impactResult = isCorrect
+                ? impactService.calculate(question.getType().name(), lesson.getLevel().name(),
+                        user.getStreakCount(), isFirstAttempt)
+                : null;
+        int xpEarned = impactResult != null ? impactResult.getTotalXP() : 0;
+
+        // One round-trip: $inc xp, positional $set mastery, conditional $push of new concepts
+        UserService.RecordedAnswer recorded = userService.recordAnswer(user, isCorrect, xpEarned,
+                mastery.updated(), mastery.created());
+        Map<String, User.ConceptMastery> stored = storedConcepts(new LinkedHashMap<>(), recorded);
+        for (int retry = 0; !recorded.conflicts().isEmpty() && retry < MAX_CONFLICT_RETRIES; retry++) {
+            // A concurrent answer changed these concepts first: apply this answer on top of what it stored
+            MasteryChanges replanned = planMastery(srsService, recorded.current(), recorded.conflicts(), isCorrect);
+            recorded = userService.recordAnswer(recorded.current(), isCorrect, 0, replanned.updated(), replanned.created());
+            storedConcepts(stored, recorded);
         }
+        reviewService.onMasteryUpdated(userId, List.copyOf(stored.values()));
 
-        // 1. Check if first attempt
-        boolean isFirstAttempt = user.getQuestionHistory().stream()
-                .noneMatch(h -> h.getQuestionId().equals(questionId));
+        return response(isCorrect, xpEarned, recorded.streak(), isFirstAttempt, impactResult);
+    }
+
+    // Steps below are shared with ReactiveProgressServiceImpl
 
-        // 2. SRS Concept Mastery Update
-        if (question.getConcepts() != null) {
-            for (String conceptName : question.getConcepts()) {
-                User.ConceptMastery concept = user.getConceptMastery().stream()
-                        .filter(c -> c.getConcept().equals(conceptName))
-                        .findFirst()
-                        .orElse(null);
+    static final int MAX_CONFLICT_RETRIES = 3;
+
+    record MasteryChanges(List<User.ConceptMastery> updated, List<User.ConceptMastery> created) {
+    }
+
+    /**
+     * Next SM-2 schedule for each of the concepts (those of the question, or the ones to retry),
+     * split into concepts the user already tracks ($set in place) and new ones (pushed). The
+     * user's entries are left as read; updated concepts are copies.
+     */
+    static MasteryChanges planMastery(SrsService srsService, User user, Collection<String> concepts, boolean isCorrect) {
+        List<User.ConceptMastery> updatedConcepts = new ArrayList<>();
+        List<User.ConceptMastery> newConcepts = new ArrayList<>();
+        if (concepts != null) {
+            Map<String, User.ConceptMastery> masteryByConcept = new HashMap<>();
+            for (User.ConceptMastery c : user.getConceptMastery()) {
+                masteryByConcept.putIfAbsent(c.getConcept(), c);
+            }
+
+            for (String conceptName : new LinkedHashSet<>(concepts)) {
+                User.ConceptMastery concept = masteryByConcept.get(conceptName);
 
                 if (concept == null) {
                     concept = User.ConceptMastery.builder().concept(conceptName).build();
-                    user.getConceptMastery().add(concept);
+                    newConcepts.add(concept);
+                } else {
+                    concept = new User.ConceptMastery(concept.getConcept(), concept.getMasteryLevel(),
+                            concept.getInterval(), concept.getRepetition(), concept.getEfactor(), concept.getNextReviewAt());
+                    updatedConcepts.add(concept);
                 }
 
                 int quality = isCorrect ? 5 : 0;
@@ -76,37 +123,26 @@ public class ProgressServiceImpl implements ProgressService {
                 concept.setNextReviewAt(updatedStats.getNextReviewAt());
             }
         }
+        return new MasteryChanges(updatedConcepts, newConcepts);
+    }
 
-        // 3. XP and Streak
-        int xpEarned = 0;
-        ImpactService.ImpactResult impactResult = null;
-        if (isCorrect) {
-            impactResult = impactService.calculate(
-                    question.getType().name(),
-                    lesson.getLevel().name(),
-                    user.getStreakCount(),
-                    isFirstAttempt
-            );
-            xpEarned = impactResult.getTotalXP();
-            
-            // Re-using UserService to handle the actual streak logic and XP addition
-            userService.updateXpAndStreak(userId, xpEarned);
-            
-            // Also track in history
-            if (isFirstAttempt) {
-                user.getQuestionHistory().add(User.QuestionHistory.builder()
-                        .questionId(questionId)
-                        .correct(true)
-                        .build());
-            }
+    /**
+     * Adds the entries an attempt left stored; a retry's entries replace the conflicted ones.
+     */
+    static Map<String, User.ConceptMastery> storedConcepts(Map<String, User.ConceptMastery> stored,
+                                                           UserService.RecordedAnswer recorded) {
+        for (User.ConceptMastery concept : recorded.concepts()) {
+            stored.put(concept.getConcept(), concept);
         }
+        return stored;
+    }
 
-        userRepository.save(user);
-
+    static Map<String, Object> response(boolean isCorrect, int xpEarned, int streak, boolean isFirstAttempt,
+                                        ImpactService.ImpactResult impactResult) {
         Map<String, Object> response = new HashMap<>();
         response.put("isCorrect", isCorrect);
         response.put("xpEarned", xpEarned);
-        response.put("streak", user.getStreakCount());
+        response.put("streak", streak);
         response.put("isFirstAttempt", isFirstAttempt);
         if (impactResult != null) {
             response.put("multipliers", impactResult.getMultipliers());
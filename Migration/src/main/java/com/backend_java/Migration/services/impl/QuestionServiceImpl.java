@@ -2,6 +2,7 @@ package com.backend_java.Migration.services.impl;
 
 import com.backend_java.Migration.models.Question;
 import com.backend_java.Migration.repositories.QuestionRepository;
+import com.backend_java.Migration.services.CatalogService;
 import com.backend_java.Migration.services.QuestionService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -12,14 +13,18 @@ import java.util.List;
 @RequiredArgsConstructor
 public class QuestionServiceImpl implements QuestionService {
     private final QuestionRepository questionRepository;
+    private final CatalogService catalogService;
 
     @Override
     public List<Question> getQuestionsByLessonId(String lessonId) {
-        return questionRepository.findByLessonId(lessonId);
+        List<Question> cached = catalogService.getQuestionsForLesson(lessonId);
+        return cached != null ? cached : questionRepository.findByLessonId(lessonId);
     }
 
     @Override
     public Question getQuestionById(String id) {
+        Question cached = catalogService.getQuestion(id);
+        if (cached != null) return cached;
         return questionRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Question not found with id: " + id));
     }
@@ -0,0 +1,114 @@
+package com.backend_java.Migration.services.impl;
+
+import com.backend_java.Migration.models.Lesson;
+import com.backend_java.Migration.models.Progress;
+import com.backend_java.Migration.models.Question;
+import com.backend_java.Migration.repositories.reactive.ReactiveLessonRepository;
+import com.backend_java.Migration.repositories.reactive.ReactiveProgressRepository;
+import com.backend_java.Migration.repositories.reactive.ReactiveQuestionRepository;
+import com.backend_java.Migration.services.CatalogService;
+import com.backend_java.Migration.services.ReactiveLessonService;
+import com.github.benmanes.caffeine.cache.Cache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Same views as {@link LessonServiceImpl}, sharing its curriculum view cache; catalog
+ * hits are answered in memory and only misses and progress go to reactive Mongo.
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveLessonServiceImpl implements ReactiveLessonService {
+
+    private final ReactiveLessonRepository lessonRepository;
+    private final ReactiveQuestionRepository questionRepository;
+    private final ReactiveProgressRepository progressRepository;
+    private final CatalogService catalogService;
+    private final Cache<String, List<Map<String, Object>>> curriculumViewCache;
+    private final AtomicLong progressWrites = new AtomicLong();
+
+    @Override
+    public Mono<List<Map<String, Object>>> getCurriculumForUser(String userId) {
+        List<Map<String, Object>> cached = curriculumViewCache.getIfPresent(userId);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        long writesBefore = progressWrites.get();
+        return progressRepository.findByUserId(userId)
+                .collectMap(Progress::getLessonId)
+                .map(progressByLesson -> {
+                    List<Map<String, Object>> view = LessonServiceImpl.curriculumView(catalogService, progressByLesson);
+                    // Not cached if progress was written meanwhile; invalidate() takes the same key lock
+                    curriculumViewCache.asMap().compute(userId,
+                            (key, current) -> progressWrites.get() == writesBefore ? view : current);
+                    return view;
+                });
+    }
+
+    @Override
+    public Mono<Map<String, Object>> getLessonWithQuestions(String slug) {
+        Lesson cachedLesson = catalogService.getLessonBySlug(slug);
+        Mono<Lesson> lesson = cachedLesson != null
+                ? Mono.just(cachedLesson)
+                : lessonRepository.findBySlug(slug)
+                        .switchIfEmpty(Mono.error(() -> new RuntimeException("Lesson not found with slug: " + slug)));
+
+        return lesson.flatMap(l -> {
+            List<Question> questions = catalogService.getQuestionsForLesson(l.getId());
+            Mono<List<Question>> loaded = questions != null
+                    ? Mono.just(questions)
+                    : questionRepository.findByLessonId(l.getId()).collectList();
+            return loaded.map(q -> LessonServiceImpl.lessonView(catalogService, l, q));
+        });
+    }
+
+    @Override
+    public Mono<Void> completeLesson(String userId, String lessonId, int score) {
+        return getLessonById(lessonId).flatMap(lesson -> progressRepository.findByUserIdAndLessonId(userId, lessonId)
+                .defaultIfEmpty(Progress.builder()
+                        .userId(userId)
+                        .lessonId(lessonId)
+                        .build())
+                .flatMap(progress -> {
+                    LessonServiceImpl.markCompleted(progress, score);
+                    return progressRepository.save(progress);
+                })
+                .doOnSuccess(saved -> invalidate(userId))
+                .then(unlockNext(userId, catalogService.getNextLesson(lesson))));
+    }
+
+    private Mono<Void> unlockNext(String userId, Lesson nextLesson) {
+        if (nextLesson == null) {
+            return Mono.empty();
+        }
+        return progressRepository.findByUserIdAndLessonId(userId, nextLesson.getId())
+                .hasElement()
+                .flatMap(exists -> exists ? Mono.<Void>empty() : progressRepository.save(Progress.builder()
+                                .userId(userId)
+                                .lessonId(nextLesson.getId())
+                                .status(Progress.Status.UNLOCKED)
+                                .build())
+                        .doOnSuccess(saved -> invalidate(userId))
+                        .then());
+    }
+
+    private void invalidate(String userId) {
+        progressWrites.incrementAndGet();
+        curriculumViewCache.invalidate(userId);
+    }
+
+    @Override
+    public Mono<Lesson> getLessonById(String lessonId) {
+        Lesson cached = catalogService.getLesson(lessonId);
+        if (cached != null) return Mono.just(cached);
+        return lessonRepository.findById(lessonId)
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Lesson not found with id: " + lessonId)));
+    }
+}
@@ -0,0 +1,50 @@
+package com.backend_java.Migration.services.impl;
+
+import com.backend_java.Migration.dto.ProblemPage;
+import com.backend_java.Migration.dto.ProblemQuery;
+import com.backend_java.Migration.models.Problem;
+import com.backend_java.Migration.repositories.reactive.ReactiveProblemRepository;
+import com.backend_java.Migration.services.CatalogService;
+import com.backend_java.Migration.services.LeetCodeStatsClient;
+import com.backend_java.Migration.services.ReactiveProblemService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveProblemServiceImpl implements ReactiveProblemService {
+    private final ReactiveProblemRepository problemRepository;
+    private final CatalogService catalogService;
+    private final LeetCodeStatsClient leetCodeStatsClient;
+
+    @Override
+    public Mono<List<Problem>> getAllProblems() {
+        return Mono.fromSupplier(catalogService::getProblems);
+    }
+
+    @Override
+    public Mono<ProblemPage> findProblems(ProblemQuery query) {
+        return Mono.fromSupplier(() -> catalogService.findProblems(query));
+    }
+
+    @Override
+    public Mono<Problem> getProblemBySlug(String slug) {
+        Problem cached = catalogService.getProblemBySlug(slug);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return problemRepository.findBySlug(slug)
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Problem not found with slug: " + slug)));
+    }
+
+    @Override
+    public Mono<Map<String, Object>> getLeetCodeStats(String username) {
+        return Mono.fromFuture(() -> leetCodeStatsClient.getStats(username));
+    }
+}
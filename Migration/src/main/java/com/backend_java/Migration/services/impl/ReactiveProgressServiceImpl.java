@@ -0,0 +1,112 @@
+package com.backend_java.Migration.services.impl;
+
+import com.backend_java.Migration.models.Lesson;
+import com.backend_java.Migration.models.Question;
+import com.backend_java.Migration.models.User;
+import com.backend_java.Migration.repositories.reactive.ReactiveQuestionRepository;
+import com.backend_java.Migration.services.AttemptService;
+import com.backend_java.Migration.services.CatalogService;
+import com.backend_java.Migration.services.GradingService;
+import com.backend_java.Migration.services.ImpactService;
+import com.backend_java.Migration.services.ReactiveLessonService;
+import com.backend_java.Migration.services.ReactiveProgressService;
+import com.backend_java.Migration.services.ReactiveUserService;
+import com.backend_java.Migration.services.ReviewService;
+import com.backend_java.Migration.services.SrsService;
+import com.backend_java.Migration.services.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Grading as in {@link ProgressServiceImpl}. The attempt bitmap and review queue are shared
+ * in-memory indexes whose cache misses load from blocking Mongo, so those calls are moved
+ * to the bounded elastic scheduler instead of running on an event-loop thread.
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveProgressServiceImpl implements ReactiveProgressService {
+
+    private final ReactiveQuestionRepository questionRepository;
+    private final CatalogService catalogService;
+    private final GradingService gradingService;
+    private final ReactiveUserService userService;
+    private final ReactiveLessonService lessonService;
+    private final SrsService srsService;
+    private final ImpactService impactService;
+    private final AttemptService attemptService;
+    private final ReviewService reviewService;
+
+    @Override
+    public Mono<Map<String, Object>> validateAnswer(String userId, String questionId, Object answer) {
+        return getQuestion(questionId).flatMap(question -> Mono.zip(
+                        lessonService.getLessonById(question.getLessonId()),
+                        userService.getProfile(userId))
+                .flatMap(t -> grade(userId, question, t.getT1(), t.getT2(), answer)));
+    }
+
+    private Mono<Map<String, Object>> grade(String userId, Question question, Lesson lesson, User user, Object answer) {
+        boolean isCorrect = gradingService.isCorrect(question, answer);
+
+        // A correct answer claims the attempt record atomically
+        Mono<Boolean> firstAttempt = Mono.fromCallable(() -> isCorrect
+                        ? attemptService.recordCorrectAnswer(userId, question.getId())
+                        : !attemptService.hasAnswered(userId, question.getId()))
+                .subscribeOn(Schedulers.boundedElastic());
+
+        ProgressServiceImpl.MasteryChanges mastery = ProgressServiceImpl.planMastery(srsService, user,
+                question.getConcepts(), isCorrect);
+
+        return firstAttempt.flatMap(isFirstAttempt -> {
+            ImpactService.ImpactResult impactResult = isCorrect
+                    ? impactService.calculate(question.getType().name(), lesson.getLevel().name(),
+                            user.getStreakCount(), isFirstAttempt)
+                    : null;
+            int xpEarned = impactResult != null ? impactResult.getTotalXP() : 0;
+
+            Map<String, User.ConceptMastery> stored = new LinkedHashMap<>();
+            return userService.recordAnswer(user, isCorrect, xpEarned, mastery.updated(), mastery.created())
+                    .flatMap(recorded -> retryConflicts(recorded, stored, isCorrect, ProgressServiceImpl.MAX_CONFLICT_RETRIES))
+                    .map(recorded -> {
+                        reviewService.onMasteryUpdated(userId, List.copyOf(stored.values()));
+                        return ProgressServiceImpl.response(isCorrect, xpEarned, recorded.streak(), isFirstAttempt, impactResult);
+                    });
+        });
+    }
+
+    /**
+     * See ProgressServiceImpl#validateAnswer: conflicted concepts are re-planned on the re-read user.
+     */
+    private Mono<UserService.RecordedAnswer> retryConflicts(UserService.RecordedAnswer recorded,
+                                                            Map<String, User.ConceptMastery> stored,
+                                                            boolean isCorrect, int retriesLeft) {
+        ProgressServiceImpl.storedConcepts(stored, recorded);
+        if (recorded.conflicts().isEmpty() || retriesLeft == 0) {
+            return Mono.just(recorded);
+        }
+        ProgressServiceImpl.MasteryChanges replanned = ProgressServiceImpl.planMastery(srsService, recorded.current(),
+                recorded.conflicts(), isCorrect);
+        return userService.recordAnswer(recorded.current(), isCorrect, 0, replanned.updated(), replanned.created())
+                .flatMap(next -> retryConflicts(next, stored, isCorrect, retriesLeft - 1));
+    }
+
+    @Override
+    public Mono<Map<String, Object>> buildReviewSession(String userId, int limit) {
+        return Mono.fromCallable(() -> reviewService.buildReviewSession(userId, limit))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private Mono<Question> getQuestion(String questionId) {
+        Question cached = catalogService.getQuestion(questionId);
+        if (cached != null) return Mono.just(cached);
+        return questionRepository.findById(questionId)
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Question not found with id: " + questionId)));
+    }
+}
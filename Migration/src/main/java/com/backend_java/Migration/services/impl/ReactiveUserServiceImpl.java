@@ -0,0 +1,150 @@
+package com.backend_java.Migration.services.impl;
+
+import com.backend_java.Migration.dto.AuthResponse;
+import com.backend_java.Migration.models.User;
+import com.backend_java.Migration.repositories.UserRepositoryCustom;
+import com.backend_java.Migration.repositories.reactive.ReactiveUserRepository;
+import com.backend_java.Migration.services.JwtService;
+import com.backend_java.Migration.services.LeaderboardService;
+import com.backend_java.Migration.services.PasswordService;
+import com.backend_java.Migration.services.ReactiveUserService;
+import com.backend_java.Migration.services.UserService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveUserServiceImpl implements ReactiveUserService {
+
+    private final ReactiveUserRepository userRepository;
+    private final PasswordService passwordService;
+    private final JwtService jwtService;
+    private final LeaderboardService leaderboardService;
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    @Override
+    public Mono<AuthResponse> register(User user) {
+        return Mono.zip(userRepository.existsByEmail(user.getEmail()), userRepository.existsByUsername(user.getUsername()))
+                .flatMap(exists -> exists.getT1() || exists.getT2()
+                        ? Mono.error(new RuntimeException("User already exists with this email or username"))
+                        // BCrypt stays on the hashing executor; the event loop only waits for the future
+                        : Mono.fromFuture(() -> passwordService.encode(user.getPassword())).publishOn(Schedulers.parallel()))
+                .flatMap(hash -> {
+                    user.setPassword(hash);
+                    return userRepository.save(user);
+                })
+                .map(savedUser -> {
+                    leaderboardService.track(savedUser.getId(), savedUser.getXp());
+                    return AuthResponse.builder()
+                            .token(jwtService.generateToken(savedUser))
+                            .user(savedUser)
+                            .build();
+                });
+    }
+
+    @Override
+    public Mono<AuthResponse> login(String email, String password) {
+        return userRepository.findByEmail(email)
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Identity not found. Please register.")))
+                .flatMap(user -> Mono.fromFuture(() -> passwordService.matches(password, user.getPassword()))
+                        // Signing must not hold one of the bounded hashing threads
+                        .publishOn(Schedulers.parallel())
+                        .map(valid -> {
+                            if (!valid) {
+                                throw new RuntimeException("Security credentials invalid.");
+                            }
+
+                            // Transparently re-hash with the current BCrypt cost; the login does not wait for it
+                            if (passwordService.needsUpgrade(user.getPassword())) {
+                                Mono.fromFuture(() -> passwordService.encode(password))
+                                        .flatMap(hash -> userRepository.updatePassword(user.getId(), hash))
+                                        .subscribe(null, e -> log.warn("Password re-hash failed for user {}: {}",
+                                                user.getId(), e.getMessage()));
+                            }
+
+                            return AuthResponse.builder()
+                                    .token(jwtService.generateToken(user))
+                                    .user(user)
+                                    .build();
+                        }));
+    }
+
+    @Override
+    public Mono<User> getProfile(String userId) {
+        return userRepository.findById(userId)
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("User not found")));
+    }
+
+    @Override
+    public Mono<User> updateProfile(String userId, Map<String, Object> updates) {
+        return getProfile(userId).flatMap(user -> {
+            Mono<User> checked = Mono.just(user);
+            if (updates.containsKey("username")) {
+                String newUsername = (String) updates.get("username");
+                if (!newUsername.equals(user.getUsername())) {
+                    checked = userRepository.existsByUsername(newUsername).flatMap(taken -> taken
+                            ? Mono.error(new RuntimeException("Username already taken by another architect."))
+                            : Mono.just(user));
+                }
+                user.setUsername(newUsername);
+            }
+            return checked;
+        }).flatMap(user -> {
+            if (updates.containsKey("collegeName")) user.setCollegeName((String) updates.get("collegeName"));
+            if (updates.containsKey("leetcodeUsername")) user.setLeetcodeUsername((String) updates.get("leetcodeUsername"));
+            return userRepository.save(user);
+        });
+    }
+
+    @Override
+    public Mono<Map<String, Object>> getLeaderboard(String currentUserId) {
+        List<String> topIds = leaderboardService.getTopUserIds(UserServiceImpl.LEADERBOARD_SIZE);
+        Mono<Map<String, User>> topById = mongoTemplate
+                .find(UserServiceImpl.leaderboardRowsQuery(topIds), User.class)
+                .collectMap(User::getId);
+
+        Integer indexedXp = leaderboardService.getUserXp(currentUserId);
+        Mono<Integer> currentXp = indexedXp != null
+                ? Mono.just(indexedXp)
+                : getProfile(currentUserId).map(user -> {
+                    leaderboardService.track(currentUserId, user.getXp());
+                    return user.getXp();
+                });
+
+        return Mono.zip(topById, currentXp).map(t -> UserServiceImpl.leaderboardView(
+                leaderboardService, topIds, t.getT1(), currentUserId, t.getT2()));
+    }
+
+    @Override
+    public Mono<UserService.RecordedAnswer> recordAnswer(User user, boolean correct, int xpEarned,
+                                                         List<User.ConceptMastery> updatedConcepts,
+                                                         List<User.ConceptMastery> newConcepts) {
+        LocalDateTime now = LocalDateTime.now();
+        Integer streak = correct ? UserServiceImpl.nextStreak(user, now) : null;
+        List<User.ConceptMastery> written = UserServiceImpl.written(updatedConcepts, newConcepts);
+
+        return userRepository.recordAnswer(user.getId(), new UserRepositoryCustom.AnswerUpdate(
+                        xpEarned, streak, correct ? now : null, user.getLastActiveAt(),
+                        updatedConcepts, UserServiceImpl.asRead(user, updatedConcepts), newConcepts))
+                .flatMap(applied -> {
+                    if (xpEarned != 0) {
+                        leaderboardService.addXp(user.getId(), xpEarned);
+                    }
+                    return applied
+                            ? Mono.just(new UserService.RecordedAnswer(
+                                    streak != null ? streak : user.getStreakCount(), written, List.of(), null))
+                            : getProfile(user.getId()).map(current -> UserServiceImpl.afterConflict(current, written));
+                });
+    }
+}
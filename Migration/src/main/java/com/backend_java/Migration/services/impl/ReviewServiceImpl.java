@@ -0,0 +1,156 @@
+package com.backend_java.Migration.services.impl;
+
+import com.backend_java.Migration.models.Question;
+import com.backend_java.Migration.models.User;
+import com.backend_java.Migration.services.CatalogService;
+import com.backend_java.Migration.services.ReviewService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps a per-user queue of concepts ordered by nextReviewAt and turns the due prefix
+ * into a session through the catalog's concept -> questions index.
+ */
+@Service
+public class ReviewServiceImpl implements ReviewService {
+
+    private static final int MAX_SESSION_SIZE = 50;
+    private static final int QUESTIONS_PER_CONCEPT = 2;
+
+    private final MongoTemplate mongoTemplate;
+    private final CatalogService catalogService;
+    private final Cache<String, ReviewQueue> queues;
+
+    public ReviewServiceImpl(MongoTemplate mongoTemplate,
+                             CatalogService catalogService,
+                             @Value("${app.cache.review-queues.max-size:50000}") long maxSize,
+                             @Value("${app.cache.review-queues.expire-after-access:1h}") Duration expireAfterAccess,
+                             MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.catalogService = catalogService;
+        this.queues = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(expireAfterAccess)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, queues, "review.queues");
+    }
+
+    @Override
+    public Map<String, Object> buildReviewSession(String userId, int limit) {
+        int sessionSize = Math.max(1, Math.min(limit, MAX_SESSION_SIZE));
+        LocalDateTime now = LocalDateTime.now();
+        List<ScheduledConcept> due = queues.get(userId, this::loadQueue).due(now);
+
+        Set<String> picked = new LinkedHashSet<>();
+        List<Map<String, Object>> dueConcepts = new ArrayList<>();
+        for (ScheduledConcept concept : due) {
+            if (picked.size() >= sessionSize) break;
+            int taken = 0;
+            for (Question question : catalogService.getQuestionsForConcept(concept.concept())) {
+                if (taken == QUESTIONS_PER_CONCEPT || picked.size() >= sessionSize) break;
+                if (picked.add(question.getId())) taken++;
+            }
+            Map<String, Object> entry = new HashMap<>();
+            entry.put("concept", concept.concept());
+            entry.put("nextReviewAt", concept.nextReviewAt());
+            dueConcepts.add(entry);
+        }
+
+        List<Map<String, Object>> questions = new ArrayList<>(picked.size());
+        for (String questionId : picked) {
+            questions.add(catalogService.getSafeQuestion(questionId));
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("totalDue", due.size());
+        response.put("dueConcepts", dueConcepts);
+        response.put("questions", questions);
+        return response;
+    }
+
+    @Override
+    public void onMasteryUpdated(String userId, List<User.ConceptMastery> concepts) {
+        ReviewQueue queue = queues.getIfPresent(userId);
+        if (queue != null) {
+            queue.schedule(concepts);
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        queues.invalidateAll();
+    }
+
+    private ReviewQueue loadQueue(String userId) {
+        Query query = Query.query(Criteria.where("_id").is(userId));
+        query.fields().include("conceptMastery");
+        User user = mongoTemplate.findOne(query, User.class);
+        if (user == null) {
+            throw new RuntimeException("User not found");
+        }
+        ReviewQueue queue = new ReviewQueue();
+        queue.schedule(user.getConceptMastery());
+        return queue;
+    }
+
+    record ScheduledConcept(String concept, LocalDateTime nextReviewAt) {}
+
+    /**
+     * Indexed priority queue: ordered set by (nextReviewAt, concept) plus concept -> entry for O(log n) reschedules.
+     */
+    static final class ReviewQueue {
+        // A null concept is the upper bound of its instant, after every real concept due then
+        private static final Comparator<ScheduledConcept> ORDER = Comparator
+                .comparing(ScheduledConcept::nextReviewAt)
+                .thenComparing(ScheduledConcept::concept, Comparator.nullsLast(Comparator.naturalOrder()));
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final NavigableSet<ScheduledConcept> byDueTime = new TreeSet<>(ORDER);
+        private final Map<String, ScheduledConcept> byConcept = new HashMap<>();
+
+        void schedule(List<User.ConceptMastery> concepts) {
+            lock.lock();
+            try {
+                for (User.ConceptMastery c : concepts) {
+                    LocalDateTime next = c.getNextReviewAt() != null ? c.getNextReviewAt() : LocalDateTime.now();
+                    ScheduledConcept entry = new ScheduledConcept(c.getConcept(), next);
+                    ScheduledConcept previous = byConcept.put(c.getConcept(), entry);
+                    if (previous != null) byDueTime.remove(previous);
+                    byDueTime.add(entry);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        List<ScheduledConcept> due(LocalDateTime now) {
+            lock.lock();
+            try {
+                return List.copyOf(byDueTime.headSet(new ScheduledConcept(null, now), true));
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,369 @@
+package com.backend_java.Migration.services.impl;
+
+import com.backend_java.Migration.dto.SearchHit;
+import com.backend_java.Migration.models.Lesson;
+import com.backend_java.Migration.models.Problem;
+import com.backend_java.Migration.services.CatalogService;
+import com.backend_java.Migration.services.SearchService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SearchServiceImpl implements SearchService {
+
+    static final int MAX_RESULTS = 50;
+    private static final int MAX_QUERY_TERMS = 16;
+    private static final int MAX_COMPLETIONS = 64;
+
+    // BM25 parameters; field weights scale term frequencies, so a title word counts three times
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final float TITLE = 3f;
+    private static final float TAGS = 2f;
+    private static final float DESCRIPTION = 1.5f;
+    private static final float BODY = 1f;
+    // A completed prefix ranks below the same word typed out
+    private static final float COMPLETION = 0.8f;
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final CatalogService catalogService;
+
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private volatile Index index;
+
+    @Override
+    public List<SearchHit> search(String query, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be positive: " + limit);
+        }
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        if (tokens.size() > MAX_QUERY_TERMS) {
+            tokens = tokens.subList(0, MAX_QUERY_TERMS);
+        }
+        // Still typing the last word unless the query ends with a separator
+        boolean typing = !NON_WORD.matcher(query.substring(query.length() - 1)).matches();
+
+        Index current = index;
+        if (current == null) {
+            throw new IllegalStateException("Search index is not built yet");
+        }
+        int n = current.docs.length;
+        float[] scores = new float[n];
+        int[] matched = new int[n];
+        int matchedCount = 0;
+        for (int t = 0; t < tokens.size(); t++) {
+            String token = tokens.get(t);
+            int exact = current.term(token);
+            if (!typing || t < tokens.size() - 1) {
+                if (exact >= 0) {
+                    int[] docs = current.postingDocs[exact];
+                    float[] impacts = current.postingScores[exact];
+                    for (int i = 0; i < docs.length; i++) {
+                        if (scores[docs[i]] == 0) {
+                            matched[matchedCount++] = docs[i];
+                        }
+                        scores[docs[i]] += impacts[i];
+                    }
+                }
+                continue;
+            }
+            // The word being typed scores once per document, by its best completion
+            float[] best = new float[n];
+            int[] touched = new int[n];
+            int touchedCount = 0;
+            int[] completions = current.completions(token);
+            for (int c = -1; c < completions.length; c++) {
+                int term = c < 0 ? exact : completions[c];
+                if (term < 0 || (c >= 0 && term == exact)) {
+                    continue;
+                }
+                float weight = c < 0 ? 1f : COMPLETION;
+                int[] docs = current.postingDocs[term];
+                float[] impacts = current.postingScores[term];
+                for (int i = 0; i < docs.length; i++) {
+                    int doc = docs[i];
+                    if (best[doc] == 0) {
+                        touched[touchedCount++] = doc;
+                    }
+                    best[doc] = Math.max(best[doc], weight * impacts[i]);
+                }
+            }
+            for (int i = 0; i < touchedCount; i++) {
+                int doc = touched[i];
+                if (scores[doc] == 0) {
+                    matched[matchedCount++] = doc;
+                }
+                scores[doc] += best[doc];
+            }
+        }
+
+        // Min-heap of the best k so far, worst at the root
+        int k = Math.min(Math.min(limit, MAX_RESULTS), matchedCount);
+        int[] top = new int[k];
+        int size = 0;
+        for (int i = 0; i < matchedCount; i++) {
+            int doc = matched[i];
+            if (size < k) {
+                top[size] = doc;
+                for (int child = size++; child > 0 && ranksAbove(scores, top[(child - 1) / 2], top[child]); child = (child - 1) / 2) {
+                    swap(top, child, (child - 1) / 2);
+                }
+            } else if (ranksAbove(scores, doc, top[0])) {
+                top[0] = doc;
+                siftDown(scores, top, size);
+            }
+        }
+        List<SearchHit> hits = new ArrayList<>(k);
+        for (int end = size - 1; end >= 0; end--) {
+            swap(top, 0, end);
+            siftDown(scores, top, end);
+        }
+        for (int doc : top) {
+            hits.add(new SearchHit(current.docs[doc].type(), current.docs[doc].slug(), current.docs[doc].title(), scores[doc]));
+        }
+        return hits;
+    }
+
+    // Higher score first, then catalog order (lessons before problems)
+    private static boolean ranksAbove(float[] scores, int a, int b) {
+        return scores[a] > scores[b] || (scores[a] == scores[b] && a < b);
+    }
+
+    private static void siftDown(float[] scores, int[] heap, int size) {
+        int parent = 0;
+        while (true) {
+            int worst = parent;
+            for (int child = 2 * parent + 1; child <= 2 * parent + 2 && child < size; child++) {
+                if (ranksAbove(scores, heap[worst], heap[child])) {
+                    worst = child;
+                }
+            }
+            if (worst == parent) {
+                return;
+            }
+            swap(heap, parent, worst);
+            parent = worst;
+        }
+    }
+
+    private static void swap(int[] values, int i, int j) {
+        int value = values[i];
+        values[i] = values[j];
+        values[j] = value;
+    }
+
+    @Override
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            // Read before the content: a reload in between leaves this index a version behind, not stale
+            long version = catalogService.getVersion();
+            Index previous = index;
+            if (previous == null || previous.version != version) {
+                index = build(version, previous);
+            }
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    @EventListener
+    public void onCatalogReloaded(CatalogService.CatalogReloadedEvent event) {
+        rebuild();
+    }
+
+    private Index build(long version, Index previous) {
+        Map<String, Analyzed> reusable = previous != null ? previous.analyzed : Map.of();
+        Map<String, Analyzed> analyzed = new HashMap<>();
+        List<Doc> docs = new ArrayList<>();
+        int reanalyzed = 0;
+
+        for (Lesson lesson : catalogService.getLessons()) {
+            String key = "lesson:" + lesson.getId();
+            Analyzed terms = reuse(reusable.get(key), lesson.getContentHash());
+            if (terms == null) {
+                Analyzer analyzer = new Analyzer();
+                analyzer.add(lesson.getTitle(), TITLE);
+                analyzer.add(lesson.getDescription(), DESCRIPTION);
+                StringBuilder body = new StringBuilder();
+                collectText(lesson.getContent(), body);
+                analyzer.add(body.toString(), BODY);
+                terms = analyzer.done(lesson.getContentHash());
+                reanalyzed++;
+            }
+            analyzed.put(key, terms);
+            docs.add(new Doc("lesson", lesson.getSlug(), lesson.getTitle(), terms));
+        }
+        for (Problem problem : catalogService.getProblems()) {
+            String key = "problem:" + problem.getId();
+            Analyzed terms = reuse(reusable.get(key), problem.getContentHash());
+            if (terms == null) {
+                Analyzer analyzer = new Analyzer();
+                analyzer.add(problem.getTitle(), TITLE);
+                analyzer.add(problem.getDescription(), DESCRIPTION);
+                if (problem.getTags() != null) {
+                    problem.getTags().forEach(tag -> analyzer.add(tag, TAGS));
+                }
+                terms = analyzer.done(problem.getContentHash());
+                reanalyzed++;
+            }
+            analyzed.put(key, terms);
+            docs.add(new Doc("problem", problem.getSlug(), problem.getTitle(), terms));
+        }
+
+        Index fresh = new Index(version, docs, analyzed);
+        log.info("Search index for catalog v{} built with {} documents and {} terms ({} re-analyzed).",
+                version, docs.size(), fresh.terms.length, reanalyzed);
+        return fresh;
+    }
+
+    // Seeded documents are re-analyzed only when their content hash changed
+    private static Analyzed reuse(Analyzed previous, String contentHash) {
+        return previous != null && contentHash != null && Objects.equals(previous.contentHash(), contentHash)
+                ? previous : null;
+    }
+
+    // Lesson content blocks are maps like {type: "text", body: "..."}; the type names are not content
+    private static void collectText(Object value, StringBuilder out) {
+        if (value instanceof String text) {
+            out.append(text).append(' ');
+        } else if (value instanceof Map<?, ?> map) {
+            map.forEach((key, nested) -> {
+                if (!"type".equals(key)) {
+                    collectText(nested, out);
+                }
+            });
+        } else if (value instanceof Collection<?> values) {
+            values.forEach(nested -> collectText(nested, out));
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : NON_WORD.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private record Analyzed(String contentHash, Map<String, Float> frequencies, float length) {}
+
+    private record Doc(String type, String slug, String title, Analyzed terms) {}
+
+    private static final class Analyzer {
+        private final Map<String, Float> frequencies = new HashMap<>();
+        private float length;
+
+        void add(String text, float weight) {
+            for (String token : tokenize(text)) {
+                frequencies.merge(token, weight, Float::sum);
+                length += weight;
+            }
+        }
+
+        Analyzed done(String contentHash) {
+            return new Analyzed(contentHash, Map.copyOf(frequencies), length);
+        }
+    }
+
+    private static final class Index {
+        final long version;
+        final Doc[] docs;
+        // Sorted, so completions of a prefix are a contiguous range; postings are in document order
+        final String[] terms;
+        final int[][] postingDocs;
+        // BM25 contribution of the term to each document in postingDocs
+        final float[][] postingScores;
+        final Map<String, Analyzed> analyzed;
+
+        Index(long version, List<Doc> docs, Map<String, Analyzed> analyzed) {
+            this.version = version;
+            this.docs = docs.toArray(Doc[]::new);
+            this.analyzed = analyzed;
+            int n = this.docs.length;
+            float total = 0;
+            TreeMap<String, List<Integer>> postings = new TreeMap<>();
+            for (int d = 0; d < n; d++) {
+                Analyzed terms = this.docs[d].terms();
+                total += terms.length();
+                for (String term : terms.frequencies().keySet()) {
+                    postings.computeIfAbsent(term, k -> new ArrayList<>()).add(d);
+                }
+            }
+            float averageLength = n == 0 || total == 0 ? 1 : total / n;
+            this.terms = postings.keySet().toArray(String[]::new);
+            this.postingDocs = new int[terms.length][];
+            this.postingScores = new float[terms.length][];
+            for (int t = 0; t < terms.length; t++) {
+                List<Integer> containing = postings.get(terms[t]);
+                float idf = (float) Math.log(1 + (n - containing.size() + 0.5) / (containing.size() + 0.5));
+                postingDocs[t] = new int[containing.size()];
+                postingScores[t] = new float[containing.size()];
+                for (int i = 0; i < containing.size(); i++) {
+                    int doc = containing.get(i);
+                    Analyzed terms = this.docs[doc].terms();
+                    float frequency = terms.frequencies().get(this.terms[t]);
+                    float norm = K1 * (1 - B + B * terms.length() / averageLength);
+                    postingDocs[t][i] = doc;
+                    postingScores[t][i] = idf * frequency * (K1 + 1) / (frequency + norm);
+                }
+            }
+        }
+
+        int term(String token) {
+            int position = Arrays.binarySearch(terms, token);
+            return position >= 0 ? position : -1;
+        }
+
+        /**
+         * Terms starting with the prefix, the ones in most documents first, at most MAX_COMPLETIONS.
+         */
+        int[] completions(String prefix) {
+            int position = Arrays.binarySearch(terms, prefix);
+            int from = position >= 0 ? position : -position - 1;
+            int to = from;
+            while (to < terms.length && terms[to].startsWith(prefix)) {
+                to++;
+            }
+            if (to - from <= MAX_COMPLETIONS) {
+                int[] range = new int[to - from];
+                Arrays.setAll(range, i -> from + i);
+                return range;
+            }
+            Integer[] candidates = new Integer[to - from];
+            Arrays.setAll(candidates, i -> from + i);
+            Arrays.sort(candidates, Comparator.<Integer>comparingInt(t -> -postingDocs[t].length).thenComparingInt(t -> t));
+            int[] top = new int[MAX_COMPLETIONS];
+            for (int i = 0; i < MAX_COMPLETIONS; i++) {
+                top[i] = candidates[i];
+            }
+            return top;
+        }
+    }
+}
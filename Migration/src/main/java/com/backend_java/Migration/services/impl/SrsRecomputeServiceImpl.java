@@ -0,0 +1,197 @@
+package com.backend_java.Migration.services.impl;
+
+import com.backend_java.Migration.services.CatalogService;
+import com.backend_java.Migration.services.ReviewService;
+import com.backend_java.Migration.services.SrsRecomputeService;
+import com.backend_java.Migration.services.SrsService;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+/**
+ * Cursor -> fork-join recompute -> unordered bulkWrite, one bounded batch at a time.
+ * Only the current batch is ever in memory, and a checkpoint is written after each batch.
+ * The checkpoint keeps the last _id as its BSON value, so resuming works whatever the id type.
+ */
+@Slf4j
+@Service
+public class SrsRecomputeServiceImpl implements SrsRecomputeService {
+
+    private static final String CHECKPOINTS = "srs_recompute_checkpoints";
+
+    private final MongoTemplate mongoTemplate;
+    private final SrsService srsService;
+    private final CatalogService catalogService;
+    private final ReviewService reviewService;
+    private final int batchSize;
+    private final int parallelism;
+    private final boolean pruneOrphanConcepts;
+
+    public SrsRecomputeServiceImpl(MongoTemplate mongoTemplate,
+                                   SrsService srsService,
+                                   CatalogService catalogService,
+                                   ReviewService reviewService,
+                                   @Value("${app.srs.recompute.batch-size:2000}") int batchSize,
+                                   @Value("${app.srs.recompute.parallelism:0}") int parallelism,
+                                   @Value("${app.srs.recompute.prune-orphan-concepts:true}") boolean pruneOrphanConcepts) {
+        this.mongoTemplate = mongoTemplate;
+        this.srsService = srsService;
+        this.catalogService = catalogService;
+        this.reviewService = reviewService;
+        this.batchSize = batchSize;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.pruneOrphanConcepts = pruneOrphanConcepts;
+    }
+
+    @Override
+    public RecomputeReport recompute(String jobId, boolean resume) {
+        Document checkpoint = resume ? mongoTemplate.findById(jobId, Document.class, CHECKPOINTS) : null;
+        if (checkpoint != null && checkpoint.getBoolean("completed", false)) {
+            checkpoint = null; // A finished job id starts over instead of resuming past the end
+        }
+        Object lastUserId = checkpoint != null ? checkpoint.get("lastUserId") : null;
+        long scanned = checkpoint != null ? checkpoint.get("usersScanned", Number.class).longValue() : 0;
+        long updated = checkpoint != null ? checkpoint.get("usersUpdated", Number.class).longValue() : 0;
+        if (lastUserId != null) {
+            log.info("SRS recompute '{}' resuming after user {} ({} users already scanned).", jobId, lastUserId, scanned);
+        }
+
+        Set<String> knownConcepts = pruneOrphanConcepts && catalogService.getQuestionCount() > 0
+                ? catalogService.getConcepts() : null;
+
+        Query query = new Query();
+        if (lastUserId != null) {
+            query.addCriteria(Criteria.where("_id").gt(lastUserId));
+        }
+        query.fields().include("conceptMastery");
+        query.with(Sort.by(Sort.Direction.ASC, "_id"));
+        query.cursorBatchSize(batchSize);
+
+        long startNanos = System.nanoTime();
+        long runScanned = 0;
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try (Stream<Document> users = mongoTemplate.stream(query, Document.class, "users")) {
+            List<Document> batch = new ArrayList<>(batchSize);
+            for (Document user : (Iterable<Document>) users::iterator) {
+                batch.add(user);
+                if (batch.size() == batchSize) {
+                    updated += processBatch(pool, batch, knownConcepts);
+                    scanned += batch.size();
+                    runScanned += batch.size();
+                    lastUserId = batch.get(batch.size() - 1).get("_id");
+                    saveCheckpoint(jobId, lastUserId, scanned, updated, false);
+                    logProgress(jobId, scanned, runScanned, startNanos);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                updated += processBatch(pool, batch, knownConcepts);
+                scanned += batch.size();
+                runScanned += batch.size();
+                lastUserId = batch.get(batch.size() - 1).get("_id");
+            }
+        } finally {
+            pool.shutdown();
+        }
+        saveCheckpoint(jobId, lastUserId, scanned, updated, true);
+        reviewService.invalidateAll();
+
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        RecomputeReport report = new RecomputeReport(jobId, scanned, updated, seconds,
+                seconds > 0 ? runScanned / seconds : runScanned, lastUserId != null ? lastUserId.toString() : null);
+        log.info("SRS recompute '{}' finished: {} users scanned, {} updated in {}s ({} users/s).",
+                jobId, scanned, updated, String.format("%.1f", seconds), String.format("%.0f", report.usersPerSecond()));
+        return report;
+    }
+
+    private long processBatch(ForkJoinPool pool, List<Document> batch, Set<String> knownConcepts) {
+        List<WriteModel<Document>> writes;
+        try {
+            writes = pool.submit(() -> batch.parallelStream()
+                    .map(user -> recomputeUser(user, knownConcepts))
+                    .filter(Objects::nonNull)
+                    .toList()).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("SRS recompute interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("SRS recompute failed: " + e.getCause().getMessage(), e.getCause());
+        }
+        if (writes.isEmpty()) return 0;
+        return mongoTemplate.getCollection("users")
+                .bulkWrite(writes, new BulkWriteOptions().ordered(false))
+                .getModifiedCount();
+    }
+
+    /**
+     * Returns the update for one user, or null if the schedule is unchanged.
+     * The filter pins the mastery array as read, so a concurrent grading write wins over the batch.
+     */
+    private WriteModel<Document> recomputeUser(Document user, Set<String> knownConcepts) {
+        List<Document> mastery = user.getList("conceptMastery", Document.class);
+        if (mastery == null || mastery.isEmpty()) return null;
+
+        List<Document> recomputed = new ArrayList<>(mastery.size());
+        for (Document concept : mastery) {
+            if (knownConcepts != null && !knownConcepts.contains(concept.getString("concept"))) {
+                continue;
+            }
+            int interval = concept.get("interval", Number.class) != null ? concept.get("interval", Number.class).intValue() : 1;
+            int repetition = concept.get("repetition", Number.class) != null ? concept.get("repetition", Number.class).intValue() : 0;
+            double efactor = concept.get("efactor", Number.class) != null ? concept.get("efactor", Number.class).doubleValue() : 2.5;
+            Date next = concept.getDate("nextReviewAt");
+
+            SrsService.SrsStats stats = srsService.reschedule(interval, repetition, efactor,
+                    next != null ? LocalDateTime.ofInstant(next.toInstant(), ZoneId.systemDefault()) : null);
+
+            Document copy = new Document(concept);
+            copy.put("interval", stats.getInterval());
+            copy.put("repetition", stats.getRepetition());
+            copy.put("efactor", stats.getEfactor());
+            copy.put("nextReviewAt", Date.from(stats.getNextReviewAt().atZone(ZoneId.systemDefault()).toInstant()));
+            recomputed.add(copy);
+        }
+        if (recomputed.equals(mastery)) return null;
+
+        return new UpdateOneModel<>(
+                Filters.and(Filters.eq("_id", user.get("_id")), Filters.eq("conceptMastery", mastery)),
+                Updates.set("conceptMastery", recomputed));
+    }
+
+    private void saveCheckpoint(String jobId, Object lastUserId, long scanned, long updated, boolean completed) {
+        mongoTemplate.upsert(Query.query(Criteria.where("_id").is(jobId)), new Update()
+                .set("lastUserId", lastUserId)
+                .set("usersScanned", scanned)
+                .set("usersUpdated", updated)
+                .set("completed", completed)
+                .set("updatedAt", new Date()), CHECKPOINTS);
+    }
+
+    private void logProgress(String jobId, long scanned, long runScanned, long startNanos) {
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        log.info("SRS recompute '{}': {} users scanned ({} users/s).",
+                jobId, scanned, String.format("%.0f", runScanned / Math.max(seconds, 1e-9)));
+    }
+}
@@ -1,12 +1,25 @@
 package com.backend_java.Migration.services.impl;
 
 import com.backend_java.Migration.services.SrsService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import java.time.LocalDateTime;
 
 @Service
 public class SrsServiceImpl implements SrsService {
-    
+
+    private final int firstInterval;
+    private final int secondInterval;
+    private final double minEfactor;
+
+    public SrsServiceImpl(@Value("${app.srs.first-interval:1}") int firstInterval,
+                          @Value("${app.srs.second-interval:6}") int secondInterval,
+                          @Value("${app.srs.min-efactor:1.3}") double minEfactor) {
+        this.firstInterval = firstInterval;
+        this.secondInterval = secondInterval;
+        this.minEfactor = minEfactor;
+    }
+
     @Override
     public SrsStats calculateNextReview(int interval, int repetition, double efactor, int quality) {
         int newInterval = interval;
@@ -15,20 +28,20 @@ public class SrsServiceImpl implements SrsService {
 
         if (quality >= 3) {
             if (newRepetition == 0) {
-                newInterval = 1;
+                newInterval = firstInterval;
             } else if (newRepetition == 1) {
-                newInterval = 6;
+                newInterval = secondInterval;
             } else {
                 newInterval = (int) Math.round(interval * efactor);
             }
             newRepetition++;
         } else {
             newRepetition = 0;
-            newInterval = 1;
+            newInterval = firstInterval;
         }
 
         newEfactor = newEfactor + (0.1 - (5 - quality) * (0.08 + (5 - quality) * 0.02));
-        if (newEfactor < 1.3) newEfactor = 1.3;
+        if (newEfactor < minEfactor) newEfactor = minEfactor;
 
         return SrsStats.builder()
                 .interval(newInterval)
@@ -37,4 +50,25 @@ public class SrsServiceImpl implements SrsService {
                 .nextReviewAt(LocalDateTime.now().plusDays(newInterval))
                 .build();
     }
+
+    @Override
+    public SrsStats reschedule(int interval, int repetition, double efactor, LocalDateTime nextReviewAt) {
+        double newEfactor = Math.max(minEfactor, efactor);
+
+        // Repetitions 1 and 2 map to the fixed first/second intervals; longer
+        // intervals were grown from reviews we no longer have, so they are kept.
+        int newInterval = switch (repetition) {
+            case 0, 1 -> firstInterval;
+            case 2 -> secondInterval;
+            default -> interval;
+        };
+
+        LocalDateTime lastReviewedAt = (nextReviewAt != null ? nextReviewAt : LocalDateTime.now()).minusDays(interval);
+        return SrsStats.builder()
+                .interval(newInterval)
+                .repetition(repetition)
+                .efactor(newEfactor)
+                .nextReviewAt(lastReviewedAt.plusDays(newInterval))
+                .build();
+    }
 }
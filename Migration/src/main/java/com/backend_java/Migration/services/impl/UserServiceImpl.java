@@ -4,65 +4,96 @@ import com.backend_java.Migration.dto.AuthResponse;
 import com.backend_java.Migration.models.User;
 import com.backend_java.Migration.repositories.UserRepository;
 import com.backend_java.Migration.services.JwtService;
+import com.backend_java.Migration.services.LeaderboardService;
+import com.backend_java.Migration.services.PasswordService;
 import com.backend_java.Migration.services.UserService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Sort;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class UserServiceImpl implements UserService {
+    static final int LEADERBOARD_SIZE = 50;
+
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordService passwordService;
     private final JwtService jwtService;
+    private final LeaderboardService leaderboardService;
+    private final MongoTemplate mongoTemplate;
+    private final Executor applicationTaskExecutor;
 
     @Override
-    public AuthResponse register(User user) {
+    public CompletableFuture<AuthResponse> register(User user) {
         if (userRepository.findByEmail(user.getEmail()).isPresent() || 
             userRepository.findByUsername(user.getUsername()).isPresent()) {
             throw new RuntimeException("User already exists with this email or username");
         }
         
-        // Secure password encryption
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
-        User savedUser = userRepository.save(user);
-        
-        // Generate token
-        String token = jwtService.generateToken(savedUser);
-        
-        return AuthResponse.builder()
-                .token(token)
-                .user(savedUser)
-                .build();
+        // Secure password encryption; the save and signing continue off the bounded hashing threads
+        return passwordService.encode(user.getPassword()).thenApplyAsync(hash -> {
+            user.setPassword(hash);
+            User savedUser = userRepository.save(user);
+            leaderboardService.track(savedUser.getId(), savedUser.getXp());
+
+            // Generate token
+            String token = jwtService.generateToken(savedUser);
+
+            return AuthResponse.builder()
+                    .token(token)
+                    .user(savedUser)
+                    .build();
+        }, applicationTaskExecutor);
     }
 
     @Override
-    public AuthResponse login(String email, String password) {
+    public CompletableFuture<AuthResponse> login(String email, String password) {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("Identity not found. Please register."));
         
         // Secure password verification
-        if (!passwordEncoder.matches(password, user.getPassword())) {
-            throw new RuntimeException("Security credentials invalid.");
-        }
+        return passwordService.matches(password, user.getPassword()).thenApplyAsync(valid -> {
+            if (!valid) {
+                throw new RuntimeException("Security credentials invalid.");
+            }
+
+            // Transparently re-hash with the current BCrypt cost; the login does not wait for it
+            if (passwordService.needsUpgrade(user.getPassword())) {
+                passwordService.encode(password)
+                        .thenAcceptAsync(hash -> userRepository.updatePassword(user.getId(), hash), applicationTaskExecutor)
+                        .whenComplete((ignored, e) -> {
+                            if (e != null) {
+                                log.warn("Password re-hash failed for user {}: {}", user.getId(), e.getMessage());
+                            }
+                        });
+            }
 
-        // Generate token
-        String token = jwtService.generateToken(user);
+            // Generate token
+            String token = jwtService.generateToken(user);
 
-        return AuthResponse.builder()
-                .token(token)
-                .user(user)
-                .build();
+            return AuthResponse.builder()
+                    .token(token)
+                    .user(user)
+                    .build();
+        }, applicationTaskExecutor);
     }
 
     @Override
@@ -92,9 +123,23 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public Map<String, Object> getLeaderboard(String currentUserId) {
-        // Fetch top 50 users sorted by XP
-        List<User> topUsers = userRepository.findAll(Sort.by(Sort.Direction.DESC, "xp"))
-                .stream().limit(50).toList();
+        // Order comes from the in-memory rank index; only the top rows are read from Mongo
+        List<String> topIds = leaderboardService.getTopUserIds(LEADERBOARD_SIZE);
+        Map<String, User> topById = mongoTemplate.find(leaderboardRowsQuery(topIds), User.class).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        Integer currentXp = leaderboardService.getUserXp(currentUserId);
+        if (currentXp == null) {
+            currentXp = getProfile(currentUserId).getXp();
+            leaderboardService.track(currentUserId, currentXp);
+        }
+        return leaderboardView(leaderboardService, topIds, topById, currentUserId, currentXp);
+    }
+
+    // Shared with ReactiveUserServiceImpl, which reads the same rows without blocking
+    static Map<String, Object> leaderboardView(LeaderboardService leaderboardService, List<String> topIds,
+                                               Map<String, User> topById, String currentUserId, int currentXp) {
+        List<User> topUsers = topIds.stream().map(topById::get).filter(Objects::nonNull).toList();
 
         List<Map<String, Object>> userList = topUsers.stream().map(u -> {
             Map<String, Object> map = new HashMap<>();
@@ -109,12 +154,8 @@ public class UserServiceImpl implements UserService {
         }).collect(Collectors.toList());
 
         // Ranking logic
-        User currentUser = getProfile(currentUserId);
-        long totalUsers = userRepository.count();
-        long countHigher = topUsers.stream().filter(u -> u.getXp() > currentUser.getXp()).count(); 
-        // Note: For real scale, this would be a repository count query
-        
-        long userRank = countHigher + 1;
+        long totalUsers = leaderboardService.getTotalUsers();
+        long userRank = leaderboardService.getRankForXp(currentXp);
         int percentile = (int) Math.max(1, Math.ceil(((double) userRank / totalUsers) * 100));
         String percentileString = (percentile > 50) ? "Bottom " + (100 - percentile) + "%" : "Top " + percentile + "%";
 
@@ -132,27 +173,109 @@ public class UserServiceImpl implements UserService {
     @Override
     public void updateXpAndStreak(String userId, int xpEarned) {
         User user = getProfile(userId);
-        user.setXp(user.getXp() + xpEarned);
+        LocalDateTime now = LocalDateTime.now();
+        userRepository.incrementXp(userId, xpEarned, nextStreak(user, now), now, user.getLastActiveAt());
+        leaderboardService.addXp(userId, xpEarned);
+    }
 
+    @Override
+    public RecordedAnswer recordAnswer(User user, boolean correct, int xpEarned,
+                                       List<User.ConceptMastery> updatedConcepts,
+                                       List<User.ConceptMastery> newConcepts) {
         LocalDateTime now = LocalDateTime.now();
-        LocalDateTime lastActive = user.getLastActiveAt();
-        
-        if (lastActive != null) {
-            long daysBetween = ChronoUnit.DAYS.between(lastActive.toLocalDate(), now.toLocalDate());
-            if (daysBetween == 1) {
-                user.setStreakCount(user.getStreakCount() + 1);
-            } else if (daysBetween > 1) {
-                user.setStreakCount(1);
+        Integer streak = correct ? nextStreak(user, now) : null;
+
+        boolean applied = userRepository.recordAnswer(user.getId(), new UserRepository.AnswerUpdate(xpEarned, streak,
+                correct ? now : null, user.getLastActiveAt(), updatedConcepts, asRead(user, updatedConcepts), newConcepts));
+        // $inc xp is never guarded
+        if (xpEarned != 0) {
+            leaderboardService.addXp(user.getId(), xpEarned);
+        }
+        List<User.ConceptMastery> written = written(updatedConcepts, newConcepts);
+        if (applied) {
+            return new RecordedAnswer(streak != null ? streak : user.getStreakCount(), written, List.of(), null);
+        }
+        return afterConflict(getProfile(user.getId()), written);
+    }
+
+    static Query leaderboardRowsQuery(List<String> topIds) {
+        Query topQuery = Query.query(Criteria.where("_id").in(topIds));
+        topQuery.fields().include("username", "xp", "streakCount", "collegeName");
+        return topQuery;
+    }
+
+    /**
+     * The stored entry each updated concept was computed from, which the repository guards its $set on.
+     */
+    static List<User.ConceptMastery> asRead(User user, List<User.ConceptMastery> updatedConcepts) {
+        Map<String, User.ConceptMastery> read = new HashMap<>();
+        for (User.ConceptMastery c : user.getConceptMastery()) {
+            read.putIfAbsent(c.getConcept(), c);
+        }
+        return updatedConcepts.stream().map(c -> read.get(c.getConcept())).toList();
+    }
+
+    static List<User.ConceptMastery> written(List<User.ConceptMastery> updatedConcepts,
+                                             List<User.ConceptMastery> newConcepts) {
+        List<User.ConceptMastery> written = new ArrayList<>(updatedConcepts);
+        written.addAll(newConcepts);
+        return written;
+    }
+
+    /**
+     * Sorts the written entries by whether the re-read user still holds them. Shared with ReactiveUserServiceImpl.
+     */
+    static RecordedAnswer afterConflict(User current, List<User.ConceptMastery> written) {
+        Map<String, User.ConceptMastery> stored = new HashMap<>();
+        for (User.ConceptMastery c : current.getConceptMastery()) {
+            stored.putIfAbsent(c.getConcept(), c);
+        }
+        List<User.ConceptMastery> concepts = new ArrayList<>();
+        List<String> conflicts = new ArrayList<>();
+        for (User.ConceptMastery mine : written) {
+            User.ConceptMastery now = stored.get(mine.getConcept());
+            if (now != null && sameEntry(now, mine)) {
+                concepts.add(mine);
+            } else {
+                conflicts.add(mine.getConcept());
+                if (now != null) concepts.add(now);
             }
-        } else {
-            user.setStreakCount(1);
         }
-        
-        user.setLastActiveAt(now);
-        userRepository.save(user);
+        return new RecordedAnswer(current.getStreakCount(), concepts, conflicts, current);
+    }
+
+    // Mongo keeps dates to the millisecond
+    private static boolean sameEntry(User.ConceptMastery stored, User.ConceptMastery written) {
+        return stored.getMasteryLevel() == written.getMasteryLevel()
+                && stored.getInterval() == written.getInterval()
+                && stored.getRepetition() == written.getRepetition()
+                && stored.getEfactor() == written.getEfactor()
+                && Objects.equals(truncated(stored.getNextReviewAt()), truncated(written.getNextReviewAt()));
+    }
+
+    private static LocalDateTime truncated(LocalDateTime time) {
+        return time != null ? time.truncatedTo(ChronoUnit.MILLIS) : null;
+    }
+
+    /**
+     * Streak after activity at {@code now}. Depends only on the stored lastActiveAt day, and is
+     * written only while lastActiveAt still has that value.
+     */
+    static int nextStreak(User user, LocalDateTime now) {
+        LocalDateTime lastActive = user.getLastActiveAt();
+        if (lastActive == null) {
+            return 1;
+        }
+        long daysBetween = ChronoUnit.DAYS.between(lastActive.toLocalDate(), now.toLocalDate());
+        if (daysBetween == 1) {
+            return user.getStreakCount() + 1;
+        } else if (daysBetween > 1) {
+            return 1;
+        }
+        return user.getStreakCount();
     }
 
-    private String calculateStatus(int xp) {
+    private static String calculateStatus(int xp) {
         if (xp >= 5000) return "PRO_LOGICIST";
         if (xp >= 1000) return "KERNEL_CONTRIBUTOR";
         return "JUNIOR_ARCHITECT";
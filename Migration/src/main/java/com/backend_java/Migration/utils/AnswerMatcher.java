@@ -0,0 +1,182 @@
+package com.backend_java.Migration.utils;
+
+import com.backend_java.Migration.models.Question;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A question's solution compiled once into the form answers are graded against.
+ * Grading gives exactly the result of the original per-request comparisons: MCQ by
+ * {@code String.valueOf}, fill-in-the-blank by C++ token stream, Parsons element-wise by
+ * {@code String.valueOf}.
+ */
+public sealed interface AnswerMatcher {
+
+    boolean matches(Object answer);
+
+    static AnswerMatcher compile(Question question) {
+        Question.QuestionType type = question.getType();
+        Object solution = question.getSolution();
+        if (type == Question.QuestionType.MCQ) {
+            return Choice.of(String.valueOf(solution));
+        } else if (type == Question.QuestionType.FILL_IN_BLANK) {
+            return solution instanceof String code ? Tokens.of(code) : new Uncompiled(question);
+        } else if (type == Question.QuestionType.PARSONS) {
+            return solution instanceof List<?> order ? Order.of(order) : Never.INSTANCE;
+        }
+        return Never.INSTANCE;
+    }
+
+    /**
+     * MCQ: the interned solution, plus its int value when it is a canonical option index.
+     */
+    record Choice(String expected, boolean hasIndex, int index) implements AnswerMatcher {
+
+        static Choice of(String expected) {
+            Integer index = canonicalInt(expected);
+            return new Choice(expected.intern(), index != null, index != null ? index : 0);
+        }
+
+        @Override
+        public boolean matches(Object answer) {
+            if (answer instanceof Integer option) {
+                return hasIndex && option == index;
+            }
+            if (answer instanceof String text) {
+                return expected.equals(text);
+            }
+            return expected.equals(String.valueOf(answer));
+        }
+    }
+
+    /**
+     * Fill-in-the-blank: the solution's token stream, compared against the answer as it is lexed.
+     */
+    record Tokens(String[] expected, int hash) implements AnswerMatcher {
+
+        static Tokens of(String solution) {
+            String[] tokens = CppValidator.tokenize(solution).toArray(String[]::new);
+            return new Tokens(tokens, Arrays.hashCode(tokens));
+        }
+
+        @Override
+        public boolean matches(Object answer) {
+            // Same ClassCastException as the original cast for a non-string answer
+            String code = (String) answer;
+            if (code == null) {
+                return false;
+            }
+            long token = CppLexer.next(code, 0);
+            for (String expectedToken : expected) {
+                if (token == CppLexer.NONE) {
+                    return false;
+                }
+                int start = CppLexer.start(token);
+                int end = CppLexer.end(token);
+                if (end - start != expectedToken.length() || !code.startsWith(expectedToken, start)) {
+                    return false;
+                }
+                token = CppLexer.next(code, end);
+            }
+            return token == CppLexer.NONE;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Tokens that && hash == that.hash && Arrays.equals(expected, that.expected);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public String toString() {
+            return "Tokens" + Arrays.toString(expected);
+        }
+    }
+
+    /**
+     * Parsons: the expected block order, as ints when every entry is a canonical index.
+     */
+    record Order(String[] expected, int[] indexes) implements AnswerMatcher {
+
+        static Order of(List<?> solution) {
+            String[] expected = new String[solution.size()];
+            int[] indexes = new int[solution.size()];
+            for (int i = 0; i < expected.length; i++) {
+                expected[i] = String.valueOf(solution.get(i));
+                Integer index = canonicalInt(expected[i]);
+                if (index == null) {
+                    indexes = null;
+                } else if (indexes != null) {
+                    indexes[i] = index;
+                }
+            }
+            return new Order(expected, indexes);
+        }
+
+        @Override
+        public boolean matches(Object answer) {
+            if (!(answer instanceof List<?> blocks) || blocks.size() != expected.length) {
+                return false;
+            }
+            for (int i = 0; i < expected.length; i++) {
+                Object block = blocks.get(i);
+                boolean same = indexes != null && block instanceof Integer index
+                        ? index == indexes[i]
+                        : expected[i].equals(String.valueOf(block));
+                if (!same) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Order that && Arrays.equals(expected, that.expected);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(expected);
+        }
+
+        @Override
+        public String toString() {
+            return "Order" + Arrays.toString(expected);
+        }
+    }
+
+    /**
+     * Malformed fill-in-the-blank solution: keep the original runtime behaviour.
+     */
+    record Uncompiled(Question question) implements AnswerMatcher {
+        @Override
+        public boolean matches(Object answer) {
+            return CppValidator.validateFillInBlank((String) answer, (String) question.getSolution());
+        }
+    }
+
+    enum Never implements AnswerMatcher {
+        INSTANCE;
+
+        @Override
+        public boolean matches(Object answer) {
+            return false;
+        }
+    }
+
+    private static Integer canonicalInt(String value) {
+        try {
+            int parsed = Integer.parseInt(value);
+            return Integer.toString(parsed).equals(value) ? parsed : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.backend_java.Migration.utils;
+
+/**
+ * Single-pass C++ tokenizer working on offsets into the source.
+ * <p>
+ * Reproduces the token stream of the original alternation regex exactly, including its quirks:
+ * characters that start no token are skipped, an unterminated (or escape-broken) quote is
+ * skipped and its contents tokenized as code, an escape cannot be followed by a line
+ * terminator, and the listed two-character operators win over single characters.
+ * <p>
+ * A token is packed into a {@code long} as {@code start << 32 | end} so scanning allocates nothing.
+ */
+public final class CppLexer {
+
+    /** Returned by {@link #next} when no token remains. */
+    public static final long NONE = -1L;
+
+    private CppLexer() {
+    }
+
+    /**
+     * Finds the first token starting at or after {@code from}.
+     */
+    public static long next(String source, int from) {
+        int length = source.length();
+        for (int i = from; i < length; i++) {
+            char c = source.charAt(i);
+            if (c == '"' || c == '\'') {
+                int end = quoted(source, i, c);
+                if (end >= 0) {
+                    return token(i, end);
+                }
+            } else if (isIdentifierStart(c)) {
+                int end = i + 1;
+                while (end < length && isWordChar(source.charAt(end))) {
+                    end++;
+                }
+                return token(i, end);
+            } else if (isDigit(c)) {
+                int end = i + 1;
+                while (end < length && isDigit(source.charAt(end))) {
+                    end++;
+                }
+                return token(i, end);
+            } else if (i + 1 < length && isTwoCharOperator(c, source.charAt(i + 1))) {
+                return token(i, i + 2);
+            } else if (isOperator(c)) {
+                return token(i, i + 1);
+            }
+        }
+        return NONE;
+    }
+
+    public static int start(long token) {
+        return (int) (token >>> 32);
+    }
+
+    public static int end(long token) {
+        return (int) token;
+    }
+
+    /**
+     * Compares the token streams of two sources, stopping at the first difference.
+     */
+    public static boolean sameTokens(String a, String b) {
+        int fromA = 0;
+        int fromB = 0;
+        while (true) {
+            long tokenA = next(a, fromA);
+            long tokenB = next(b, fromB);
+            if (tokenA == NONE || tokenB == NONE) {
+                return tokenA == tokenB;
+            }
+            int startA = start(tokenA);
+            int startB = start(tokenB);
+            fromA = end(tokenA);
+            fromB = end(tokenB);
+            int length = fromA - startA;
+            if (length != fromB - startB || !a.regionMatches(startA, b, startB, length)) {
+                return false;
+            }
+        }
+    }
+
+    private static long token(int start, int end) {
+        return (long) start << 32 | end;
+    }
+
+    /**
+     * End (exclusive) of the literal opened at {@code open}, or -1 if it never closes.
+     */
+    private static int quoted(String source, int open, char quote) {
+        int length = source.length();
+        int i = open + 1;
+        while (i < length) {
+            char c = source.charAt(i);
+            if (c == quote) {
+                return i + 1;
+            }
+            if (c == '\\') {
+                // The regex escape is \\. and '.' does not match line terminators
+                if (i + 1 == length || isLineTerminator(source.charAt(i + 1))) {
+                    return -1;
+                }
+                i += 2;
+            } else {
+                i++;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+
+    private static boolean isIdentifierStart(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '_';
+    }
+
+    private static boolean isWordChar(char c) {
+        return isIdentifierStart(c) || isDigit(c);
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isTwoCharOperator(char c, char n) {
+        return switch (c) {
+            case '<' -> n == '<' || n == '=';
+            case '>' -> n == '>' || n == '=';
+            case '+' -> n == '+';
+            case '-' -> n == '-' || n == '>';
+            case '=', '!' -> n == '=';
+            case '&' -> n == '&';
+            case '|' -> n == '|';
+            case ':' -> n == ':';
+            default -> false;
+        };
+    }
+
+    private static boolean isOperator(char c) {
+        return switch (c) {
+            case '+', '-', '*', '/', '%', '=', '&', '|', '!', '<', '>', ':', ';', ',', '.',
+                 '(', ')', '[', ']', '{', '}' -> true;
+            default -> false;
+        };
+    }
+}
@@ -2,31 +2,22 @@ package com.backend_java.Migration.utils;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 public class CppValidator {
     
-    // Updated Regex to include Scope Resolution (::) and more robust operators
-    private static final String TOKEN_REGEX = "\"(?:\\\\.|[^\"\\\\])*\"|'(?:\\\\.|[^'\\\\])*'|[a-zA-Z_]\\w*|[0-9]+|<<|>>|\\+\\+|--|==|!=|>=|<=|&&|\\|\\||->|::|[\\+\\-\\*\\/\\%=\\&\\|\\!<>:;,\\.\\(\\)\\[\\]\\{\\}]";
-    private static final Pattern PATTERN = Pattern.compile(TOKEN_REGEX);
-
     public static List<String> tokenize(String code) {
         if (code == null) return new ArrayList<>();
         List<String> tokens = new ArrayList<>();
-        Matcher matcher = PATTERN.matcher(code);
-        while (matcher.find()) {
-            tokens.add(matcher.group());
+        for (long token = CppLexer.next(code, 0); token != CppLexer.NONE; token = CppLexer.next(code, CppLexer.end(token))) {
+            tokens.add(code.substring(CppLexer.start(token), CppLexer.end(token)));
         }
         return tokens;
     }
 
     public static boolean validateFillInBlank(String userInput, String solution) {
         if (userInput == null || solution == null) return false;
-        List<String> userTokens = tokenize(userInput.trim());
-        List<String> solutionTokens = tokenize(solution.trim());
-        
-        return userTokens.equals(solutionTokens);
+        // No trim needed: whitespace around the input never forms or splits a token
+        return CppLexer.sameTokens(userInput, solution);
     }
 
     /**
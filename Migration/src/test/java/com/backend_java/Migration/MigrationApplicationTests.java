@@ -1,13 +1,29 @@
 package com.backend_java.Migration;
 
+import com.backend_java.Migration.repositories.reactive.ReactiveUserRepository;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 @SpringBootTest
 class MigrationApplicationTests {
 
+	@Autowired
+	private ApplicationContext context;
+
 	@Test
 	void contextLoads() {
 	}
 
+	@Test
+	void servletStackLeavesTheReactiveMongoClientOut() {
+		assertEquals(0, context.getBeanNamesForType(com.mongodb.reactivestreams.client.MongoClient.class).length);
+		assertEquals(0, context.getBeanNamesForType(ReactiveMongoTemplate.class).length);
+		assertEquals(0, context.getBeanNamesForType(ReactiveUserRepository.class).length);
+	}
+
 }
@@ -0,0 +1,61 @@
+package com.backend_java.Migration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.asm.ClassReader;
+import org.springframework.asm.ClassVisitor;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Virtual-thread readiness: a virtual thread that blocks inside a monitor pins its carrier
+ * thread (JDK 21). Our own code must use java.util.concurrent locks instead of synchronized.
+ */
+class PinningAuditTest {
+
+    @Test
+    void applicationCodeHasNoSynchronizedBlocksOrMethods() throws Exception {
+        Path classesRoot = Path.of(MigrationApplication.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        List<String> violations = new ArrayList<>();
+
+        try (Stream<Path> files = Files.walk(classesRoot)) {
+            for (Path file : files.filter(p -> p.toString().endsWith(".class")).toList()) {
+                scan(file, violations);
+            }
+        }
+
+        assertTrue(violations.isEmpty(), "Monitors pin virtual threads, use ReentrantLock instead: " + violations);
+    }
+
+    private static void scan(Path classFile, List<String> violations) throws IOException {
+        try (InputStream in = Files.newInputStream(classFile)) {
+            ClassReader reader = new ClassReader(in);
+            String className = reader.getClassName().replace('/', '.');
+            reader.accept(new ClassVisitor(Opcodes.ASM9) {
+                @Override
+                public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions) {
+                    if ((access & Opcodes.ACC_SYNCHRONIZED) != 0) {
+                        violations.add(className + "#" + name + " (synchronized method)");
+                    }
+                    return new MethodVisitor(Opcodes.ASM9) {
+                        @Override
+                        public void visitInsn(int opcode) {
+                            if (opcode == Opcodes.MONITORENTER) {
+                                violations.add(className + "#" + name + " (synchronized block)");
+                            }
+                        }
+                    };
+                }
+            }, ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+        }
+    }
+}
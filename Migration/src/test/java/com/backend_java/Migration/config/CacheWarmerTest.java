@@ -0,0 +1,85 @@
+package com.backend_java.Migration.config;
+
+import com.backend_java.Migration.services.AttemptService;
+import com.backend_java.Migration.services.CatalogService;
+import com.backend_java.Migration.services.LeaderboardService;
+import com.backend_java.Migration.services.SearchService;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CacheWarmerTest {
+
+    @Test
+    void failedCatalogLoadIsRetriedUntilItSucceeds() {
+        CatalogService catalogService = mock(CatalogService.class);
+        SearchService searchService = mock(SearchService.class);
+        LeaderboardService leaderboardService = mock(LeaderboardService.class);
+        doThrow(new DataAccessResourceFailureException("Mongo is down"))
+                .doThrow(new DataAccessResourceFailureException("Mongo is down"))
+                .doNothing()
+                .when(catalogService).reload();
+        doNothing().when(searchService).rebuild();
+
+        CacheWarmer warmer = warmer(catalogService, leaderboardService, searchService, mock(MongoTemplate.class));
+        ReflectionTestUtils.setField(warmer, "refreshInterval", Duration.ZERO);
+        try {
+            warmer.run();
+
+            // The rest of the warm-up does not wait for the catalog
+            verify(leaderboardService).rebuild();
+            verify(catalogService, timeout(5_000).times(3)).reload();
+            verify(searchService, timeout(5_000)).rebuild();
+            verify(catalogService, times(3)).reload();
+        } finally {
+            warmer.destroy();
+        }
+    }
+
+    @Test
+    void catalogIsReloadedWhenAnotherInstanceSeedsNewContent() throws Exception {
+        CatalogService catalogService = mock(CatalogService.class);
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        AtomicLong contentVersion = new AtomicLong(3);
+        when(mongoTemplate.findById("catalog", Document.class, "content_versions"))
+                .thenAnswer(invocation -> new Document("version", contentVersion.get()));
+
+        CacheWarmer warmer = warmer(catalogService, mock(LeaderboardService.class), mock(SearchService.class), mongoTemplate);
+        ReflectionTestUtils.setField(warmer, "refreshInterval", Duration.ofMillis(10));
+        try {
+            warmer.run();
+            verify(catalogService).reload();
+            verify(mongoTemplate, timeout(5_000).atLeast(3)).findById("catalog", Document.class, "content_versions");
+            verify(catalogService).reload();
+
+            contentVersion.set(4);
+            verify(catalogService, timeout(5_000).times(2)).reload();
+            Thread.sleep(50);
+            verify(catalogService, times(2)).reload();
+        } finally {
+            warmer.destroy();
+        }
+    }
+
+    private static CacheWarmer warmer(CatalogService catalogService, LeaderboardService leaderboardService,
+                                      SearchService searchService, MongoTemplate mongoTemplate) {
+        CacheWarmer warmer = new CacheWarmer(catalogService, leaderboardService, mock(AttemptService.class),
+                searchService, mongoTemplate);
+        ReflectionTestUtils.setField(warmer, "initialBackoff", Duration.ofMillis(10));
+        ReflectionTestUtils.setField(warmer, "maxBackoff", Duration.ofMillis(20));
+        return warmer;
+    }
+}
@@ -0,0 +1,135 @@
+package com.backend_java.Migration.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.context.request.ServletWebRequest;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ContentCachingTest {
+
+    private static final String ETAG = "0123456789abcdef";
+
+    private ContentCaching contentCaching;
+    private AtomicInteger rendered;
+    private Supplier<Object> body;
+
+    @BeforeEach
+    void setUp() {
+        contentCaching = new ContentCaching(new ObjectMapper(), Caffeine.newBuilder().build(), Duration.ofSeconds(60), false);
+        rendered = new AtomicInteger();
+        // Long enough that gzip pays off
+        body = () -> {
+            rendered.incrementAndGet();
+            return Map.of("content", "int main() { return 0; } ".repeat(40));
+        };
+    }
+
+    @Test
+    void revalidationWithTheETagIsAnsweredWithoutRenderingAgain() {
+        ResponseEntity<byte[]> first = respond(Map.of());
+        assertEquals(HttpStatus.OK, first.getStatusCode());
+        assertEquals("\"" + ETAG + "\"", first.getHeaders().getETag());
+        assertEquals("max-age=60, private", first.getHeaders().getCacheControl());
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, first.getHeaders().getVary().getFirst());
+
+        ResponseEntity<byte[]> revalidated = respond(Map.of(HttpHeaders.IF_NONE_MATCH, "\"" + ETAG + "\""));
+        assertEquals(HttpStatus.NOT_MODIFIED, revalidated.getStatusCode());
+        assertEquals("\"" + ETAG + "\"", revalidated.getHeaders().getETag());
+        assertEquals("max-age=60, private", revalidated.getHeaders().getCacheControl());
+        assertNull(revalidated.getBody());
+        assertEquals(1, rendered.get());
+
+        assertEquals(HttpStatus.OK, respond(Map.of(HttpHeaders.IF_NONE_MATCH, "\"stale\"")).getStatusCode());
+        assertEquals(1, rendered.get());
+    }
+
+    @Test
+    void gzipRepresentationHasItsOwnETag() throws Exception {
+        ResponseEntity<byte[]> identity = respond(Map.of());
+        ResponseEntity<byte[]> gzipped = respond(Map.of(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"));
+
+        assertEquals("gzip", gzipped.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("\"" + ETAG + "-gzip\"", gzipped.getHeaders().getETag());
+        assertTrue(gzipped.getBody().length < identity.getBody().length);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped.getBody()))) {
+            assertArrayEquals(identity.getBody(), in.readAllBytes());
+        }
+
+        ResponseEntity<byte[]> revalidated = respond(Map.of(
+                HttpHeaders.ACCEPT_ENCODING, "gzip", HttpHeaders.IF_NONE_MATCH, "\"" + ETAG + "-gzip\""));
+        assertEquals(HttpStatus.NOT_MODIFIED, revalidated.getStatusCode());
+        // The identity ETag does not validate the gzip representation
+        assertEquals(HttpStatus.OK, respond(Map.of(
+                HttpHeaders.ACCEPT_ENCODING, "gzip", HttpHeaders.IF_NONE_MATCH, "\"" + ETAG + "\"")).getStatusCode());
+        assertEquals(1, rendered.get());
+    }
+
+    @Test
+    void revalidationOnAColdCacheNeverRenders() {
+        for (String encoding : List.of("identity", "gzip")) {
+            String etag = "\"" + ETAG + (encoding.equals("gzip") ? "-gzip" : "") + "\"";
+            ResponseEntity<byte[]> revalidated = respond(Map.of(
+                    HttpHeaders.ACCEPT_ENCODING, encoding, HttpHeaders.IF_NONE_MATCH, etag));
+            assertEquals(HttpStatus.NOT_MODIFIED, revalidated.getStatusCode(), encoding);
+            assertEquals(etag, revalidated.getHeaders().getETag());
+
+            MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/curriculum/intro")
+                    .header(HttpHeaders.ACCEPT_ENCODING, encoding)
+                    .header(HttpHeaders.IF_NONE_MATCH, etag));
+            ResponseEntity<byte[]> reactive = contentCaching.respond(exchange, ETAG, () -> Mono.fromSupplier(body)).block();
+            assertEquals(HttpStatus.NOT_MODIFIED, reactive.getStatusCode(), encoding);
+        }
+        assertEquals(0, rendered.get());
+    }
+
+    @Test
+    void gzipClientsKeepTheirETagWhenTheBodyIsTooSmallToCompress() {
+        body = () -> {
+            rendered.incrementAndGet();
+            return Map.of("id", 1);
+        };
+        ResponseEntity<byte[]> small = respond(Map.of(HttpHeaders.ACCEPT_ENCODING, "gzip"));
+        assertEquals("\"" + ETAG + "-gzip\"", small.getHeaders().getETag());
+        assertNull(small.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("{\"id\":1}", new String(small.getBody(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void acceptEncodingHonoursQualityZero() {
+        assertTrue(ContentCaching.acceptsGzip("deflate, GZIP"));
+        assertTrue(ContentCaching.acceptsGzip("gzip;q=0.5"));
+        assertFalse(ContentCaching.acceptsGzip("gzip;q=0"));
+        assertFalse(ContentCaching.acceptsGzip("br, deflate"));
+        assertFalse(ContentCaching.acceptsGzip(null));
+    }
+
+    private ResponseEntity<byte[]> respond(Map<String, String> headers) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/curriculum/intro");
+        headers.forEach(request::addHeader);
+        return contentCaching.respond(new ServletWebRequest(request, new MockHttpServletResponse()), ETAG, body);
+    }
+}
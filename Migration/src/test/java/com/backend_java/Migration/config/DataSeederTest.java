@@ -0,0 +1,102 @@
+package com.backend_java.Migration.config;
+
+import com.backend_java.Migration.models.Lesson;
+import com.backend_java.Migration.models.Question;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DataSeederTest {
+
+    private MongoServer server;
+    private MongoClient client;
+    private MongoTemplate mongoTemplate;
+    private DataSeeder seeder;
+
+    @BeforeEach
+    void setUp() {
+        server = new MongoServer(new MemoryBackend());
+        InetSocketAddress address = server.bind();
+        client = MongoClients.create("mongodb://" + address.getHostString() + ":" + address.getPort());
+        mongoTemplate = new MongoTemplate(client, "seed");
+        // Small batches so lessons and their questions span several bulk writes
+        seeder = new DataSeeder(mongoTemplate, new ObjectMapper(), 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+        server.shutdown();
+    }
+
+    @Test
+    void reseedWritesOnlyChangedLessonsAndKeepsQuestionIds() throws Exception {
+        DataSeeder.Tally cold = seeder.seedCurriculum();
+        int lessons = cold.inserted;
+        long questions = mongoTemplate.count(new Query(), Question.class);
+        assertTrue(lessons > 4, "curriculum should span several batches");
+        assertEquals(questions, cold.questions);
+
+        DataSeeder.Tally warm = seeder.seedCurriculum();
+        assertEquals(lessons, warm.unchanged);
+        assertEquals(0, warm.questions);
+
+        List<Lesson> stored = mongoTemplate.find(new Query().with(Sort.by("order")), Lesson.class);
+        Lesson edited = stored.get(0);
+        Lesson moved = stored.get(1);
+        List<Question> before = questionsOf(edited);
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(edited.getId())),
+                new Update().set("contentHash", "outdated"), Lesson.class);
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(before.get(0).getId())),
+                new Update().set("prompt", "edited by hand"), Question.class);
+        mongoTemplate.remove(Query.query(Criteria.where("_id").is(before.get(before.size() - 1).getId())), Question.class);
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(moved.getId())),
+                new Update().set("order", 999), Lesson.class);
+
+        DataSeeder.Tally rollout = seeder.seedCurriculum();
+        assertEquals(1, rollout.updated);
+        assertEquals(1, rollout.reordered);
+        assertEquals(lessons - 2, rollout.unchanged);
+
+        List<Question> after = questionsOf(edited);
+        assertEquals(before.size(), after.size());
+        assertEquals(before.get(0).getId(), after.get(0).getId());
+        assertEquals(before.get(0).getPrompt(), after.get(0).getPrompt());
+        assertEquals(questions, mongoTemplate.count(new Query(), Question.class));
+        assertEquals(1, mongoTemplate.findById(moved.getId(), Lesson.class).getOrder());
+    }
+
+    @Test
+    void onlyRunsThatWriteContentBumpTheContentVersion() {
+        assertEquals(0, DataSeeder.contentVersion(mongoTemplate));
+        seeder.run();
+        assertEquals(1, DataSeeder.contentVersion(mongoTemplate));
+        seeder.run();
+        assertEquals(1, DataSeeder.contentVersion(mongoTemplate));
+
+        mongoTemplate.updateFirst(new Query(), new Update().set("contentHash", "outdated"), Lesson.class);
+        seeder.run();
+        assertEquals(2, DataSeeder.contentVersion(mongoTemplate));
+    }
+
+    private List<Question> questionsOf(Lesson lesson) {
+        return mongoTemplate.find(Query.query(Criteria.where("lessonId").is(lesson.getId())).with(Sort.by("_id")),
+                Question.class);
+    }
+}
@@ -0,0 +1,55 @@
+package com.backend_java.Migration.config;
+
+import com.backend_java.Migration.models.Progress;
+import com.backend_java.Migration.models.Question;
+import com.backend_java.Migration.models.User;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IndexManagerTest {
+
+    private MongoServer server;
+    private MongoClient client;
+    private MongoTemplate mongoTemplate;
+    private MongoMappingContext mappingContext;
+
+    @BeforeEach
+    void setUp() {
+        server = new MongoServer(new MemoryBackend());
+        InetSocketAddress address = server.bind();
+        client = MongoClients.create("mongodb://" + address.getHostString() + ":" + address.getPort());
+        mongoTemplate = new MongoTemplate(client, "indexes");
+        mappingContext = (MongoMappingContext) mongoTemplate.getConverter().getMappingContext();
+        List.of(User.class, Question.class, Progress.class).forEach(mappingContext::getRequiredPersistentEntity);
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+        server.shutdown();
+    }
+
+    @Test
+    void verifyOnlyReportsMissingIndexesUntilTheyAreCreated() {
+        List<String> missing = new IndexManager(mongoTemplate, mappingContext, false).ensureIndexes();
+        assertTrue(missing.contains("users {\"xp\": -1}"), missing::toString);
+        assertTrue(missing.contains("questions {\"lessonId\": 1}"), missing::toString);
+        assertTrue(missing.contains("progress {\"userId\": 1, \"lessonId\": 1}"), missing::toString);
+
+        assertEquals(List.of(), new IndexManager(mongoTemplate, mappingContext, true).ensureIndexes());
+        assertEquals(List.of(), new IndexManager(mongoTemplate, mappingContext, false).ensureIndexes());
+    }
+}
@@ -0,0 +1,130 @@
+package com.backend_java.Migration.config;
+
+import com.backend_java.Migration.models.Lesson;
+import com.backend_java.Migration.models.Question;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.net.InetSocketAddress;
+import java.util.Map;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Walks a learner through the hot endpoints with budgets pinned to today's Mongo round-trips and
+ * {@code enforce} on, so an added query on any of them fails the build. The default budget is 0:
+ * an endpoint this test starts calling needs a pinned budget too.
+ */
+@SpringBootTest(properties = {
+        "app.query-budget.enforce=true",
+        "app.query-budget.debug-header=true",
+        "app.query-budget.default=0",
+        "app.query-budget.endpoints="
+                + "POST /api/auth/register=2,"
+                + "POST /api/auth/login=1,"
+                + "GET /api/auth/profile=1,"
+                + "GET /api/curriculum=1,"
+                + "GET /api/curriculum/{slug}=0,"
+                + "POST /api/progress/validate=3,"
+                + "POST /api/progress/complete-lesson=4,"
+                + "GET /api/progress/review-session=1,"
+                + "GET /api/leaderboard=1,"
+                + "GET /api/problems=0,"
+                + "GET /api/problems/{slug}=0,"
+                + "GET /api/search=0",
+        "app.security.bcrypt-strength=4"
+})
+@AutoConfigureMockMvc
+class QueryBudgetTest {
+
+    private static final MongoServer SERVER = new MongoServer(new MemoryBackend());
+    private static final InetSocketAddress ADDRESS = SERVER.bind();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @DynamicPropertySource
+    static void mongo(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri",
+                () -> "mongodb://" + ADDRESS.getHostString() + ":" + ADDRESS.getPort() + "/query-budget");
+    }
+
+    @AfterAll
+    static void stopServer() {
+        SERVER.shutdown();
+    }
+
+    @Test
+    void hotEndpointsStayWithinTheirQueryBudgets() throws Exception {
+        Map<String, String> credentials = Map.of(
+                "username", "budget", "email", "budget@example.com", "password", "budget-password");
+        completeAsync(post("/api/auth/register").contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(credentials)));
+        JsonNode login = completeAsync(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of(
+                        "email", credentials.get("email"), "password", credentials.get("password")))));
+        String bearer = "Bearer " + login.path("data").path("token").asText();
+
+        Lesson lesson = mongoTemplate.find(new Query().with(Sort.by("order")).limit(1), Lesson.class).getFirst();
+        Question question = mongoTemplate.findOne(
+                Query.query(Criteria.where("lessonId").is(lesson.getId())), Question.class);
+
+        perform(get("/api/auth/profile").header("Authorization", bearer));
+        perform(get("/api/curriculum").header("Authorization", bearer));
+        perform(get("/api/curriculum/" + lesson.getSlug()).header("Authorization", bearer));
+        for (Object answer : new Object[]{"not the answer", question.getSolution()}) {
+            perform(post("/api/progress/validate").header("Authorization", bearer)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(Map.of("questionId", question.getId(), "answer", answer))));
+        }
+        perform(post("/api/progress/complete-lesson").header("Authorization", bearer)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("lessonId", lesson.getId(), "score", 90))));
+        perform(get("/api/progress/review-session").header("Authorization", bearer));
+        perform(get("/api/leaderboard").header("Authorization", bearer));
+        perform(get("/api/problems").header("Authorization", bearer));
+        perform(get("/api/problems").header("Authorization", bearer).param("tags", "Arrays").param("limit", "5"));
+        perform(get("/api/problems/two-sum").header("Authorization", bearer));
+        perform(get("/api/search").header("Authorization", bearer).param("q", "two su"));
+    }
+
+    private void perform(MockHttpServletRequestBuilder request) throws Exception {
+        mockMvc.perform(request).andExpect(status().isOk()).andExpect(header().exists(QueryBudget.HEADER));
+    }
+
+    private JsonNode completeAsync(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult started = mockMvc.perform(request).andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(QueryBudget.HEADER))
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
+}
@@ -0,0 +1,252 @@
+package com.backend_java.Migration.loadtest;
+
+import com.backend_java.Migration.MigrationApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Boots the API once per execution mode (MVC on platform threads, MVC on virtual threads, WebFlux
+ * with reactive Mongo) and drives the same closed-loop load
+ * against POST /api/progress/validate and GET /api/curriculum, then prints throughput and latency
+ * percentiles side by side. Not a JUnit test; run it explicitly:
+ *
+ *   mvn test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=com.backend_java.Migration.loadtest.ExecutionModeLoadComparison \
+ *       -Dloadtest.concurrency=400 -Dloadtest.duration=20
+ *
+ * Without -Dmongo.uri it starts an in-memory MongoDB (mongo-java-server), which hides real
+ * database latency; point it at a real mongod for representative numbers.
+ */
+public class ExecutionModeLoadComparison {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 400);
+    private static final int DURATION_SECONDS = Integer.getInteger("loadtest.duration", 20);
+    private static final int WARMUP_SECONDS = Integer.getInteger("loadtest.warmup", 5);
+    private static final int USERS = Integer.getInteger("loadtest.users", 50);
+    private static final int TOMCAT_THREADS = Integer.getInteger("loadtest.tomcatThreads", 200);
+    private static final String MODES = System.getProperty("loadtest.modes", "platform,virtual,reactive");
+
+    public static void main(String[] args) throws Exception {
+        String mongoUri = System.getProperty("mongo.uri");
+        MongoServer inMemory = null;
+        if (mongoUri == null) {
+            inMemory = new MongoServer(new MemoryBackend());
+            InetSocketAddress address = inMemory.bind();
+            // Pre-open the pool and bound every wait: with a burst of virtual threads on a small machine the
+            // driver can otherwise stall opening connections, which would measure the pool, not the app.
+            mongoUri = "mongodb://" + address.getHostString() + ":" + address.getPort()
+                    + "/loadtest?socketTimeoutMS=10000&minPoolSize=20&waitQueueTimeoutMS=10000";
+        }
+
+        List<String> report = new ArrayList<>();
+        report.add(String.format("%-9s %-28s %9s %9s %8s %8s %9s %7s",
+                "mode", "endpoint", "requests", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "errors"));
+        try {
+            for (String mode : MODES.split(",")) {
+                report.addAll(runMode(mode.trim(), mongoUri));
+            }
+        } finally {
+            if (inMemory != null) inMemory.shutdown();
+        }
+
+        System.out.printf("%nconcurrency=%d duration=%ds tomcatThreads=%d users=%d%n",
+                CONCURRENCY, DURATION_SECONDS, TOMCAT_THREADS, USERS);
+        report.forEach(System.out::println);
+    }
+
+    private static List<String> runMode(String mode, String mongoUri) throws Exception {
+        // Passed as command-line args so they override application.properties on the test classpath.
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(MigrationApplication.class)
+                .run("--server.port=0",
+                        "--spring.data.mongodb.uri=" + mongoUri,
+                        "--spring.threads.virtual.enabled=" + mode.equals("virtual"),
+                        "--spring.main.web-application-type=" + (mode.equals("reactive") ? "reactive" : "servlet"),
+                        "--server.tomcat.threads.max=" + TOMCAT_THREADS,
+                        "--app.security.bcrypt-strength=4",
+                        "--logging.level.com.backend_java.Migration=WARN");
+        try {
+            String base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            HttpClient http = HttpClient.newBuilder()
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            Fixture fixture = Fixture.create(http, base, mode);
+
+            drive(http, base, fixture, WARMUP_SECONDS);
+            Recorder[] results = drive(http, base, fixture, DURATION_SECONDS);
+
+            List<String> rows = new ArrayList<>();
+            for (Recorder r : results) {
+                rows.add(r.summary(mode, DURATION_SECONDS));
+            }
+            return rows;
+        } finally {
+            context.close();
+        }
+    }
+
+    private static Recorder[] drive(HttpClient http, String base, Fixture fixture, int seconds) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        List<Future<Recorder[]>> workers = new ArrayList<>();
+        Duration timeout = Duration.ofSeconds(30);
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int w = 0; w < CONCURRENCY; w++) {
+                int worker = w;
+                workers.add(clients.submit(() -> {
+                    Recorder validate = new Recorder("POST /api/progress/validate");
+                    Recorder curriculum = new Recorder("GET /api/curriculum");
+                    String token = fixture.tokens.get(worker % fixture.tokens.size());
+                    int i = 0;
+                    while (System.nanoTime() < deadline) {
+                        if ((i++ & 1) == 0) {
+                            String questionId = fixture.questionIds.get(i % fixture.questionIds.size());
+                            String body = "{\"questionId\":\"" + questionId + "\",\"answer\":\"0\"}";
+                            validate.time(() -> http.send(HttpRequest.newBuilder(URI.create(base + "/api/progress/validate"))
+                                    .timeout(timeout)
+                                    .header("Authorization", "Bearer " + token)
+                                    .header("Content-Type", "application/json")
+                                    .POST(HttpRequest.BodyPublishers.ofString(body)).build(),
+                                    HttpResponse.BodyHandlers.discarding()).statusCode());
+                        } else {
+                            curriculum.time(() -> http.send(HttpRequest.newBuilder(URI.create(base + "/api/curriculum"))
+                                    .timeout(timeout)
+                                    .header("Authorization", "Bearer " + token)
+                                    .GET().build(),
+                                    HttpResponse.BodyHandlers.discarding()).statusCode());
+                        }
+                    }
+                    return new Recorder[]{validate, curriculum};
+                }));
+            }
+        }
+        Recorder validate = new Recorder("POST /api/progress/validate");
+        Recorder curriculum = new Recorder("GET /api/curriculum");
+        for (Future<Recorder[]> f : workers) {
+            Recorder[] r = f.get();
+            validate.merge(r[0]);
+            curriculum.merge(r[1]);
+        }
+        return new Recorder[]{validate, curriculum};
+    }
+
+    /**
+     * Registered users and the question ids the workers answer.
+     */
+    private record Fixture(List<String> tokens, List<String> questionIds) {
+
+        static Fixture create(HttpClient http, String base, String mode) throws Exception {
+            List<String> tokens = new ArrayList<>();
+            String run = mode + "-" + System.nanoTime();
+            for (int u = 0; u < USERS; u++) {
+                String body = JSON.writeValueAsString(Map.of(
+                        "username", "load-" + run + "-" + u,
+                        "email", "load-" + run + "-" + u + "@example.com",
+                        "password", "load-test-password"));
+                JsonNode auth = post(http, base + "/api/auth/register", null, body);
+                tokens.add(auth.path("data").path("token").asText());
+            }
+
+            JsonNode lessons = get(http, base + "/api/curriculum", tokens.get(0)).path("data");
+            List<String> questionIds = new ArrayList<>();
+            for (JsonNode lesson : lessons) {
+                JsonNode detail = get(http, base + "/api/curriculum/" + lesson.path("slug").asText(), tokens.get(0));
+                detail.path("data").path("questions").forEach(q -> questionIds.add(q.path("id").asText()));
+                if (questionIds.size() >= 20) break;
+            }
+            if (questionIds.isEmpty()) {
+                throw new IllegalStateException("No questions found; is the curriculum seeded?");
+            }
+            return new Fixture(tokens, questionIds);
+        }
+
+        private static JsonNode get(HttpClient http, String url, String token) throws Exception {
+            HttpResponse<String> response = http.send(HttpRequest.newBuilder(URI.create(url))
+                    .header("Authorization", "Bearer " + token).GET().build(), HttpResponse.BodyHandlers.ofString());
+            return JSON.readTree(response.body());
+        }
+
+        private static JsonNode post(HttpClient http, String url, String token, String body) throws Exception {
+            HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body));
+            if (token != null) request.header("Authorization", "Bearer " + token);
+            HttpResponse<String> response = http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException(url + " -> " + response.statusCode() + ": " + response.body());
+            }
+            return JSON.readTree(response.body());
+        }
+    }
+
+    /**
+     * Single-threaded latency recorder; one per worker, merged at the end.
+     */
+    private static final class Recorder {
+        private final String name;
+        private long[] latencies = new long[1024];
+        private int count;
+        private int errors;
+
+        Recorder(String name) {
+            this.name = name;
+        }
+
+        interface Call {
+            int status() throws Exception;
+        }
+
+        void time(Call call) {
+            long start = System.nanoTime();
+            try {
+                if (call.status() != 200) errors++;
+            } catch (Exception e) {
+                errors++;
+            }
+            if (count == latencies.length) latencies = Arrays.copyOf(latencies, count * 2);
+            latencies[count++] = System.nanoTime() - start;
+        }
+
+        void merge(Recorder other) {
+            if (count + other.count > latencies.length) {
+                latencies = Arrays.copyOf(latencies, count + other.count);
+            }
+            System.arraycopy(other.latencies, 0, latencies, count, other.count);
+            count += other.count;
+            errors += other.errors;
+        }
+
+        String summary(String mode, int seconds) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return String.format("%-9s %-28s %9d %9.0f %8.2f %8.2f %9.2f %7d",
+                    mode, name, count, count / (double) seconds,
+                    percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 0.999), errors);
+        }
+
+        private static double percentile(long[] sorted, double p) {
+            if (sorted.length == 0) return 0;
+            int index = (int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1);
+            return sorted[Math.max(0, index)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,430 @@
+package com.backend_java.Migration.loadtest;
+
+import com.backend_java.Migration.MigrationApplication;
+import com.backend_java.Migration.models.Lesson;
+import com.backend_java.Migration.models.Question;
+import com.backend_java.Migration.services.LeaderboardService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.File;
+import java.io.PrintStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Boots the API over a synthetic population (see {@link SyntheticPopulation}) and drives a mixed
+ * workload through the real controllers, the way the web client uses them: a session logs in as a
+ * random learner, loads the curriculum to find its current lesson, then mixes lesson fetches,
+ * answers (about 70% correct), lesson completions (which advance the session) and leaderboard
+ * views. Prints per-endpoint throughput and p50/p90/p99/p99.9/max latency from HdrHistograms.
+ * Not a JUnit test; run it explicitly:
+ *
+ *   mvn test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=com.backend_java.Migration.loadtest.MixedWorkloadLoadHarness \
+ *       -Dloadtest.population=20000 -Dloadtest.concurrency=200 -Dloadtest.duration=60
+ *
+ * Options (-D):
+ *   loadtest.population  synthetic users (default 20000; use a real mongod for 1M)
+ *   loadtest.seed        population and workload seed (default 42)
+ *   loadtest.mode        platform | virtual | reactive (default virtual)
+ *   loadtest.concurrency concurrent sessions (default 200)
+ *   loadtest.rate        total requests/s for an open-loop run; latency is then measured from each
+ *                        request's intended start, so server stalls are not hidden (coordinated
+ *                        omission). 0 (default) runs closed-loop as fast as responses come back.
+ *   loadtest.mix         endpoint weights (default login=5,curriculum=25,lesson=20,validate=35,complete=5,leaderboard=10)
+ *   loadtest.output      directory for one .hgrm percentile file per endpoint (values in ms)
+ *   mongo.uri            real MongoDB; without it an in-memory mongo-java-server is started
+ *
+ * The population is written once and reused while (population, seed) match, so repeated runs
+ * against a real mongod start quickly. Indexes are whatever the application itself creates.
+ */
+public class MixedWorkloadLoadHarness {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private static final int POPULATION = Integer.getInteger("loadtest.population", 20_000);
+    private static final long SEED = Long.getLong("loadtest.seed", 42);
+    private static final String MODE = System.getProperty("loadtest.mode", "virtual");
+    private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 200);
+    private static final int DURATION_SECONDS = Integer.getInteger("loadtest.duration", 30);
+    private static final int WARMUP_SECONDS = Integer.getInteger("loadtest.warmup", 10);
+    private static final int RATE = Integer.getInteger("loadtest.rate", 0);
+    private static final String MIX = System.getProperty("loadtest.mix",
+            "login=5,curriculum=25,lesson=20,validate=35,complete=5,leaderboard=10");
+    private static final String OUTPUT = System.getProperty("loadtest.output");
+    private static final double CORRECT_RATE = 0.7;
+
+    private enum Endpoint {
+        LOGIN("login", "POST /api/auth/login"),
+        CURRICULUM("curriculum", "GET /api/curriculum"),
+        LESSON("lesson", "GET /api/curriculum/{slug}"),
+        VALIDATE("validate", "POST /api/progress/validate"),
+        COMPLETE("complete", "POST /api/progress/complete-lesson"),
+        LEADERBOARD("leaderboard", "GET /api/leaderboard");
+
+        final String key;
+        final String route;
+
+        Endpoint(String key, String route) {
+            this.key = key;
+            this.route = route;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        String mongoUri = System.getProperty("mongo.uri");
+        MongoServer inMemory = null;
+        if (mongoUri == null) {
+            inMemory = new MongoServer(new MemoryBackend());
+            InetSocketAddress address = inMemory.bind();
+            mongoUri = "mongodb://" + address.getHostString() + ":" + address.getPort()
+                    + "/loadtest?socketTimeoutMS=10000&minPoolSize=20&waitQueueTimeoutMS=10000";
+        }
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(MigrationApplication.class)
+                .run("--server.port=0",
+                        "--spring.data.mongodb.uri=" + mongoUri,
+                        "--spring.threads.virtual.enabled=" + MODE.equals("virtual"),
+                        "--spring.main.web-application-type=" + (MODE.equals("reactive") ? "reactive" : "servlet"),
+                        "--app.security.bcrypt-strength=4",
+                        "--logging.level.com.backend_java.Migration=WARN");
+        try {
+            // DataSeeder has seeded the curriculum by now; learners go in next, then the rank index is reloaded
+            long start = System.nanoTime();
+            SyntheticPopulation population = new SyntheticPopulation(context.getBean(MongoTemplate.class), POPULATION, SEED);
+            if (population.ensure(context.getBean(PasswordEncoder.class).encode(SyntheticPopulation.PASSWORD))) {
+                System.out.printf("Generated %d users in %.1fs%n", POPULATION, (System.nanoTime() - start) / 1e9);
+                context.getBean(LeaderboardService.class).rebuild();
+            }
+
+            String base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            HttpClient http = HttpClient.newBuilder()
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            Fixture fixture = Fixture.create(context.getBean(MongoTemplate.class));
+
+            drive(http, base, fixture, WARMUP_SECONDS);
+            Recorder[] results = drive(http, base, fixture, DURATION_SECONDS);
+            report(results);
+        } finally {
+            context.close();
+            if (inMemory != null) inMemory.shutdown();
+        }
+        // The Mongo driver's Netty event loops are non-daemon and outlive the context; don't let exec:java wait on them
+        System.exit(0);
+    }
+
+    private static Recorder[] drive(HttpClient http, String base, Fixture fixture, int seconds) throws Exception {
+        long begin = System.nanoTime();
+        long deadline = begin + Duration.ofSeconds(seconds).toNanos();
+        // Open loop: each session issues a request every interval, whether or not the last one was fast
+        long interval = RATE > 0 ? (long) (CONCURRENCY * 1e9 / RATE) : 0;
+        int[] weights = weights();
+
+        List<Future<Recorder[]>> workers = new ArrayList<>();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int w = 0; w < CONCURRENCY; w++) {
+                Random random = new Random(SEED * 31 + w);
+                long offset = interval > 0 ? interval * w / CONCURRENCY : 0;
+                workers.add(clients.submit(() -> {
+                    Recorder[] recorders = Recorder.forAllEndpoints();
+                    Session session = new Session(http, base, fixture, random, recorders);
+                    long intended = begin + offset;
+                    while (System.nanoTime() < deadline) {
+                        if (interval > 0) {
+                            long wait = intended - System.nanoTime();
+                            if (wait > 0) LockSupport.parkNanos(wait);
+                        }
+                        long startedAt = interval > 0 ? intended : System.nanoTime();
+                        session.next(pick(weights, random), startedAt);
+                        intended += interval;
+                    }
+                    return recorders;
+                }));
+            }
+        }
+        Recorder[] merged = Recorder.forAllEndpoints();
+        for (Future<Recorder[]> f : workers) {
+            Recorder[] r = f.get();
+            for (int i = 0; i < merged.length; i++) {
+                merged[i].merge(r[i]);
+            }
+        }
+        return merged;
+    }
+
+    private static int[] weights() {
+        Map<String, Integer> byKey = new HashMap<>();
+        for (String part : MIX.split(",")) {
+            String[] kv = part.trim().split("=");
+            byKey.put(kv[0].trim(), Integer.parseInt(kv[1].trim()));
+        }
+        int[] cumulative = new int[Endpoint.values().length];
+        int total = 0;
+        for (Endpoint endpoint : Endpoint.values()) {
+            total += byKey.getOrDefault(endpoint.key, 0);
+            cumulative[endpoint.ordinal()] = total;
+        }
+        if (total == 0) throw new IllegalArgumentException("loadtest.mix has no positive weight: " + MIX);
+        return cumulative;
+    }
+
+    private static Endpoint pick(int[] cumulative, Random random) {
+        int roll = random.nextInt(cumulative[cumulative.length - 1]);
+        for (int i = 0; i < cumulative.length; i++) {
+            if (roll < cumulative[i]) return Endpoint.values()[i];
+        }
+        throw new IllegalStateException();
+    }
+
+    private static void report(Recorder[] results) throws Exception {
+        Recorder total = new Recorder(null);
+        List<String> rows = new ArrayList<>();
+        for (Recorder r : results) {
+            total.merge(r);
+            rows.add(r.summary(r.endpoint.route));
+        }
+        rows.add(total.summary("total"));
+
+        System.out.printf("%nmode=%s population=%d concurrency=%d duration=%ds %s mix=%s%n", MODE, POPULATION,
+                CONCURRENCY, DURATION_SECONDS, RATE > 0 ? "rate=" + RATE + "/s (open loop)" : "closed loop", MIX);
+        System.out.printf("%-34s %9s %8s %8s %8s %8s %9s %8s %7s%n",
+                "endpoint", "requests", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "errors");
+        rows.forEach(System.out::println);
+        for (Recorder r : results) {
+            if (!r.failures.isEmpty()) System.out.printf("%s failures by status: %s%n", r.endpoint.route, r.failures);
+        }
+
+        if (OUTPUT != null) {
+            File dir = new File(OUTPUT);
+            dir.mkdirs();
+            for (Recorder r : results) {
+                try (PrintStream out = new PrintStream(new File(dir, MODE + "-" + r.endpoint.key + ".hgrm"))) {
+                    r.histogram.outputPercentileDistribution(out, 1000.0);
+                }
+            }
+            System.out.println("Percentile distributions written to " + dir.getAbsolutePath());
+        }
+    }
+
+    /**
+     * The curriculum as the workers need it: lessons in course order and, per lesson, a correct and a
+     * wrong answer body for every question. Solutions are read from Mongo since the API hides them.
+     */
+    private record Fixture(List<Lesson> lessons, Map<String, List<String[]>> answersByLesson) {
+
+        static Fixture create(MongoTemplate mongoTemplate) throws Exception {
+            List<Lesson> lessons = mongoTemplate.find(new Query().with(Sort.by("order")), Lesson.class);
+            Map<String, List<String[]>> answersByLesson = new HashMap<>();
+            for (Question question : mongoTemplate.findAll(Question.class)) {
+                answersByLesson.computeIfAbsent(question.getLessonId(), id -> new ArrayList<>()).add(new String[]{
+                        body(question, question.getSolution()),
+                        body(question, wrongAnswer(question))});
+            }
+            if (lessons.isEmpty() || answersByLesson.isEmpty()) {
+                throw new IllegalStateException("No curriculum found; is the database seeded?");
+            }
+            return new Fixture(lessons, answersByLesson);
+        }
+
+        private static Object wrongAnswer(Question question) {
+            return switch (question.getType()) {
+                case MCQ -> question.getSolution() instanceof Number n && question.getOptions() != null
+                        ? (n.intValue() + 1) % Math.max(2, question.getOptions().size())
+                        : -1;
+                case PARSONS -> question.getSolution() instanceof List<?> order
+                        ? order.reversed()
+                        : List.of();
+                default -> "int x = 0;";
+            };
+        }
+
+        private static String body(Question question, Object answer) throws Exception {
+            return JSON.writeValueAsString(Map.of("questionId", question.getId(), "answer", answer));
+        }
+    }
+
+    /**
+     * One client session, owned by a single worker: a logged-in learner and the lesson they are on.
+     */
+    private static final class Session {
+        private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+        private final HttpClient http;
+        private final String base;
+        private final Fixture fixture;
+        private final Random random;
+        private final Recorder[] recorders;
+        private String token;
+        private int lessonIndex;
+
+        Session(HttpClient http, String base, Fixture fixture, Random random, Recorder[] recorders) {
+            this.http = http;
+            this.base = base;
+            this.fixture = fixture;
+            this.random = random;
+            this.recorders = recorders;
+        }
+
+        void next(Endpoint endpoint, long startedAt) {
+            if (token == null || endpoint == Endpoint.LOGIN) {
+                login(startedAt);
+                return;
+            }
+            Lesson lesson = fixture.lessons().get(lessonIndex);
+            switch (endpoint) {
+                case CURRICULUM -> curriculum(startedAt);
+                case LESSON -> call(Endpoint.LESSON, startedAt, get("/api/curriculum/" + lesson.getSlug()));
+                case VALIDATE -> {
+                    List<String[]> answers = fixture.answersByLesson().getOrDefault(lesson.getId(), List.of());
+                    if (answers.isEmpty()) {
+                        curriculum(startedAt);
+                        return;
+                    }
+                    String[] question = answers.get(random.nextInt(answers.size()));
+                    call(Endpoint.VALIDATE, startedAt,
+                            post("/api/progress/validate", question[random.nextDouble() < CORRECT_RATE ? 0 : 1]));
+                }
+                case COMPLETE -> {
+                    String body = "{\"lessonId\":\"" + lesson.getId() + "\",\"score\":" + (60 + random.nextInt(41)) + "}";
+                    if (call(Endpoint.COMPLETE, startedAt, post("/api/progress/complete-lesson", body)) != null) {
+                        lessonIndex = Math.min(lessonIndex + 1, fixture.lessons().size() - 1);
+                    }
+                }
+                case LEADERBOARD -> call(Endpoint.LEADERBOARD, startedAt, get("/api/leaderboard"));
+                default -> throw new IllegalStateException(endpoint.name());
+            }
+        }
+
+        /**
+         * Logs in as a random learner and, like the client after login, loads the curriculum.
+         */
+        private void login(long startedAt) {
+            String body = "{\"email\":\"" + SyntheticPopulation.email(random.nextInt(POPULATION))
+                    + "\",\"password\":\"" + SyntheticPopulation.PASSWORD + "\"}";
+            JsonNode response = call(Endpoint.LOGIN, startedAt, HttpRequest.newBuilder(URI.create(base + "/api/auth/login"))
+                    .timeout(TIMEOUT)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body)).build());
+            if (response != null) {
+                token = response.path("data").path("token").asText();
+                curriculum(System.nanoTime());
+            }
+        }
+
+        private void curriculum(long startedAt) {
+            JsonNode response = call(Endpoint.CURRICULUM, startedAt, get("/api/curriculum"));
+            if (response == null) return;
+            int index = 0;
+            for (JsonNode lesson : response.path("data")) {
+                if ("UNLOCKED".equals(lesson.path("status").asText())) {
+                    lessonIndex = Math.min(index, fixture.lessons().size() - 1);
+                    return;
+                }
+                index++;
+            }
+            lessonIndex = fixture.lessons().size() - 1;
+        }
+
+        private HttpRequest get(String path) {
+            return HttpRequest.newBuilder(URI.create(base + path))
+                    .timeout(TIMEOUT)
+                    .header("Authorization", "Bearer " + token)
+                    .GET().build();
+        }
+
+        private HttpRequest post(String path, String body) {
+            return HttpRequest.newBuilder(URI.create(base + path))
+                    .timeout(TIMEOUT)
+                    .header("Authorization", "Bearer " + token)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body)).build();
+        }
+
+        /**
+         * @return the parsed body of a 200 response, or null after recording the failure
+         */
+        private JsonNode call(Endpoint endpoint, long startedAt, HttpRequest request) {
+            Recorder recorder = recorders[endpoint.ordinal()];
+            try {
+                HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+                recorder.record(startedAt, response.statusCode());
+                return response.statusCode() == 200 ? JSON.readTree(response.body()) : null;
+            } catch (Exception e) {
+                recorder.record(startedAt, -1);
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Single-threaded latency recorder (microseconds); one per worker and endpoint, merged at the end.
+     */
+    private static final class Recorder {
+        private final Endpoint endpoint;
+        private final Histogram histogram = new Histogram(3);
+        private final Map<Integer, Integer> failures = new TreeMap<>();
+        private int errors;
+
+        Recorder(Endpoint endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        static Recorder[] forAllEndpoints() {
+            Recorder[] recorders = new Recorder[Endpoint.values().length];
+            for (Endpoint endpoint : Endpoint.values()) {
+                recorders[endpoint.ordinal()] = new Recorder(endpoint);
+            }
+            return recorders;
+        }
+
+        void record(long startedAt, int status) {
+            histogram.recordValue(Math.max(1, (System.nanoTime() - startedAt) / 1_000));
+            if (status != 200) {
+                errors++;
+                failures.merge(status, 1, Integer::sum);
+            }
+        }
+
+        void merge(Recorder other) {
+            histogram.add(other.histogram);
+            errors += other.errors;
+            other.failures.forEach((status, n) -> failures.merge(status, n, Integer::sum));
+        }
+
+        String summary(String name) {
+            return String.format("%-34s %9d %8.0f %8.2f %8.2f %8.2f %9.2f %8.2f %7d",
+                    name, histogram.getTotalCount(), histogram.getTotalCount() / (double) DURATION_SECONDS,
+                    ms(50), ms(90), ms(99), ms(99.9), histogram.getMaxValue() / 1e3, errors);
+        }
+
+        private double ms(double percentile) {
+            return histogram.getValueAtPercentile(percentile) / 1e3;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.backend_java.Migration.loadtest;
+
+import com.backend_java.Migration.models.Lesson;
+import com.backend_java.Migration.models.Progress;
+import com.backend_java.Migration.models.Question;
+import com.backend_java.Migration.models.QuestionAttempt;
+import com.backend_java.Migration.models.User;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Deterministic synthetic learners written straight into MongoDB with unordered bulk inserts.
+ * <p>
+ * Progress through the course is skewed towards the start, as in any real course: user i has
+ * completed a prefix of the lessons (COMPLETED progress rows, correct question_attempts for
+ * about 80% of their questions, SM-2 conceptMastery for every concept met) and has the next
+ * lesson UNLOCKED. XP matches the answered questions, so the leaderboard has a realistic long tail.
+ * Every user is {@code load<i>@example.com} with {@link #PASSWORD}.
+ * <p>
+ * A marker in {@code loadtest_meta} records (users, seed); a matching population is reused, which
+ * matters against a real mongod where a million users take minutes to write. A database with users
+ * but no marker is never wiped.
+ */
+final class SyntheticPopulation {
+
+    static final String PASSWORD = "load-test-password";
+
+    private static final String META = "loadtest_meta";
+    private static final int BATCH = 2_000;
+
+    private final MongoTemplate mongoTemplate;
+    private final int users;
+    private final long seed;
+
+    SyntheticPopulation(MongoTemplate mongoTemplate, int users, long seed) {
+        this.mongoTemplate = mongoTemplate;
+        this.users = users;
+        this.seed = seed;
+    }
+
+    static String email(int user) {
+        return "load" + user + "@example.com";
+    }
+
+    /**
+     * @return true when users were written, false when a matching population was already there
+     */
+    boolean ensure(String passwordHash) {
+        Document wanted = new Document("_id", "population").append("users", users).append("seed", seed);
+        Document marker = mongoTemplate.getCollection(META).find(new Document("_id", "population")).first();
+        if (wanted.equals(marker)) {
+            return false;
+        }
+        if (marker == null && mongoTemplate.getCollection("users").estimatedDocumentCount() > 0) {
+            throw new IllegalStateException("The database has users the load harness did not create; use an empty database");
+        }
+        for (String collection : List.of("users", "progress", "question_attempts", META)) {
+            mongoTemplate.getCollection(collection).deleteMany(new Document());
+        }
+        generate(passwordHash);
+        mongoTemplate.getCollection(META).insertOne(wanted);
+        return true;
+    }
+
+    private void generate(String passwordHash) {
+        List<Lesson> lessons = mongoTemplate.find(new Query().with(Sort.by("order")), Lesson.class);
+        Map<String, List<Question>> questionsByLesson = new HashMap<>();
+        for (Question question : mongoTemplate.findAll(Question.class)) {
+            questionsByLesson.computeIfAbsent(question.getLessonId(), id -> new ArrayList<>()).add(question);
+        }
+
+        Random random = new Random(seed);
+        LocalDateTime now = LocalDateTime.now();
+        List<User> userBatch = new ArrayList<>(BATCH);
+        List<Progress> progressBatch = new ArrayList<>();
+        List<QuestionAttempt> attemptBatch = new ArrayList<>();
+
+        for (int u = 0; u < users; u++) {
+            String userId = String.format("%08x%016x", (int) seed, (long) u);
+            double r = random.nextDouble();
+            // r^2: half of the users are still in the first quarter of the course
+            int completed = Math.min(lessons.size(), (int) (r * r * (lessons.size() + 1)));
+
+            int xp = 0;
+            Set<String> concepts = new LinkedHashSet<>();
+            for (int l = 0; l < completed; l++) {
+                Lesson lesson = lessons.get(l);
+                LocalDateTime completedAt = now.minusDays(random.nextInt(180)).minusMinutes(random.nextInt(1440));
+                progressBatch.add(Progress.builder()
+                        .userId(userId)
+                        .lessonId(lesson.getId())
+                        .status(Progress.Status.COMPLETED)
+                        .bestScore(50 + random.nextInt(51))
+                        .attempts(1 + random.nextInt(3))
+                        .lastAttemptAt(completedAt)
+                        .build());
+                for (Question question : questionsByLesson.getOrDefault(lesson.getId(), List.of())) {
+                    if (question.getConcepts() != null) {
+                        concepts.addAll(question.getConcepts());
+                    }
+                    if (random.nextDouble() < 0.8) {
+                        attemptBatch.add(QuestionAttempt.builder()
+                                .id(QuestionAttempt.idFor(userId, question.getId()))
+                                .userId(userId)
+                                .questionId(question.getId())
+                                .answeredAt(completedAt)
+                                .build());
+                        xp += 10 + random.nextInt(20);
+                    }
+                }
+            }
+            if (completed < lessons.size()) {
+                progressBatch.add(Progress.builder()
+                        .userId(userId)
+                        .lessonId(lessons.get(completed).getId())
+                        .status(Progress.Status.UNLOCKED)
+                        .build());
+            }
+
+            List<User.ConceptMastery> mastery = new ArrayList<>(concepts.size());
+            for (String concept : concepts) {
+                int repetition = random.nextInt(6);
+                mastery.add(User.ConceptMastery.builder()
+                        .concept(concept)
+                        .repetition(repetition)
+                        .interval(repetition == 0 ? 1 : repetition == 1 ? 6 : 6 + random.nextInt(90))
+                        .efactor(1.3 + random.nextInt(13) * 0.1)
+                        // Some reviews are overdue, the rest fall due over the next two weeks
+                        .nextReviewAt(now.plusHours(random.nextInt(24 * 21) - 24 * 7))
+                        .build());
+            }
+            userBatch.add(User.builder()
+                    .id(userId)
+                    .username("load" + u)
+                    .email(email(u))
+                    .password(passwordHash)
+                    .xp(xp)
+                    .streakCount(completed == 0 ? 0 : random.nextInt(Math.min(90, 1 + completed * 3)))
+                    .lastActiveAt(now.minusHours(random.nextInt(24 * 30)))
+                    .conceptMastery(mastery)
+                    .build());
+
+            if (userBatch.size() == BATCH) {
+                flush(userBatch, progressBatch, attemptBatch);
+            }
+        }
+        flush(userBatch, progressBatch, attemptBatch);
+    }
+
+    private void flush(List<User> userBatch, List<Progress> progressBatch, List<QuestionAttempt> attemptBatch) {
+        insert(User.class, userBatch);
+        insert(Progress.class, progressBatch);
+        insert(QuestionAttempt.class, attemptBatch);
+    }
+
+    private void insert(Class<?> type, List<?> documents) {
+        if (!documents.isEmpty()) {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, type).insert(documents).execute();
+            documents.clear();
+        }
+    }
+}
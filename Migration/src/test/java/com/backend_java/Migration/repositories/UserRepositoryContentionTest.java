@@ -0,0 +1,137 @@
+package com.backend_java.Migration.repositories;
+
+import com.backend_java.Migration.models.User;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.net.InetSocketAddress;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Hammers one user document with concurrent graded answers and checks that
+ * no XP increment is lost, no conditional $push is applied twice, and no
+ * streak or schedule computed from a stale read overwrites a newer one.
+ */
+@Slf4j
+class UserRepositoryContentionTest {
+
+    private static final int THREADS = 8;
+    private static final int ANSWERS_PER_THREAD = 100;
+    private static final int XP_PER_ANSWER = 10;
+
+    private MongoServer server;
+    private MongoClient client;
+    private MongoTemplate mongoTemplate;
+    private UserRepositoryCustomImpl repository;
+
+    @BeforeEach
+    void setUp() {
+        server = new MongoServer(new MemoryBackend());
+        InetSocketAddress address = server.bind();
+        client = MongoClients.create("mongodb://" + address.getHostString() + ":" + address.getPort());
+        mongoTemplate = new MongoTemplate(client, "contention");
+        repository = new UserRepositoryCustomImpl(mongoTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+        server.shutdown();
+    }
+
+    @Test
+    void concurrentAnswersLoseNoUpdates() throws Exception {
+        User inserted = mongoTemplate.insert(User.builder()
+                .username("contended")
+                .email("contended@example.com")
+                .conceptMastery(new ArrayList<>(List.of(User.ConceptMastery.builder().concept("loops").build())))
+                .build());
+        // Every answer is computed from this same read, as if all were graded at once
+        User user = mongoTemplate.findById(inserted.getId(), User.class);
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < ANSWERS_PER_THREAD; i++) {
+                    User.ConceptMastery loops = User.ConceptMastery.builder()
+                            .concept("loops").interval(6).repetition(2).build();
+                    User.ConceptMastery fresh = User.ConceptMastery.builder()
+                            .concept("concept-" + (i % 5)).build();
+                    repository.recordAnswer(user.getId(), new UserRepositoryCustom.AnswerUpdate(
+                            XP_PER_ANSWER, 1, LocalDateTime.now(), user.getLastActiveAt(),
+                            List.of(loops), user.getConceptMastery(), List.of(fresh)));
+                }
+                return null;
+            }));
+        }
+
+        long startNanos = System.nanoTime();
+        start.countDown();
+        for (Future<?> f : futures) f.get();
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        pool.shutdown();
+
+        int total = THREADS * ANSWERS_PER_THREAD;
+        log.info("recordAnswer contention: {} answers on {} threads in {}s ({} answers/s)",
+                total, THREADS, String.format("%.2f", seconds), String.format("%.0f", total / seconds));
+
+        User stored = mongoTemplate.findById(user.getId(), User.class);
+        assertEquals(total * XP_PER_ANSWER, stored.getXp());
+        assertEquals(1, stored.getStreakCount());
+        assertEquals(6, stored.getConceptMastery().size());
+        assertEquals(6, stored.getConceptMastery().stream()
+                .filter(c -> c.getConcept().equals("loops")).findFirst().orElseThrow().getInterval());
+    }
+
+    @Test
+    void answerComputedFromAStaleReadKeepsTheNewerStreakAndSchedule() {
+        LocalDateTime yesterday = LocalDateTime.now().minusDays(1);
+        User inserted = mongoTemplate.insert(User.builder()
+                .username("stale")
+                .email("stale@example.com")
+                .streakCount(3)
+                .lastActiveAt(yesterday)
+                .conceptMastery(new ArrayList<>(List.of(User.ConceptMastery.builder().concept("loops").build())))
+                .build());
+        User read = mongoTemplate.findById(inserted.getId(), User.class);
+
+        LocalDateTime now = LocalDateTime.now();
+        User.ConceptMastery correct = User.ConceptMastery.builder()
+                .concept("loops").interval(1).repetition(1).efactor(2.6).nextReviewAt(now.plusDays(1)).build();
+        assertTrue(repository.recordAnswer(read.getId(), new UserRepositoryCustom.AnswerUpdate(
+                XP_PER_ANSWER, 4, now, read.getLastActiveAt(), List.of(correct), read.getConceptMastery(), List.of())));
+
+        // Graded from the same read, but lands second: only its XP applies
+        User.ConceptMastery stale = User.ConceptMastery.builder()
+                .concept("loops").interval(1).repetition(0).efactor(1.7).nextReviewAt(now.plusDays(1)).build();
+        assertFalse(repository.recordAnswer(read.getId(), new UserRepositoryCustom.AnswerUpdate(
+                XP_PER_ANSWER, 1, now.plusSeconds(1), read.getLastActiveAt(), List.of(stale), read.getConceptMastery(), List.of())));
+
+        User stored = mongoTemplate.findById(read.getId(), User.class);
+        assertEquals(2 * XP_PER_ANSWER, stored.getXp());
+        assertEquals(4, stored.getStreakCount());
+        assertEquals(1, stored.getConceptMastery().size());
+        assertEquals(1, stored.getConceptMastery().getFirst().getRepetition());
+        assertEquals(2.6, stored.getConceptMastery().getFirst().getEfactor());
+    }
+}
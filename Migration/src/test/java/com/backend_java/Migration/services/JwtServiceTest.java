@@ -0,0 +1,98 @@
+package com.backend_java.Migration.services;
+
+import com.backend_java.Migration.models.User;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JwtServiceTest {
+
+    private static final String SECRET = "test-secret-key-that-is-at-least-32-characters";
+
+    private SimpleMeterRegistry meterRegistry;
+    private JwtService jwtService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        jwtService = new JwtService(meterRegistry);
+        ReflectionTestUtils.setField(jwtService, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtService, "expiration", 60_000L);
+        ReflectionTestUtils.setField(jwtService, "cacheMaxSize", 100L);
+        jwtService.init();
+    }
+
+    @Test
+    void repeatedTokenSkipsVerification() {
+        String token = jwtService.generateToken(User.builder().id("ada").email("ada@example.com").build());
+
+        assertEquals("ada", jwtService.extractUserId(token));
+        assertEquals("ada", jwtService.extractUserId(token));
+        assertEquals("ada", jwtService.extractUserId(token));
+
+        assertEquals(1, verifications());
+        assertEquals(2, cacheCount("hit"));
+        assertEquals(1, cacheCount("miss"));
+    }
+
+    @Test
+    void tamperedTokenIsVerifiedEveryTimeAndNeverCached() {
+        String token = jwtService.generateToken(User.builder().id("ada").email("ada@example.com").build());
+        assertEquals("ada", jwtService.extractUserId(token));
+
+        String[] parts = token.split("\\.");
+        String forgedPayload = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                "{\"id\":\"mallory\",\"sub\":\"mallory\",\"exp\":4102444800}".getBytes(StandardCharsets.UTF_8));
+        String forged = parts[0] + "." + forgedPayload + "." + parts[2];
+        char[] signature = parts[2].toCharArray();
+        signature[signature.length / 2] = signature[signature.length / 2] == 'A' ? 'B' : 'A';
+        String resigned = parts[0] + "." + parts[1] + "." + new String(signature);
+
+        for (int i = 0; i < 2; i++) {
+            assertThrows(SignatureException.class, () -> jwtService.extractUserId(forged));
+            assertThrows(SignatureException.class, () -> jwtService.extractUserId(resigned));
+        }
+        assertEquals(5, verifications());
+        assertEquals(0, cacheCount("hit"));
+    }
+
+    @Test
+    void cachedTokenIsRejectedAtItsOwnExpiry() throws Exception {
+        // exp has second precision; expire on the next full second but one
+        long exp = (System.currentTimeMillis() / 1000 + 2) * 1000;
+        String token = Jwts.builder()
+                .claim("id", "ada")
+                .subject("ada")
+                .expiration(new Date(exp))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+        assertEquals("ada", jwtService.extractUserId(token));
+        assertEquals("ada", jwtService.extractUserId(token));
+        assertEquals(1, cacheCount("hit"));
+
+        Thread.sleep(exp - System.currentTimeMillis() + 50);
+        assertThrows(ExpiredJwtException.class, () -> jwtService.extractUserId(token));
+        assertEquals(1, cacheCount("hit"));
+        assertEquals(2, verifications());
+    }
+
+    private long verifications() {
+        return meterRegistry.get("jwt.verification").timer().count();
+    }
+
+    private double cacheCount(String result) {
+        return meterRegistry.get("jwt.cache").tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,147 @@
+package com.backend_java.Migration.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the client against local stub upstreams that inject latency and failures.
+ */
+class LeetCodeStatsClientTest {
+
+    private final List<Stub> stubs = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        stubs.forEach(stub -> stub.server.stop(0));
+    }
+
+    @Test
+    void hedgesToSecondUpstreamWhenFirstIsSlow() {
+        Stub slow = stub("{\"status\":\"success\",\"totalSolved\":1}");
+        slow.delayMillis = 3_000;
+        Stub fast = stub("{\"username\":\"alice\",\"totalSolved\":2,\"easySolved\":2}");
+        LeetCodeStatsClient client = client(List.of(slow, fast), Duration.ofSeconds(5), Duration.ofMinutes(10));
+
+        long start = System.nanoTime();
+        Map<String, Object> stats = client.getStats("alice").join();
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertEquals(Map.of("status", "success", "totalSolved", 2, "easySolved", 2), stats);
+        assertTrue(elapsedMillis < 2_000, "hedged answer took " + elapsedMillis + "ms");
+        assertEquals(1, fast.hits.get());
+    }
+
+    @Test
+    void failsOverImmediatelyAndOpensBreaker() {
+        Stub broken = stub("{}");
+        broken.status = 500;
+        Stub healthy = stub("{\"status\":\"success\",\"totalSolved\":3}");
+        LeetCodeStatsClient client = client(List.of(broken, healthy), Duration.ofSeconds(5), Duration.ofMinutes(10));
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(3, client.getStats("user" + i).join().get("totalSolved"));
+        }
+        assertEquals(3, broken.hits.get());
+
+        client.getStats("another").join();
+        assertEquals(3, broken.hits.get(), "open breaker should short-circuit the failing upstream");
+        assertEquals(6, healthy.hits.get());
+    }
+
+    @Test
+    void timesOutWhenNoUpstreamAnswers() {
+        Stub hanging = stub("{\"status\":\"success\"}");
+        hanging.delayMillis = 5_000;
+        LeetCodeStatsClient client = client(List.of(hanging), Duration.ofMillis(300), Duration.ofMinutes(10));
+
+        CompletionException error = assertThrows(CompletionException.class, () -> client.getStats("bob").join());
+        assertInstanceOf(RuntimeException.class, error.getCause());
+        assertEquals("Could not fetch LeetCode statistics.", error.getCause().getMessage());
+    }
+
+    @Test
+    void servesStaleStatsWhileRevalidating() throws InterruptedException {
+        Stub upstream = stub("{\"status\":\"success\",\"totalSolved\":4}");
+        LeetCodeStatsClient client = client(List.of(upstream), Duration.ofSeconds(5), Duration.ofMillis(200));
+
+        assertEquals(4, client.getStats("carol").join().get("totalSolved"));
+        assertEquals(4, client.getStats("carol").join().get("totalSolved"));
+        assertEquals(1, upstream.hits.get());
+
+        upstream.status = 503;
+        Thread.sleep(300);
+        assertEquals(4, client.getStats("carol").join().get("totalSolved"));
+        Thread.sleep(300);
+        assertEquals(4, client.getStats("carol").join().get("totalSolved"), "failed refresh keeps the stale value");
+        assertTrue(upstream.hits.get() >= 2, "stale read should trigger a background refresh");
+    }
+
+    private LeetCodeStatsClient client(List<Stub> upstreams, Duration requestTimeout, Duration refreshAfter) {
+        List<String> urls = upstreams.stream()
+                .map(stub -> "http://localhost:" + stub.server.getAddress().getPort() + "/{username}")
+                .toList();
+        return new LeetCodeStatsClient(new ObjectMapper(), new SimpleMeterRegistry(), urls,
+                Duration.ofSeconds(1), requestTimeout, Duration.ofMillis(200),
+                3, Duration.ofMinutes(1), refreshAfter, Duration.ofHours(1), 1_000, false);
+    }
+
+    private Stub stub(String body) {
+        try {
+            Stub stub = new Stub(HttpServer.create(new InetSocketAddress("localhost", 0), 0), body);
+            stubs.add(stub);
+            return stub;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class Stub {
+        final HttpServer server;
+        final AtomicInteger hits = new AtomicInteger();
+        volatile int status = 200;
+        volatile long delayMillis;
+
+        Stub(HttpServer server, String body) {
+            this.server = server;
+            server.setExecutor(Executors.newCachedThreadPool());
+            server.createContext("/", exchange -> {
+                hits.incrementAndGet();
+                try {
+                    Thread.sleep(delayMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                try (OutputStream out = exchange.getResponseBody()) {
+                    exchange.sendResponseHeaders(status, bytes.length);
+                    out.write(bytes);
+                } catch (IOException ignored) {
+                    // client cancelled a hedged request
+                }
+            });
+            server.start();
+        }
+    }
+}
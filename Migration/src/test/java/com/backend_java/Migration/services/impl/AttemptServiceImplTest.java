@@ -0,0 +1,196 @@
+package com.backend_java.Migration.services.impl;
+
+import com.backend_java.Migration.models.QuestionAttempt;
+import com.backend_java.Migration.repositories.QuestionAttemptRepository;
+import com.backend_java.Migration.services.CatalogService;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AttemptServiceImplTest {
+
+    private static final Map<String, Integer> ORDINALS = Map.of("q-0", 0, "q-63", 63, "q-64", 64, "q-129", 129);
+
+    private MongoServer server;
+    private MongoClient client;
+    private MongoTemplate mongoTemplate;
+    private CatalogService catalogService;
+    private long catalogVersion;
+
+    @BeforeEach
+    void setUp() {
+        server = new MongoServer(new MemoryBackend());
+        InetSocketAddress address = server.bind();
+        client = MongoClients.create("mongodb://" + address.getHostString() + ":" + address.getPort());
+        mongoTemplate = spy(new MongoTemplate(client, "attempts"));
+
+        catalogVersion = 1;
+        catalogService = mock(CatalogService.class);
+        when(catalogService.getVersion()).thenAnswer(invocation -> catalogVersion);
+        when(catalogService.getQuestionCount()).thenReturn(130);
+        when(catalogService.getQuestionOrdinal(anyString()))
+                .thenAnswer(invocation -> ORDINALS.getOrDefault(invocation.<String>getArgument(0), -1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+        server.shutdown();
+    }
+
+    @Test
+    void bitmapSetsBitsAcrossWordBoundaries() {
+        AttemptServiceImpl.AttemptBitmap bitmap = new AttemptServiceImpl.AttemptBitmap(1, 130);
+        for (int bit : List.of(0, 63, 64, 129)) {
+            assertFalse(bitmap.get(bit));
+            bitmap.set(bit);
+            bitmap.set(bit);
+            assertTrue(bitmap.get(bit));
+        }
+        assertFalse(bitmap.get(1));
+        assertFalse(bitmap.get(62));
+        assertFalse(bitmap.get(65));
+        assertFalse(bitmap.get(128));
+    }
+
+    @Test
+    void onlyTheFirstCorrectAnswerCountsAndIsRemembered() {
+        AttemptServiceImpl attempts = attemptService();
+
+        assertFalse(attempts.hasAnswered("ada", "q-64"));
+        assertTrue(attempts.recordCorrectAnswer("ada", "q-64"));
+        assertTrue(attempts.hasAnswered("ada", "q-64"));
+        assertFalse(attempts.recordCorrectAnswer("ada", "q-64"));
+        assertFalse(attempts.hasAnswered("ada", "q-63"));
+        assertFalse(attempts.hasAnswered("bob", "q-64"));
+
+        // Questions outside the catalog have no ordinal and are checked in Mongo
+        assertTrue(attempts.recordCorrectAnswer("ada", "retired"));
+        assertTrue(attempts.hasAnswered("ada", "retired"));
+        assertFalse(attempts.recordCorrectAnswer("ada", "retired"));
+
+        // Written by another instance: only a bitmap built for a newer catalog version sees it
+        mongoTemplate.insert(QuestionAttempt.builder()
+                .id(QuestionAttempt.idFor("ada", "q-129")).userId("ada").questionId("q-129").build());
+        assertFalse(attempts.hasAnswered("ada", "q-129"));
+        catalogVersion = 2;
+        assertTrue(attempts.hasAnswered("ada", "q-129"));
+        assertTrue(attempts.hasAnswered("ada", "q-64"));
+    }
+
+    @Test
+    void migrationMovesHistoryOnceAndSkipsTheScanAfterwards() {
+        insertLegacyUser("ada", "q-0", "q-63");
+        insertLegacyUser("bob", "q-64");
+        // Left behind by an interrupted run
+        mongoTemplate.insert(QuestionAttempt.builder()
+                .id(QuestionAttempt.idFor("ada", "q-0")).userId("ada").questionId("q-0").build());
+
+        AttemptServiceImpl attempts = attemptService();
+        attempts.migrateEmbeddedHistory();
+
+        assertEquals(3, mongoTemplate.count(new Query(), QuestionAttempt.class));
+        assertNull(user("ada").get("questionHistory"));
+        assertNull(user("bob").get("questionHistory"));
+        assertTrue(attempts.hasAnswered("ada", "q-63"));
+        Document marker = mongoTemplate.findById("question-history-to-attempts", Document.class, "migrations");
+        assertTrue(marker.getBoolean("completed"));
+        assertEquals(2, marker.getInteger("usersMigrated"));
+
+        clearInvocations(mongoTemplate);
+        attempts.migrateEmbeddedHistory();
+        verify(mongoTemplate, never()).stream(any(Query.class), eq(Document.class), eq("users"));
+    }
+
+    @Test
+    void migrationKeepsHistoryWhenInsertsFailForAnyReasonButDuplicates() {
+        insertLegacyUser("ada", "q-0", "q-63");
+        BulkOperations failing = mock(BulkOperations.class);
+        when(failing.insert(anyList())).thenReturn(failing);
+        when(failing.execute()).thenThrow(bulkFailure(11000, 121));
+        doReturn(failing).when(mongoTemplate).bulkOps(BulkOperations.BulkMode.UNORDERED, QuestionAttempt.class);
+
+        AttemptServiceImpl attempts = attemptService();
+        attempts.migrateEmbeddedHistory();
+
+        assertEquals(2, user("ada").getList("questionHistory", Document.class).size());
+        Document marker = mongoTemplate.findById("question-history-to-attempts", Document.class, "migrations");
+        assertFalse(marker.getBoolean("completed"));
+        assertEquals(1, marker.getInteger("usersFailed"));
+
+        // Not marked complete, so the next start retries the user
+        doCallRealMethod().when(mongoTemplate).bulkOps(BulkOperations.BulkMode.UNORDERED, QuestionAttempt.class);
+        attempts.migrateEmbeddedHistory();
+        assertNull(user("ada").get("questionHistory"));
+        assertEquals(2, mongoTemplate.count(new Query(), QuestionAttempt.class));
+    }
+
+    private AttemptServiceImpl attemptService() {
+        QuestionAttemptRepository repository = new MongoRepositoryFactory(mongoTemplate)
+                .getRepository(QuestionAttemptRepository.class);
+        return new AttemptServiceImpl(repository, mongoTemplate, catalogService, 100, Duration.ofHours(1),
+                new SimpleMeterRegistry());
+    }
+
+    private void insertLegacyUser(String userId, String... questionIds) {
+        List<Document> history = Arrays.stream(questionIds)
+                .map(questionId -> new Document("questionId", questionId).append("answeredAt", new Date()))
+                .toList();
+        mongoTemplate.getCollection("users").insertOne(new Document("_id", userId).append("questionHistory", history));
+    }
+
+    private Document user(String userId) {
+        return mongoTemplate.getCollection("users").find(new Document("_id", userId)).first();
+    }
+
+    private static BulkOperationException bulkFailure(int... codes) {
+        List<BulkWriteError> errors = new ArrayList<>();
+        for (int i = 0; i < codes.length; i++) {
+            errors.add(new BulkWriteError(codes[i], "write failed", new BsonDocument(), i));
+        }
+        return new BulkOperationException("bulk insert failed", new MongoBulkWriteException(
+                BulkWriteResult.unacknowledged(), errors, null, new ServerAddress(), Set.of()));
+    }
+}
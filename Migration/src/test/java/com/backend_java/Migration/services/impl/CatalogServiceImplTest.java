@@ -0,0 +1,104 @@
+package com.backend_java.Migration.services.impl;
+
+import com.backend_java.Migration.dto.ProblemPage;
+import com.backend_java.Migration.dto.ProblemQuery;
+import com.backend_java.Migration.models.Problem;
+import com.backend_java.Migration.repositories.LessonRepository;
+import com.backend_java.Migration.repositories.ProblemRepository;
+import com.backend_java.Migration.repositories.QuestionRepository;
+import com.backend_java.Migration.services.CatalogService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CatalogServiceImplTest {
+
+    private List<Problem> problems;
+    private ProblemRepository problemRepository;
+    private List<Object> events;
+    private CatalogServiceImpl catalogService;
+
+    @BeforeEach
+    void setUp() {
+        problems = new ArrayList<>(List.of(
+                problem("two-sum", 1, Problem.Difficulty.EASY, "Arrays", "Hash Table"),
+                problem("valid-anagram", 2, Problem.Difficulty.EASY, "Strings", "Hash Table"),
+                problem("three-sum", 3, Problem.Difficulty.MEDIUM, "Arrays", "Two Pointers"),
+                problem("lru-cache", 4, Problem.Difficulty.MEDIUM, "Hash Table", "Linked List"),
+                problem("median-of-two-arrays", 5, Problem.Difficulty.HARD, "Arrays", "Binary Search")));
+        LessonRepository lessonRepository = mock(LessonRepository.class);
+        QuestionRepository questionRepository = mock(QuestionRepository.class);
+        problemRepository = mock(ProblemRepository.class);
+        when(lessonRepository.findAll(any(Sort.class))).thenReturn(List.of());
+        when(questionRepository.findAll()).thenReturn(List.of());
+        when(problemRepository.findAll(any(Sort.class))).thenAnswer(invocation -> problems);
+        events = new ArrayList<>();
+        catalogService = new CatalogServiceImpl(lessonRepository, questionRepository, problemRepository,
+                events::add, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void readsFailFastUntilTheFirstReload() {
+        assertFalse(catalogService.isLoaded());
+        assertThrows(IllegalStateException.class, () -> catalogService.getProblemBySlug("two-sum"));
+        verify(problemRepository, never()).findAll(any(Sort.class));
+
+        catalogService.reload();
+        assertTrue(catalogService.isLoaded());
+        assertEquals("two-sum", catalogService.getProblemBySlug("two-sum").getSlug());
+    }
+
+    @Test
+    void reloadsThatReplaceASnapshotArePublished() {
+        catalogService.reload();
+        assertEquals(List.of(), events);
+
+        problems.remove(0);
+        catalogService.reload();
+        assertEquals(List.of(new CatalogService.CatalogReloadedEvent(2)), events);
+        assertNull(catalogService.getProblemBySlug("two-sum"));
+    }
+
+    @Test
+    void problemPagesAndTheirETagsFollowTheNormalizedQuery() {
+        catalogService.reload();
+
+        ProblemQuery arrays = new ProblemQuery();
+        arrays.setTags(List.of("Arrays"));
+        arrays.setLimit(2);
+        ProblemPage page = catalogService.findProblems(arrays);
+        assertEquals(List.of("two-sum", "three-sum"), page.getProblems().stream().map(Problem::getSlug).toList());
+        assertEquals("3:problem-three-sum", page.getNextCursor());
+
+        ProblemQuery same = new ProblemQuery();
+        same.setTags(List.of(" arrays "));
+        same.setMatch("ALL");
+        same.setLimit(2);
+        assertEquals(catalogService.getProblemsETag(arrays), catalogService.getProblemsETag(same));
+        arrays.setCursor(page.getNextCursor());
+        assertNotEquals(catalogService.getProblemsETag(same), catalogService.getProblemsETag(arrays));
+        assertNotEquals(catalogService.getProblemsETag(), catalogService.getProblemsETag(same));
+    }
+
+    private static Problem problem(String slug, int order, Problem.Difficulty difficulty, String... tags) {
+        return Problem.builder()
+                .id("problem-" + slug).slug(slug).title(slug).order(order).difficulty(difficulty).tags(List.of(tags))
+                .build();
+    }
+}
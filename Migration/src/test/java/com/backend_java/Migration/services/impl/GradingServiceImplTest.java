@@ -0,0 +1,106 @@
+package com.backend_java.Migration.services.impl;
+
+import com.backend_java.Migration.models.Question;
+import com.backend_java.Migration.services.CatalogService;
+import com.backend_java.Migration.services.GradingService;
+import com.backend_java.Migration.utils.AnswerMatcher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class GradingServiceImplTest {
+
+    private static final Question MCQ = Question.builder()
+            .id("mcq").type(Question.QuestionType.MCQ).solution(1).build();
+    private static final Question FILL_IN = Question.builder()
+            .id("fill").type(Question.QuestionType.FILL_IN_BLANK).solution("int x = 1;").build();
+
+    private CatalogService catalogService;
+    private SimpleMeterRegistry meterRegistry;
+    private GradingServiceImpl gradingService;
+
+    @BeforeEach
+    void setUp() {
+        catalogService = mock(CatalogService.class);
+        meterRegistry = new SimpleMeterRegistry();
+        gradingService = new GradingServiceImpl(catalogService, meterRegistry, 1000, 32);
+        // The memo only reuses grades made with the catalog's current matcher
+        when(catalogService.getAnswerMatcher("mcq")).thenReturn(AnswerMatcher.compile(MCQ));
+        when(catalogService.getAnswerMatcher("fill")).thenReturn(AnswerMatcher.compile(FILL_IN));
+    }
+
+    @Test
+    void equivalentAnswersShareOneMemoEntry() {
+        assertTrue(gradingService.isCorrect(MCQ, 1));
+        assertTrue(gradingService.isCorrect(MCQ, "1"));
+        assertTrue(gradingService.isCorrect(FILL_IN, "int x = 1;"));
+        // Surrounding whitespace is normalized away
+        assertTrue(gradingService.isCorrect(FILL_IN, "  int x = 1;\n"));
+
+        assertEquals(2, memo("hit"));
+        assertEquals(2, memo("miss"));
+        assertEquals(1, meterRegistry.get("grading.memo.question").tag("question", "fill").tag("result", "hit")
+                .functionCounter().count());
+        GradingService.AnswerStats stats = gradingService.getAnswerStats("mcq", 5);
+        assertEquals(2, stats.graded());
+        assertEquals(0.5, stats.hitRate());
+    }
+
+    @Test
+    void oversizedAnswersAreGradedWithoutTheMemo() {
+        String oversized = "int x = 1;" + " ".repeat(40);
+        assertTrue(gradingService.isCorrect(FILL_IN, oversized));
+        assertTrue(gradingService.isCorrect(FILL_IN, oversized));
+        assertEquals(0, memo("hit"));
+        assertEquals(0, memo("miss"));
+    }
+
+    @Test
+    void aReloadedMatcherRegradesMemoizedAnswers() {
+        Question before = Question.builder().id("mcq").type(Question.QuestionType.MCQ).solution(1).build();
+        Question after = Question.builder().id("mcq").type(Question.QuestionType.MCQ).solution(2).build();
+        AnswerMatcher original = AnswerMatcher.compile(before);
+        when(catalogService.getAnswerMatcher("mcq")).thenReturn(original);
+        assertTrue(gradingService.isCorrect(before, 1));
+        assertTrue(gradingService.isCorrect(before, 1));
+
+        when(catalogService.getAnswerMatcher("mcq")).thenReturn(AnswerMatcher.compile(after));
+        assertFalse(gradingService.isCorrect(after, 1));
+        assertEquals(1, memo("hit"));
+        assertEquals(2, memo("miss"));
+    }
+
+    @Test
+    void tracksTheMostFrequentWrongAnswersWithinItsBound() {
+        for (int i = 0; i < 10; i++) {
+            gradingService.isCorrect(MCQ, 2);
+        }
+        gradingService.isCorrect(MCQ, 3);
+        gradingService.isCorrect(MCQ, 3);
+        gradingService.isCorrect(MCQ, 1);
+        assertEquals(List.of(new GradingService.WrongAnswer("2", 10), new GradingService.WrongAnswer("3", 2)),
+                gradingService.getAnswerStats("mcq", 2).topWrongAnswers());
+
+        // One-off answers beyond the bound displace each other; an answer more frequent than
+        // total / TRACKED_WRONG_ANSWERS is never displaced
+        for (int i = 0; i < GradingServiceImpl.TRACKED_WRONG_ANSWERS * 3; i++) {
+            gradingService.isCorrect(MCQ, "rare-" + i);
+        }
+        List<GradingService.WrongAnswer> top = gradingService.getAnswerStats("mcq", 100).topWrongAnswers();
+        assertEquals(GradingServiceImpl.TRACKED_WRONG_ANSWERS, top.size());
+        assertEquals(new GradingService.WrongAnswer("2", 10), top.getFirst());
+        assertEquals(0, gradingService.getAnswerStats("unknown", 5).graded());
+    }
+
+    private double memo(String result) {
+        return meterRegistry.get("grading.memo").tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,91 @@
+package com.backend_java.Migration.services.impl;
+
+import com.backend_java.Migration.models.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LeaderboardServiceImplTest {
+
+    private MongoTemplate mongoTemplate;
+    private LeaderboardServiceImpl leaderboard;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        leaderboard = new LeaderboardServiceImpl(mongoTemplate);
+        leaderboard.track("ada", 100);
+        leaderboard.track("bob", 100);
+        leaderboard.track("cy", 50);
+        leaderboard.track("dee", 200);
+    }
+
+    @Test
+    void tiedUsersShareTheRankBelowEveryoneAhead() {
+        assertEquals(1, leaderboard.getRankForXp(200));
+        assertEquals(2, leaderboard.getRankForXp(100));
+        assertEquals(2, leaderboard.getRankForXp(150));
+        assertEquals(4, leaderboard.getRankForXp(50));
+        assertEquals(5, leaderboard.getRankForXp(0));
+        assertEquals(5, leaderboard.getRankForXp(-10));
+        assertEquals(List.of("dee", "ada", "bob", "cy"), leaderboard.getTopUserIds(10));
+    }
+
+    @Test
+    void xpBeyondTheTreeCapacityGrowsItWithoutLosingCounts() {
+        leaderboard.track("eve", 40_000);
+        assertEquals(1, leaderboard.getRankForXp(40_000));
+        assertEquals(3, leaderboard.getRankForXp(100));
+
+        leaderboard.addXp("cy", 100_000);
+        assertEquals(1, leaderboard.getRankForXp(100_050));
+        assertEquals(2, leaderboard.getRankForXp(40_000));
+        assertEquals(3, leaderboard.getRankForXp(200));
+        assertEquals(6, leaderboard.getRankForXp(50));
+        assertEquals(List.of("cy", "eve", "dee"), leaderboard.getTopUserIds(3));
+        assertEquals(5, leaderboard.getTotalUsers());
+    }
+
+    @Test
+    void topUsersFollowDecrements() {
+        leaderboard.addXp("dee", -180);
+        leaderboard.addXp("ada", -1_000);
+
+        assertEquals(0, leaderboard.getUserXp("ada"));
+        assertEquals(List.of("bob", "cy", "dee"), leaderboard.getTopUserIds(3));
+        assertEquals(3, leaderboard.getRankForXp(20));
+        assertEquals(4, leaderboard.getRankForXp(0));
+
+        // An untracked user starts from 0 and never goes below it
+        leaderboard.addXp("new", -5);
+        assertEquals(0, leaderboard.getUserXp("new"));
+        assertEquals(5, leaderboard.getTotalUsers());
+        assertEquals(4, leaderboard.getRankForXp(0));
+    }
+
+    @Test
+    void rebuildSizesTheTreeForTheHighestXp() {
+        when(mongoTemplate.stream(any(Query.class), eq(User.class))).thenReturn(Stream.of(
+                User.builder().id("ada").xp(70_000).build(),
+                User.builder().id("bob").xp(70_000).build(),
+                User.builder().id("cy").xp(-3).build()));
+
+        leaderboard.rebuild();
+
+        assertEquals(3, leaderboard.getTotalUsers());
+        assertEquals(1, leaderboard.getRankForXp(70_000));
+        assertEquals(3, leaderboard.getRankForXp(1));
+        assertEquals(0, leaderboard.getUserXp("cy"));
+        assertEquals(List.of("ada", "bob", "cy"), leaderboard.getTopUserIds(5));
+    }
+}
@@ -0,0 +1,123 @@
+package com.backend_java.Migration.services.impl;
+
+import com.backend_java.Migration.controllers.AuthController;
+import com.backend_java.Migration.dto.AuthResponse;
+import com.backend_java.Migration.exceptions.GlobalExceptionHandler;
+import com.backend_java.Migration.models.User;
+import com.backend_java.Migration.repositories.UserRepository;
+import com.backend_java.Migration.services.JwtService;
+import com.backend_java.Migration.services.LeaderboardService;
+import com.backend_java.Migration.services.UserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class PasswordServiceImplTest {
+
+    private final ExecutorService requestExecutor = Executors.newSingleThreadExecutor();
+    private PasswordServiceImpl passwordService;
+
+    @AfterEach
+    void tearDown() {
+        if (passwordService != null) passwordService.shutdown();
+        requestExecutor.shutdown();
+    }
+
+    @Test
+    void saturatedHashingIsRejectedWith503AndRetryAfter() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder slowEncoder = mock(PasswordEncoder.class);
+        when(slowEncoder.matches(any(), anyString())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return true;
+        });
+        // One hashing thread and one queued request; the third sign-in is turned away
+        passwordService = new PasswordServiceImpl(slowEncoder, new SimpleMeterRegistry(), 1, 1);
+        CompletableFuture<Boolean> running = passwordService.matches("pw", "hash");
+        CompletableFuture<Boolean> queued = passwordService.matches("pw", "hash");
+        CompletableFuture<Boolean> rejected = passwordService.matches("pw", "hash");
+
+        ExecutionException failure = assertThrows(ExecutionException.class, rejected::get);
+        assertInstanceOf(RejectedExecutionException.class, failure.getCause());
+
+        UserService userService = mock(UserService.class);
+        when(userService.login(anyString(), anyString())).thenReturn(passwordService.matches("pw", "hash")
+                .thenApply(valid -> AuthResponse.builder().build()));
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new AuthController(userService))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+        MvcResult login = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"ada@example.com\",\"password\":\"pw\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(login))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+
+        release.countDown();
+        assertTrue(running.get(5, TimeUnit.SECONDS));
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void loginUpgradesALowerCostHashOffTheHashingThreads() throws Exception {
+        passwordService = new PasswordServiceImpl(new BCryptPasswordEncoder(5), new SimpleMeterRegistry(), 1, 4);
+        String oldHash = new BCryptPasswordEncoder(4).encode("s3cret");
+        assertTrue(passwordService.needsUpgrade(oldHash));
+        assertFalse(passwordService.needsUpgrade(passwordService.encode("s3cret").get()));
+
+        User user = User.builder().id("ada").email("ada@example.com").password(oldHash).build();
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findByEmail("ada@example.com")).thenReturn(Optional.of(user));
+        JwtService jwtService = mock(JwtService.class);
+        AtomicReference<String> signedOn = new AtomicReference<>();
+        when(jwtService.generateToken(user)).thenAnswer(invocation -> {
+            signedOn.set(Thread.currentThread().getName());
+            return "token";
+        });
+        UserServiceImpl userService = new UserServiceImpl(userRepository, passwordService, jwtService,
+                mock(LeaderboardService.class), mock(MongoTemplate.class), requestExecutor);
+
+        assertEquals("token", userService.login("ada@example.com", "s3cret").get(5, TimeUnit.SECONDS).getToken());
+        assertFalse(signedOn.get().startsWith("password-hash-"), signedOn.get());
+        verify(userRepository, timeout(5_000)).updatePassword(eq("ada"), argThat(hash ->
+                hash.startsWith("$2a$05$") && new BCryptPasswordEncoder().matches("s3cret", hash)));
+    }
+}
@@ -0,0 +1,169 @@
+package com.backend_java.Migration.services.impl;
+
+import com.backend_java.Migration.dto.ProblemPage;
+import com.backend_java.Migration.dto.ProblemQuery;
+import com.backend_java.Migration.models.Problem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProblemIndexTest {
+
+    private List<Problem> problems;
+
+    @BeforeEach
+    void setUp() {
+        problems = new ArrayList<>(List.of(
+                problem("two-sum", 1, Problem.Difficulty.EASY, "Arrays", "Hash Table"),
+                problem("valid-anagram", 2, Problem.Difficulty.EASY, "Strings", "Hash Table"),
+                problem("three-sum", 3, Problem.Difficulty.MEDIUM, "Arrays", "Two Pointers"),
+                problem("lru-cache", 4, Problem.Difficulty.MEDIUM, "Hash Table", "Linked List"),
+                problem("median-of-two-arrays", 5, Problem.Difficulty.HARD, "Arrays", "Binary Search")));
+    }
+
+    @Test
+    void cursorWalksEveryMatchingProblemOncePerPage() {
+        assertEquals(List.of("two-sum", "valid-anagram", "three-sum", "lru-cache"),
+                walk(query(null, null, List.of("easy", "MEDIUM")), 1));
+        assertEquals(List.of("two-sum", "valid-anagram", "three-sum", "lru-cache", "median-of-two-arrays"),
+                walk(query(null, null, null), 2));
+    }
+
+    @Test
+    void tagsMustAllMatchUnlessMatchIsAny() {
+        assertEquals(List.of("two-sum"), walk(query(List.of("hash table", "Arrays"), null, null), 10));
+        assertEquals(List.of("two-sum", "three-sum"), walk(query(List.of("arrays"), "all", List.of("easy", "medium")), 10));
+    }
+
+    @Test
+    void matchIntersectsOrUnitesTagBitmaps() {
+        ProblemIndex index = new ProblemIndex(problems);
+        Set<Problem.Difficulty> any = EnumSet.noneOf(Problem.Difficulty.class);
+
+        assertEquals(bits(0), index.match(Set.of("arrays", "hash table"), true, any));
+        assertEquals(bits(0, 2, 4), index.match(Set.of("arrays"), true, any));
+        assertEquals(bits(1, 3), index.match(Set.of("strings", "linked list"), false, any));
+        assertEquals(bits(0, 1, 2, 3, 4), index.match(Set.of(), true, any));
+        assertEquals(bits(4), index.match(Set.of("arrays"), true, EnumSet.of(Problem.Difficulty.HARD)));
+
+        // An unknown tag empties an AND and adds nothing to an OR
+        assertEquals(bits(), index.match(new LinkedHashSet<>(List.of("graphs", "arrays")), true, any));
+        assertEquals(bits(), index.match(new LinkedHashSet<>(List.of("arrays", "graphs")), true, any));
+        assertEquals(bits(0, 2, 4), index.match(Set.of("arrays", "graphs"), false, any));
+        assertEquals(bits(), index.match(Set.of("graphs"), false, any));
+    }
+
+    @Test
+    void firstAfterBreaksOrderTiesById() {
+        problems.add(problem("contains-duplicate", 2, Problem.Difficulty.EASY, "Arrays"));
+        problems.add(problem("ransom-note", 2, Problem.Difficulty.EASY, "Strings"));
+        ProblemIndex index = new ProblemIndex(problems);
+
+        assertEquals(List.of("two-sum", "contains-duplicate", "ransom-note", "valid-anagram", "three-sum", "lru-cache",
+                "median-of-two-arrays"), index.problems.stream().map(Problem::getSlug).toList());
+        assertEquals(0, index.firstAfter(new ProblemIndex.Cursor(0, "")));
+        assertEquals(2, index.firstAfter(new ProblemIndex.Cursor(2, "problem-contains-duplicate")));
+        // The last problem served was removed since: continue with the next one that sorts after it
+        assertEquals(3, index.firstAfter(new ProblemIndex.Cursor(2, "problem-removed")));
+        assertEquals(4, index.firstAfter(new ProblemIndex.Cursor(2, "problem-valid-anagram")));
+        assertEquals(7, index.firstAfter(new ProblemIndex.Cursor(5, "problem-median-of-two-arrays")));
+        assertEquals(7, index.firstAfter(new ProblemIndex.Cursor(99, "")));
+    }
+
+    @Test
+    void cursorDoesNotSkipProblemsSharingAnOrder() {
+        problems.add(problem("contains-duplicate", 2, Problem.Difficulty.EASY, "Arrays"));
+        problems.add(problem("ransom-note", 2, Problem.Difficulty.EASY, "Strings"));
+        assertEquals(List.of("two-sum", "contains-duplicate", "ransom-note", "valid-anagram"),
+                walk(query(null, null, List.of("easy")), 1));
+
+        ProblemQuery pastTheEnd = query(null, null, null);
+        pastTheEnd.setCursor("99:problem-zzz");
+        ProblemPage page = find(pastTheEnd);
+        assertEquals(List.of(), page.getProblems());
+        assertNull(page.getNextCursor());
+
+        for (String malformed : List.of("2", "2:", ":problem-two-sum", "two:problem-two-sum")) {
+            ProblemQuery query = query(null, null, null);
+            query.setCursor(malformed);
+            assertThrows(IllegalArgumentException.class, () -> find(query), malformed);
+        }
+    }
+
+    @Test
+    void requestAppliesDefaultsAndRejectsBadInput() {
+        ProblemIndex.Request request = ProblemIndex.Request.of(query(List.of(" Hash Table", "arrays", ""), "ANY", List.of("easy")));
+        assertEquals(List.of("arrays", "hash table"), List.copyOf(request.tags()));
+        assertFalse(request.allTags());
+        assertEquals(EnumSet.of(Problem.Difficulty.EASY), request.difficulties());
+        assertNull(request.after());
+        assertEquals(ProblemIndex.DEFAULT_PAGE_SIZE, request.limit());
+
+        ProblemQuery capped = query(null, null, null);
+        capped.setLimit(10_000);
+        capped.setCursor("3:problem-three-sum");
+        assertEquals(ProblemIndex.MAX_PAGE_SIZE, ProblemIndex.Request.of(capped).limit());
+        assertEquals(new ProblemIndex.Cursor(3, "problem-three-sum"), ProblemIndex.Request.of(capped).after());
+
+        assertThrows(IllegalArgumentException.class, () -> ProblemIndex.Request.of(query(null, "some", null)));
+        assertThrows(IllegalArgumentException.class, () -> ProblemIndex.Request.of(query(null, null, List.of("trivial"))));
+        ProblemQuery empty = query(null, null, null);
+        empty.setLimit(0);
+        assertThrows(IllegalArgumentException.class, () -> ProblemIndex.Request.of(empty));
+    }
+
+    /**
+     * Follows nextCursor from the first page until there is none.
+     */
+    private List<String> walk(ProblemQuery query, int limit) {
+        query.setLimit(limit);
+        List<String> slugs = new ArrayList<>();
+        ProblemPage page;
+        do {
+            page = find(query);
+            assertTrue(page.getProblems().size() <= limit);
+            page.getProblems().forEach(problem -> slugs.add(problem.getSlug()));
+            query.setCursor(page.getNextCursor());
+        } while (page.getNextCursor() != null);
+        return slugs;
+    }
+
+    private ProblemPage find(ProblemQuery query) {
+        return new ProblemIndex(problems).find(ProblemIndex.Request.of(query));
+    }
+
+    private static BitSet bits(int... positions) {
+        BitSet bits = new BitSet();
+        for (int position : positions) {
+            bits.set(position);
+        }
+        return bits;
+    }
+
+    private static ProblemQuery query(List<String> tags, String match, List<String> difficulty) {
+        ProblemQuery query = new ProblemQuery();
+        query.setTags(tags);
+        query.setMatch(match);
+        query.setDifficulty(difficulty);
+        return query;
+    }
+
+
+    private static Problem problem(String slug, int order, Problem.Difficulty difficulty, String... tags) {
+        return Problem.builder()
+                .id("problem-" + slug).slug(slug).title(slug).order(order).difficulty(difficulty).tags(List.of(tags))
+                .build();
+    }
+}
@@ -0,0 +1,100 @@
+package com.backend_java.Migration.services.impl;
+
+import com.backend_java.Migration.models.Lesson;
+import com.backend_java.Migration.models.Question;
+import com.backend_java.Migration.models.User;
+import com.backend_java.Migration.repositories.UserRepository;
+import com.backend_java.Migration.repositories.UserRepositoryCustom;
+import com.backend_java.Migration.services.AttemptService;
+import com.backend_java.Migration.services.GradingService;
+import com.backend_java.Migration.services.ImpactService;
+import com.backend_java.Migration.services.LeaderboardService;
+import com.backend_java.Migration.services.LessonService;
+import com.backend_java.Migration.services.PasswordService;
+import com.backend_java.Migration.services.QuestionService;
+import com.backend_java.Migration.services.ReviewService;
+import com.backend_java.Migration.services.JwtService;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProgressServiceImplTest {
+
+    @Test
+    void answerLosingARaceIsReappliedOnTopOfTheStoredSchedule() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        User read = User.builder().id("ada").streakCount(3).lastActiveAt(now.minusDays(1))
+                .conceptMastery(new ArrayList<>(List.of(User.ConceptMastery.builder()
+                        .concept("loops").nextReviewAt(now.minusDays(1)).build())))
+                .build();
+        // What a concurrent correct answer on loops and a wrong one on arrays left stored first
+        User.ConceptMastery theirLoops = User.ConceptMastery.builder()
+                .concept("loops").interval(1).repetition(1).efactor(2.6).nextReviewAt(now.plusDays(1)).build();
+        User.ConceptMastery theirArrays = User.ConceptMastery.builder()
+                .concept("arrays").interval(1).repetition(0).efactor(1.7).nextReviewAt(now.plusDays(1)).build();
+        User current = User.builder().id("ada").streakCount(4).lastActiveAt(now)
+                .conceptMastery(new ArrayList<>(List.of(theirLoops, theirArrays)))
+                .build();
+
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findById("ada")).thenReturn(Optional.of(read), Optional.of(current));
+        when(userRepository.recordAnswer(eq("ada"), any())).thenReturn(false, true);
+        UserServiceImpl userService = new UserServiceImpl(userRepository, mock(PasswordService.class),
+                mock(JwtService.class), mock(LeaderboardService.class), mock(MongoTemplate.class), Runnable::run);
+
+        QuestionService questionService = mock(QuestionService.class);
+        when(questionService.getQuestionById("q-1")).thenReturn(Question.builder().id("q-1").lessonId("lesson-1")
+                .type(Question.QuestionType.MCQ).concepts(List.of("loops", "arrays")).build());
+        LessonService lessonService = mock(LessonService.class);
+        when(lessonService.getLessonById("lesson-1")).thenReturn(Lesson.builder().id("lesson-1").build());
+        GradingService gradingService = mock(GradingService.class);
+        when(gradingService.isCorrect(any(), any())).thenReturn(true);
+        AttemptService attemptService = mock(AttemptService.class);
+        when(attemptService.recordCorrectAnswer("ada", "q-1")).thenReturn(true);
+        ImpactService impactService = mock(ImpactService.class);
+        when(impactService.calculate(anyString(), anyString(), anyInt(), anyBoolean()))
+                .thenReturn(ImpactService.ImpactResult.builder().totalXP(30).multipliers(Map.of()).build());
+        ReviewService reviewService = mock(ReviewService.class);
+
+        ProgressServiceImpl progressService = new ProgressServiceImpl(questionService, userService,
+                new SrsServiceImpl(1, 6, 1.3), impactService, lessonService, attemptService, reviewService, gradingService);
+        Map<String, Object> response = progressService.validateAnswer("ada", "q-1", "answer");
+
+        ArgumentCaptor<UserRepositoryCustom.AnswerUpdate> updates = ArgumentCaptor.forClass(UserRepositoryCustom.AnswerUpdate.class);
+        verify(userRepository, times(2)).recordAnswer(eq("ada"), updates.capture());
+        UserRepositoryCustom.AnswerUpdate first = updates.getAllValues().get(0);
+        assertEquals(30, first.xpEarned());
+        assertEquals(List.of("arrays"), first.newConcepts().stream().map(User.ConceptMastery::getConcept).toList());
+
+        // The retry moves no XP again and builds on what the other answer stored
+        UserRepositoryCustom.AnswerUpdate retry = updates.getAllValues().get(1);
+        assertEquals(0, retry.xpEarned());
+        assertEquals(List.of(theirLoops, theirArrays), retry.readConcepts());
+        assertTrue(retry.newConcepts().isEmpty());
+        assertEquals(List.of(6, 1), retry.updatedConcepts().stream().map(User.ConceptMastery::getInterval).toList());
+        assertEquals(List.of(2, 1), retry.updatedConcepts().stream().map(User.ConceptMastery::getRepetition).toList());
+
+        assertEquals(4, response.get("streak"));
+        assertEquals(30, response.get("xpEarned"));
+        verify(reviewService).onMasteryUpdated("ada", retry.updatedConcepts());
+    }
+}
@@ -0,0 +1,96 @@
+package com.backend_java.Migration.services.impl;
+
+import com.backend_java.Migration.models.Question;
+import com.backend_java.Migration.models.User;
+import com.backend_java.Migration.services.CatalogService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReviewServiceImplTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 10, 18, 9, 0);
+
+    private MongoTemplate mongoTemplate;
+    private ReviewServiceImpl reviewService;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        CatalogService catalogService = mock(CatalogService.class);
+        when(catalogService.getQuestionsForConcept(anyString())).thenAnswer(invocation -> List.of(
+                Question.builder().id(invocation.getArgument(0) + "-1").build(),
+                Question.builder().id(invocation.getArgument(0) + "-2").build(),
+                Question.builder().id(invocation.getArgument(0) + "-3").build()));
+        when(catalogService.getSafeQuestion(anyString())).thenAnswer(invocation -> Map.of("id", invocation.getArgument(0)));
+        reviewService = new ReviewServiceImpl(mongoTemplate, catalogService, 100, Duration.ofHours(1), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void dueIncludesEveryConceptScheduledUpToNowInDueOrder() {
+        ReviewServiceImpl.ReviewQueue queue = new ReviewServiceImpl.ReviewQueue();
+        queue.schedule(List.of(
+                mastery("templates", NOW.plusNanos(1)),
+                // Sorts after any sentinel made of U+FFFF, so only a true upper bound keeps it due
+                mastery("\uffff\uffff", NOW),
+                mastery("pointers", NOW),
+                mastery("arrays", NOW.minusDays(2))));
+
+        assertEquals(List.of("arrays", "pointers", "\uffff\uffff"),
+                queue.due(NOW).stream().map(ReviewServiceImpl.ScheduledConcept::concept).toList());
+
+        // Rescheduling moves the concept rather than adding a second entry
+        queue.schedule(List.of(mastery("arrays", NOW.plusDays(6)), mastery("templates", NOW.minusHours(1))));
+        assertEquals(List.of("templates", "pointers", "\uffff\uffff"),
+                queue.due(NOW).stream().map(ReviewServiceImpl.ScheduledConcept::concept).toList());
+        assertEquals(4, queue.due(NOW.plusDays(7)).size());
+    }
+
+    @Test
+    void answeringReschedulesTheCachedQueueWithoutReloadingIt() {
+        LocalDateTime now = LocalDateTime.now();
+        when(mongoTemplate.findOne(any(Query.class), eq(User.class))).thenReturn(User.builder()
+                .conceptMastery(List.of(
+                        mastery("arrays", now.minusDays(2)),
+                        mastery("pointers", now.minusDays(1)),
+                        mastery("templates", now.plusDays(3))))
+                .build());
+
+        Map<String, Object> first = reviewService.buildReviewSession("learner", 3);
+        assertEquals(2, first.get("totalDue"));
+        assertEquals(List.of(Map.of("id", "arrays-1"), Map.of("id", "arrays-2"), Map.of("id", "pointers-1")),
+                first.get("questions"));
+
+        reviewService.onMasteryUpdated("learner", List.of(mastery("arrays", now.plusDays(6))));
+        Map<String, Object> afterAnswer = reviewService.buildReviewSession("learner", 10);
+        assertEquals(1, afterAnswer.get("totalDue"));
+        assertEquals(List.of(Map.of("id", "pointers-1"), Map.of("id", "pointers-2")), afterAnswer.get("questions"));
+        verify(mongoTemplate, times(1)).findOne(any(Query.class), eq(User.class));
+
+        // Not cached: nothing to update, and the next session loads the stored schedule
+        reviewService.onMasteryUpdated("someone-else", List.of(mastery("arrays", now.plusDays(6))));
+        reviewService.invalidateAll();
+        assertEquals(2, reviewService.buildReviewSession("learner", 10).get("totalDue"));
+        verify(mongoTemplate, times(2)).findOne(any(Query.class), eq(User.class));
+    }
+
+    private static User.ConceptMastery mastery(String concept, LocalDateTime nextReviewAt) {
+        return User.ConceptMastery.builder().concept(concept).nextReviewAt(nextReviewAt).build();
+    }
+}
@@ -0,0 +1,119 @@
+package com.backend_java.Migration.services.impl;
+
+import com.backend_java.Migration.dto.SearchHit;
+import com.backend_java.Migration.models.Lesson;
+import com.backend_java.Migration.models.Problem;
+import com.backend_java.Migration.services.CatalogService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SearchServiceImplTest {
+
+    private static final Lesson POINTERS = lesson("pointers", "Pointers", "Memory addresses",
+            "Dereference a pointer to read the value.", "l1");
+    private static final Lesson VECTORS = lesson("vectors", "Vectors", "Growable arrays that manage their own memory",
+            "Iterate with a range loop.", "l2");
+    private static final Problem TWO_SUM = problem("two-sum", "Two Sum",
+            "Return indices of two numbers adding up to target", List.of("Arrays", "Hash Table"), "p1");
+    private static final Problem MERGE = problem("merge-arrays", "Merge Sorted Arrays",
+            "Merge two sorted arrays in place", List.of("Arrays", "Two Pointers"), "p2");
+
+    private CatalogService catalogService;
+    private SearchServiceImpl searchService;
+
+    @BeforeEach
+    void setUp() {
+        catalogService = mock(CatalogService.class);
+        when(catalogService.getVersion()).thenReturn(1L);
+        when(catalogService.getLessons()).thenReturn(List.of(POINTERS, VECTORS));
+        when(catalogService.getProblems()).thenReturn(List.of(TWO_SUM, MERGE));
+        searchService = new SearchServiceImpl(catalogService);
+    }
+
+    @Test
+    void searchBeforeTheFirstBuildFailsInsteadOfBuilding() {
+        assertThrows(IllegalStateException.class, () -> searchService.search("arrays", 10));
+        verify(catalogService, never()).getLessons();
+    }
+
+    @Test
+    void titleMatchesOutrankTagsAndDescriptions() {
+        searchService.rebuild();
+
+        // Title, description and tag for merge-arrays; a tag for two-sum; a description for vectors
+        assertEquals(List.of("merge-arrays", "two-sum", "vectors"), slugs(searchService.search("arrays ", 10)));
+        assertEquals(List.of("two-sum"), slugs(searchService.search("two su", 10)).subList(0, 1));
+        assertEquals(List.of(), searchService.search(" ,. ", 10));
+    }
+
+    @Test
+    void onlyAQueryStillBeingTypedMatchesAsAPrefix() {
+        searchService.rebuild();
+
+        assertEquals(List.of("merge-arrays", "two-sum", "vectors"), slugs(searchService.search("arra", 10)));
+        assertEquals(List.of(), searchService.search("arra ", 10));
+        assertEquals(List.of(), searchService.search("arra,", 10));
+        assertEquals(List.of("pointers"), slugs(searchService.search("Pointer", 10)).subList(0, 1));
+        assertEquals(List.of("pointers"), slugs(searchService.search("pointer.", 10)));
+    }
+
+    @Test
+    void limitKeepsTheBestHits() {
+        searchService.rebuild();
+
+        assertEquals(List.of("merge-arrays", "two-sum"), slugs(searchService.search("arrays ", 2)));
+        assertEquals(3, searchService.search("arrays ", 500).size());
+        assertThrows(IllegalArgumentException.class, () -> searchService.search("arrays ", 0));
+    }
+
+    @Test
+    void reloadReanalyzesOnlyDocumentsWhoseHashChanged() {
+        searchService.rebuild();
+        Problem edited = problem("two-sum", "Two Sum",
+                "Return indices of two numbers adding up to goal", List.of("Arrays", "Hash Table"), "p1-edited");
+        // Same hash as before, so its analysis is reused and the new body is never read
+        Lesson unchanged = lesson("pointers", "Pointers", "Memory addresses", "Rewritten body.", "l1");
+        when(catalogService.getVersion()).thenReturn(2L);
+        when(catalogService.getLessons()).thenReturn(List.of(unchanged, VECTORS));
+        when(catalogService.getProblems()).thenReturn(List.of(edited, MERGE));
+
+        // Searches keep serving the built index until the reload event rebuilds it
+        assertEquals(List.of("two-sum"), slugs(searchService.search("target ", 10)));
+
+        searchService.onCatalogReloaded(new CatalogService.CatalogReloadedEvent(2L));
+
+        assertEquals(List.of(), searchService.search("target ", 10));
+        assertEquals(List.of("two-sum"), slugs(searchService.search("goal ", 10)));
+        assertEquals(List.of("pointers"), slugs(searchService.search("dereference ", 10)));
+        assertEquals(List.of(), searchService.search("rewritten ", 10));
+    }
+
+    private static List<String> slugs(List<SearchHit> hits) {
+        return hits.stream().map(SearchHit::getSlug).toList();
+    }
+
+    private static Lesson lesson(String slug, String title, String description, String body, String contentHash) {
+        return Lesson.builder()
+                .id("lesson-" + slug).slug(slug).title(title).description(description)
+                .content(List.of(Map.of("type", "text", "body", body)))
+                .contentHash(contentHash)
+                .build();
+    }
+
+    private static Problem problem(String slug, String title, String description, List<String> tags, String contentHash) {
+        return Problem.builder()
+                .id("problem-" + slug).slug(slug).title(title).description(description).tags(tags)
+                .contentHash(contentHash)
+                .build();
+    }
+}
@@ -0,0 +1,151 @@
+package com.backend_java.Migration.services.impl;
+
+import com.backend_java.Migration.services.CatalogService;
+import com.backend_java.Migration.services.ReviewService;
+import com.backend_java.Migration.services.SrsRecomputeService.RecomputeReport;
+import com.backend_java.Migration.services.SrsService;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Updates;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.net.InetSocketAddress;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class SrsRecomputeServiceImplTest {
+
+    private static final Date DUE = new Date(1_790_000_000_000L);
+    private static final long DAY = 24 * 60 * 60 * 1000L;
+
+    private MongoServer server;
+    private MongoClient client;
+    private MongoTemplate mongoTemplate;
+    private ReviewService reviewService;
+    private List<ObjectId> users;
+
+    @BeforeEach
+    void setUp() {
+        server = new MongoServer(new MemoryBackend());
+        InetSocketAddress address = server.bind();
+        client = MongoClients.create("mongodb://" + address.getHostString() + ":" + address.getPort());
+        mongoTemplate = new MongoTemplate(client, "srs");
+        reviewService = mock(ReviewService.class);
+
+        // Even users sit on the second repetition with a stale 3-day interval and get rescheduled;
+        // odd users are already on the first interval and are left alone
+        users = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            ObjectId id = new ObjectId();
+            users.add(id);
+            Document mastery = i % 2 == 0 ? concept("pointers", 3, 1, 2.5) : concept("pointers", 1, 0, 2.5);
+            mongoTemplate.getCollection("users").insertOne(new Document("_id", id)
+                    .append("conceptMastery", List.of(mastery)));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+        server.shutdown();
+    }
+
+    @Test
+    void fullRunRewritesOnlyChangedSchedulesAndCompletesTheCheckpoint() {
+        RecomputeReport report = recompute(new SrsServiceImpl(1, 6, 1.3)).recompute("full", false);
+
+        assertEquals(7, report.usersScanned());
+        assertEquals(4, report.usersUpdated());
+        assertEquals(users.get(6).toHexString(), report.lastUserId());
+        for (int i = 0; i < users.size(); i += 2) {
+            Document concept = masteryOf(users.get(i));
+            assertEquals(1, concept.getInteger("interval"));
+            assertEquals(new Date(DUE.getTime() - 2 * DAY), concept.getDate("nextReviewAt"));
+        }
+        assertEquals(concept("pointers", 1, 0, 2.5), masteryOf(users.get(1)));
+
+        Document checkpoint = mongoTemplate.findById("full", Document.class, "srs_recompute_checkpoints");
+        assertTrue(checkpoint.getBoolean("completed"));
+        assertEquals(users.get(6), checkpoint.get("lastUserId"));
+        verify(reviewService).invalidateAll();
+    }
+
+    @Test
+    void resumeContinuesAfterTheCheckpointedUser() {
+        mongoTemplate.getCollection("srs_recompute_checkpoints").insertOne(new Document("_id", "resumed")
+                .append("lastUserId", users.get(3))
+                .append("usersScanned", 4L)
+                .append("usersUpdated", 2L)
+                .append("completed", false));
+
+        RecomputeReport report = recompute(new SrsServiceImpl(1, 6, 1.3)).recompute("resumed", true);
+
+        assertEquals(7, report.usersScanned());
+        assertEquals(4, report.usersUpdated());
+        assertEquals(3, masteryOf(users.get(0)).getInteger("interval"));
+        assertEquals(3, masteryOf(users.get(2)).getInteger("interval"));
+        assertEquals(1, masteryOf(users.get(4)).getInteger("interval"));
+        assertEquals(1, masteryOf(users.get(6)).getInteger("interval"));
+    }
+
+    @Test
+    void userGradedDuringTheRunKeepsTheConcurrentWrite() {
+        ObjectId graded = users.get(2);
+        mongoTemplate.getCollection("users").updateOne(Filters.eq("_id", graded),
+                Updates.set("conceptMastery", List.of(concept("pointers", 3, 1, 2.2))));
+        AtomicBoolean answered = new AtomicBoolean();
+        SrsService srsService = new SrsServiceImpl(1, 6, 1.3) {
+            @Override
+            public SrsStats reschedule(int interval, int repetition, double efactor, LocalDateTime nextReviewAt) {
+                // The user answers between the batch read and its bulk write
+                if (efactor == 2.2 && answered.compareAndSet(false, true)) {
+                    mongoTemplate.getCollection("users").updateOne(Filters.eq("_id", graded),
+                            Updates.set("conceptMastery", List.of(concept("pointers", 6, 2, 2.2))));
+                }
+                return super.reschedule(interval, repetition, efactor, nextReviewAt);
+            }
+        };
+
+        RecomputeReport report = recompute(srsService).recompute("graded", false);
+
+        assertTrue(answered.get());
+        assertEquals(7, report.usersScanned());
+        assertEquals(3, report.usersUpdated());
+        assertEquals(concept("pointers", 6, 2, 2.2), masteryOf(graded));
+        assertEquals(1, masteryOf(users.get(4)).getInteger("interval"));
+    }
+
+    private SrsRecomputeServiceImpl recompute(SrsService srsService) {
+        // Batches of two, so the seven users span four bulk writes and three checkpoints
+        return new SrsRecomputeServiceImpl(mongoTemplate, srsService, mock(CatalogService.class), reviewService, 2, 2, true);
+    }
+
+    private Document masteryOf(ObjectId userId) {
+        Document user = mongoTemplate.getCollection("users").find(Filters.eq("_id", userId)).first();
+        return user.getList("conceptMastery", Document.class).get(0);
+    }
+
+    private static Document concept(String name, int interval, int repetition, double efactor) {
+        return new Document("concept", name)
+                .append("interval", interval)
+                .append("repetition", repetition)
+                .append("efactor", efactor)
+                .append("nextReviewAt", DUE);
+    }
+}
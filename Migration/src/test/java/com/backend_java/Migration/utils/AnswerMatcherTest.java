@@ -0,0 +1,60 @@
+package com.backend_java.Migration.utils;
+
+import com.backend_java.Migration.models.Question;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compiled matchers must grade exactly like the per-request comparisons they replaced.
+ */
+class AnswerMatcherTest {
+
+    private static final List<Object> SOLUTIONS = Arrays.asList(
+            1, 0, -3, "1", "01", "b", "", null, 2_147_483_647L, 1.0,
+            "std::cout << x;", " int  a=0 ; ", "\"unterminated", List.of(0, 1, 2), List.of("0", "1", "2"),
+            Arrays.asList(1, "x", null), List.of(1, 2));
+
+    private static final List<Object> ANSWERS = Arrays.asList(
+            1, 0, -3, "1", "01", "b", "", null, 2_147_483_647L, 2_147_483_647, 1.0, "1.0", "null", true,
+            "std :: cout<<x ;", "int a = 0;", "\"unterminated", "unterminated",
+            List.of(0, 1, 2), List.of("0", "1", "2"), List.of(0L, 1L, 2L), Arrays.asList(1, "x", null),
+            Arrays.asList(1, "x", "null"), List.of(1, 2), List.of(1), List.of());
+
+    @Test
+    void gradesLikeLegacyComparisons() {
+        for (Question.QuestionType type : Question.QuestionType.values()) {
+            for (Object solution : SOLUTIONS) {
+                Question question = Question.builder().id("q").type(type).solution(solution).build();
+                AnswerMatcher matcher = AnswerMatcher.compile(question);
+                for (Object answer : ANSWERS) {
+                    assertEquals(outcome(() -> legacy(question, answer)), outcome(() -> matcher.matches(answer)),
+                            () -> type + " solution=" + solution + " answer=" + answer);
+                }
+            }
+        }
+    }
+
+    private static boolean legacy(Question question, Object answer) {
+        if (question.getType() == Question.QuestionType.MCQ) {
+            return String.valueOf(answer).equals(String.valueOf(question.getSolution()));
+        } else if (question.getType() == Question.QuestionType.FILL_IN_BLANK) {
+            return CppValidator.validateFillInBlank((String) answer, (String) question.getSolution());
+        } else if (question.getType() == Question.QuestionType.PARSONS) {
+            return CppValidator.validateParsons(answer, question.getSolution());
+        }
+        return false;
+    }
+
+    private static String outcome(BooleanSupplier grade) {
+        try {
+            return String.valueOf(grade.getAsBoolean());
+        } catch (RuntimeException e) {
+            return e.getClass().getSimpleName();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.backend_java.Migration.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Differential test against the regex tokenizer the lexer replaced.
+ */
+class CppLexerTest {
+
+    private static final Pattern ORACLE = Pattern.compile("\"(?:\\\\.|[^\"\\\\])*\"|'(?:\\\\.|[^'\\\\])*'|[a-zA-Z_]\\w*|[0-9]+|<<|>>|\\+\\+|--|==|!=|>=|<=|&&|\\|\\||->|::|[\\+\\-\\*\\/\\%=\\&\\|\\!<>:;,\\.\\(\\)\\[\\]\\{\\}]");
+
+    private static final String[] FRAGMENTS = {
+            "\"", "'", "\\", "\n", "\r", "\r\n", "\u0085", "\u2028", "\u2029", "\t", " ", " ", "\u0000",
+            "a", "Z", "_", "x1", "std", "cout", "0", "42", "9",
+            "<", ">", "=", "!", "+", "-", "&", "|", ":", "*", "/", "%", ";", ",", ".", "(", ")", "[", "]", "{", "}",
+            "<<", ">>", "->", "::", "<=", "#", "~", "^", "?", "@", "$", "`",
+            "\u00e9", "\u00df", "\u0663", "\uD83D\uDE00", "\uD83D", "\uDE00",
+            "\"a\\\"b\"", "'\\n'", "\"\\\n\"", "\\\"", "\\'",
+    };
+
+    @Test
+    void tokenizeMatchesRegex() {
+        Random random = new Random(20240611L);
+        for (int i = 0; i < 50_000; i++) {
+            String code = randomCode(random);
+            assertEquals(oracleTokens(code), CppValidator.tokenize(code), () -> "input: " + escape(code));
+        }
+    }
+
+    @Test
+    void fillInBlankMatchesRegex() {
+        Random random = new Random(7L);
+        for (int i = 0; i < 50_000; i++) {
+            String solution = randomCode(random);
+            String input = random.nextInt(3) == 0 ? randomCode(random) : mutate(solution, random);
+            boolean expected = oracleTokens(input.trim()).equals(oracleTokens(solution.trim()));
+            assertEquals(expected, CppValidator.validateFillInBlank(input, solution),
+                    () -> "input: " + escape(input) + " solution: " + escape(solution));
+        }
+    }
+
+    @Test
+    void examples() {
+        assertEquals(List.of("std", "::", "cout", "<<", "\"hi\\\"\"", ";"), CppValidator.tokenize("std::cout << \"hi\\\"\";"));
+        assertEquals(List.of("a", "b"), CppValidator.tokenize("\"a b"));
+        assertEquals(List.of("x", "<<", "="), CppValidator.tokenize("x <<="));
+        assertEquals(List.of("--", ">"), CppValidator.tokenize("-->"));
+    }
+
+    private static String randomCode(Random random) {
+        StringBuilder code = new StringBuilder();
+        int fragments = random.nextInt(24);
+        for (int i = 0; i < fragments; i++) {
+            code.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+        }
+        return code.toString();
+    }
+
+    /**
+     * Whitespace edits keep most answers token-equal; the rest usually change one token.
+     */
+    private static String mutate(String code, Random random) {
+        StringBuilder mutated = new StringBuilder(code);
+        int edits = 1 + random.nextInt(3);
+        for (int i = 0; i < edits; i++) {
+            int at = random.nextInt(mutated.length() + 1);
+            switch (random.nextInt(4)) {
+                case 0 -> mutated.insert(at, ' ');
+                case 1 -> mutated.insert(at, '\n');
+                case 2 -> mutated.insert(at, FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+                default -> {
+                    if (at < mutated.length()) {
+                        mutated.deleteCharAt(at);
+                    }
+                }
+            }
+        }
+        return mutated.toString();
+    }
+
+    private static List<String> oracleTokens(String code) {
+        List<String> tokens = new ArrayList<>();
+        Matcher matcher = ORACLE.matcher(code);
+        while (matcher.find()) {
+            tokens.add(matcher.group());
+        }
+        return tokens;
+    }
+
+    private static String escape(String s) {
+        StringBuilder out = new StringBuilder();
+        s.chars().forEach(c -> out.append(c < 0x20 || c > 0x7e ? String.format("\\u%04x", c) : String.valueOf((char) c)));
+        return out.toString();
+    }
+}
@@ -0,0 +1,90 @@
+package com.backend_java.Migration.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares two JMH JSON results (run with {@code -prof gc -rf json}).
+ * <p>
+ * Time is flagged only when the difference exceeds both runs' error bars, so a run whose error
+ * is more than {@code maxError} (default 25%) of its score could hide any slowdown and is flagged
+ * as noisy instead. Bytes allocated per operation are nearly deterministic, so any growth beyond
+ * {@code allocTolerance} (default 5%) is flagged. Exits with status 1 when anything regressed or
+ * was too noisy to tell, and 2 when a file lacks the {@code -prof gc} allocation figures.
+ * <pre>
+ * java -cp target/benchmarks.jar com.backend_java.Migration.benchmarks.BaselineComparison \
+ *     baseline/jmh-result.json jmh-result.json [allocTolerance [maxError]]
+ * </pre>
+ */
+public final class BaselineComparison {
+
+    private static final String ALLOC = "gc.alloc.rate.norm";
+
+    private record Result(double score, double error, String unit, double allocPerOp) {}
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: BaselineComparison <baseline.json> <current.json> [allocTolerance [maxError]]");
+            System.exit(2);
+        }
+        Map<String, Result> baseline = read(new File(args[0]));
+        Map<String, Result> current = read(new File(args[1]));
+        double allocTolerance = args.length > 2 ? Double.parseDouble(args[2]) : 0.05;
+        double maxError = args.length > 3 ? Double.parseDouble(args[3]) : 0.25;
+
+        boolean regressed = false;
+        System.out.printf("%-60s %14s %14s %8s %12s %12s %8s%n",
+                "benchmark", "baseline", "current", "time", "B/op base", "B/op now", "alloc");
+        for (Map.Entry<String, Result> entry : current.entrySet()) {
+            Result before = baseline.get(entry.getKey());
+            Result now = entry.getValue();
+            if (before == null) {
+                System.out.printf("%-60s %14s %11.1f %2s %8s%n", entry.getKey(), "-", now.score(), unit(now), "new");
+                continue;
+            }
+            double timeDelta = (now.score() - before.score()) / before.score();
+            boolean slower = now.score() - now.error() > before.score() + before.error();
+            boolean faster = now.score() + now.error() < before.score() - before.error();
+            double allocDelta = before.allocPerOp() > 0 ? (now.allocPerOp() - before.allocPerOp()) / before.allocPerOp() : 0;
+            boolean allocGrew = now.allocPerOp() - before.allocPerOp() > Math.max(8, before.allocPerOp() * allocTolerance);
+            boolean noisy = before.error() > before.score() * maxError || now.error() > now.score() * maxError;
+            regressed |= slower || noisy || allocGrew;
+
+            System.out.printf("%-60s %11.1f %2s %11.1f %2s %+7.1f%% %12.1f %12.1f %+7.1f%%%s%n",
+                    entry.getKey(), before.score(), unit(before), now.score(), unit(now), timeDelta * 100,
+                    before.allocPerOp(), now.allocPerOp(), allocDelta * 100,
+                    (slower ? "  SLOWER" : faster ? "  faster" : noisy ? "  NOISY" : "") + (allocGrew ? "  ALLOC" : ""));
+        }
+        System.exit(regressed ? 1 : 0);
+    }
+
+    private static String unit(Result result) {
+        return result.unit().replace("/op", "");
+    }
+
+    private static Map<String, Result> read(File file) throws IOException {
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file)) {
+            StringBuilder name = new StringBuilder(run.get("benchmark").asText().replace("com.backend_java.Migration.benchmarks.", ""));
+            // One entry per @Param combination, e.g. SearchBenchmark.searchWords:problems=1000
+            run.path("params").fields().forEachRemaining(param ->
+                    name.append(':').append(param.getKey()).append('=').append(param.getValue().asText()));
+            JsonNode primary = run.get("primaryMetric");
+            JsonNode alloc = run.path("secondaryMetrics").path(ALLOC).path("score");
+            if (!alloc.isNumber()) {
+                // Reading it as 0 B/op would hide any allocation growth
+                System.err.println(file + ": " + name + " has no " + ALLOC + "; record it with -prof gc");
+                System.exit(2);
+            }
+            double error = primary.get("scoreError").asDouble();
+            results.put(name.toString(), new Result(primary.get("score").asDouble(), Double.isNaN(error) ? 0 : error,
+                    primary.get("scoreUnit").asText(), alloc.asDouble()));
+        }
+        return results;
+    }
+}
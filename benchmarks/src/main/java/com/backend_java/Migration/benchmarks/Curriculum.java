@@ -0,0 +1,104 @@
+package com.backend_java.Migration.benchmarks;
+
+import com.backend_java.Migration.models.Lesson;
+import com.backend_java.Migration.models.Question;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The shipped curriculum.json mapped the way DataSeeder maps it, with synthetic ids,
+ * plus the code snippets from lesson content as realistic longer C++ inputs.
+ */
+public final class Curriculum {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    public final List<Lesson> lessons = new ArrayList<>();
+    public final List<Question> questions = new ArrayList<>();
+    public final List<String> codeSnippets = new ArrayList<>();
+
+    private Curriculum() {
+    }
+
+    public static Curriculum load() {
+        try (InputStream is = Curriculum.class.getClassLoader().getResourceAsStream("curriculum.json")) {
+            if (is == null) {
+                throw new IllegalStateException("curriculum.json not on the classpath");
+            }
+            return parse(MAPPER.readTree(is));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public List<Question> questionsOfType(Question.QuestionType type) {
+        return questions.stream().filter(q -> q.getType() == type).toList();
+    }
+
+    private static Curriculum parse(JsonNode root) {
+        Curriculum curriculum = new Curriculum();
+        int order = 0;
+        for (JsonNode unitNode : root.get("units")) {
+            for (JsonNode lessonNode : unitNode.get("lessons")) {
+                Lesson lesson = Lesson.builder()
+                        .id(String.format("%024x", order))
+                        .title(lessonNode.get("title").asText())
+                        .slug(lessonNode.get("slug").asText())
+                        .description(lessonNode.get("description").asText())
+                        .level(Lesson.DifficultyLevel.valueOf(lessonNode.get("level").asText().toUpperCase()))
+                        .order(order++)
+                        .type(Lesson.LessonType.LESSON)
+                        .isPublished(true)
+                        .build();
+                lesson.setContent(MAPPER.convertValue(lessonNode.get("content"), new TypeReference<List<Object>>() {}));
+                curriculum.lessons.add(lesson);
+
+                for (JsonNode contentNode : lessonNode.get("content")) {
+                    if ("code".equals(contentNode.path("type").asText())) {
+                        curriculum.codeSnippets.add(contentNode.get("body").asText());
+                    }
+                }
+
+                for (JsonNode qNode : lessonNode.get("questions")) {
+                    Question question = Question.builder()
+                            .id(String.format("%024x", 1_000_000 + curriculum.questions.size()))
+                            .lessonId(lesson.getId())
+                            .type(Question.QuestionType.valueOf(qNode.get("type").asText().replace("-", "_").toUpperCase()))
+                            .prompt(qNode.get("prompt").asText())
+                            .build();
+                    if (qNode.has("options")) {
+                        question.setOptions(MAPPER.convertValue(qNode.get("options"), new TypeReference<List<String>>() {}));
+                    }
+                    JsonNode solutionNode = qNode.get("solution");
+                    if (solutionNode != null) {
+                        if (solutionNode.isNumber()) {
+                            question.setSolution(solutionNode.asInt());
+                        } else if (solutionNode.isArray()) {
+                            question.setSolution(MAPPER.convertValue(solutionNode, new TypeReference<List<Integer>>() {}));
+                        } else {
+                            question.setSolution(solutionNode.asText());
+                        }
+                    }
+                    if (qNode.has("blocks")) {
+                        question.setBlocks(MAPPER.convertValue(qNode.get("blocks"), new TypeReference<List<String>>() {}));
+                    }
+                    if (qNode.has("codeTemplate")) {
+                        question.setCodeTemplate(qNode.get("codeTemplate").asText());
+                    }
+                    if (qNode.has("concepts")) {
+                        question.setConcepts(MAPPER.convertValue(qNode.get("concepts"), new TypeReference<List<String>>() {}));
+                    }
+                    curriculum.questions.add(question);
+                }
+            }
+        }
+        return curriculum;
+    }
+}
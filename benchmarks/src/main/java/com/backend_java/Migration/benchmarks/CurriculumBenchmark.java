@@ -0,0 +1,114 @@
+package com.backend_java.Migration.benchmarks;
+
+import com.backend_java.Migration.config.CacheConfig;
+import com.backend_java.Migration.models.Lesson;
+import com.backend_java.Migration.models.Progress;
+import com.backend_java.Migration.repositories.LessonRepository;
+import com.backend_java.Migration.repositories.ProblemRepository;
+import com.backend_java.Migration.repositories.ProgressRepository;
+import com.backend_java.Migration.repositories.QuestionRepository;
+import com.backend_java.Migration.services.CatalogService;
+import com.backend_java.Migration.services.impl.CatalogServiceImpl;
+import com.backend_java.Migration.services.impl.LessonServiceImpl;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GET /api/curriculum for a population of users at different points of the course, with the
+ * production catalog and view cache over in-memory repositories. {@code curriculumCached} is a
+ * view-cache hit; {@code curriculumRebuild} drops the user's entry first, as a progress write does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CurriculumBenchmark {
+
+    private static final int USERS = 1024;
+
+    private LessonServiceImpl lessonService;
+    private Cache<String, List<Map<String, Object>>> curriculumViewCache;
+    private String[] userIds;
+    private int step;
+
+    @Setup
+    public void setUp() {
+        Curriculum curriculum = Curriculum.load();
+        Map<String, List<Progress>> progressByUser = population(curriculum.lessons, new Random(7));
+        userIds = progressByUser.keySet().toArray(String[]::new);
+
+        LessonRepository lessonRepository = InMemoryRepositories.of(LessonRepository.class, Map.of(
+                "findAll", args -> curriculum.lessons));
+        QuestionRepository questionRepository = InMemoryRepositories.of(QuestionRepository.class, Map.of(
+                "findAll", args -> curriculum.questions));
+        ProgressRepository progressRepository = InMemoryRepositories.of(ProgressRepository.class, Map.of(
+                "findByUserId", args -> progressByUser.getOrDefault((String) args[0], List.of())));
+
+        ProblemRepository problemRepository = InMemoryRepositories.of(ProblemRepository.class, Map.of(
+                "findAll", args -> List.of()));
+
+        CatalogService catalogService = new CatalogServiceImpl(lessonRepository, questionRepository,
+                problemRepository, event -> { }, new SimpleMeterRegistry());
+        catalogService.reload();
+        curriculumViewCache = new CacheConfig().curriculumViewCache(10_000, Duration.ofMinutes(30), new SimpleMeterRegistry());
+        lessonService = new LessonServiceImpl(lessonRepository, questionRepository, progressRepository,
+                catalogService, curriculumViewCache);
+        for (String userId : userIds) {
+            lessonService.getCurriculumForUser(userId);
+        }
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> curriculumCached() {
+        return lessonService.getCurriculumForUser(userIds[step++ & (USERS - 1)]);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> curriculumRebuild() {
+        String userId = userIds[step++ & (USERS - 1)];
+        curriculumViewCache.invalidate(userId);
+        return lessonService.getCurriculumForUser(userId);
+    }
+
+    /**
+     * Each user has completed a random prefix of the course and unlocked the next lesson.
+     */
+    private static Map<String, List<Progress>> population(List<Lesson> lessons, Random random) {
+        Map<String, List<Progress>> progressByUser = new HashMap<>();
+        for (int u = 0; u < USERS; u++) {
+            String userId = String.format("u%023x", u);
+            int completed = random.nextInt(lessons.size() + 1);
+            List<Progress> progress = new ArrayList<>();
+            for (int i = 0; i < completed; i++) {
+                progress.add(Progress.builder().userId(userId).lessonId(lessons.get(i).getId())
+                        .status(Progress.Status.COMPLETED).bestScore(60 + random.nextInt(41)).attempts(1).build());
+            }
+            if (completed < lessons.size()) {
+                progress.add(Progress.builder().userId(userId).lessonId(lessons.get(completed).getId())
+                        .status(Progress.Status.UNLOCKED).build());
+            }
+            progressByUser.put(userId, progress);
+        }
+        return progressByUser;
+    }
+}
@@ -0,0 +1,49 @@
+package com.backend_java.Migration.benchmarks;
+
+import com.backend_java.Migration.services.ImpactService;
+import com.backend_java.Migration.services.SrsService;
+import com.backend_java.Migration.services.impl.ImpactServiceImpl;
+import com.backend_java.Migration.services.impl.SrsServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * XP and SM-2 scheduling, evaluated once per graded answer. Inputs rotate so neither the
+ * branch predictor nor the JIT sees a single constant case.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GamificationBenchmark {
+
+    private static final String[] QUESTION_TYPES = {"MCQ", "FILL_IN_BLANK", "PARSONS"};
+    private static final String[] LEVELS = {"Beginner", "Intermediate", "Advanced", "Master"};
+
+    private final ImpactService impactService = new ImpactServiceImpl();
+    private final SrsService srsService = new SrsServiceImpl(1, 6, 1.3);
+    private int step;
+
+    @Benchmark
+    public ImpactService.ImpactResult impactCalculate() {
+        int i = step++;
+        return impactService.calculate(QUESTION_TYPES[i % 3], LEVELS[(i >> 2) & 3], i & 63, (i & 1) == 0);
+    }
+
+    @Benchmark
+    public SrsService.SrsStats srsCalculateNextReview() {
+        int i = step++;
+        return srsService.calculateNextReview(1 + (i & 31), i & 7, 1.3 + (i & 15) * 0.1, (i & 1) == 0 ? 5 : i % 5);
+    }
+}
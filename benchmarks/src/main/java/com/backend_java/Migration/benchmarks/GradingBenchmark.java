@@ -0,0 +1,125 @@
+package com.backend_java.Migration.benchmarks;
+
+import com.backend_java.Migration.models.Question;
+import com.backend_java.Migration.utils.AnswerMatcher;
+import com.backend_java.Migration.utils.CppValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Grading over the real curriculum. Each answer set mixes correct submissions (verbatim and
+ * re-spaced) with wrong ones (another question's solution), the way a class actually answers.
+ * One invocation grades the whole set, so compare scores only between runs of the same curriculum.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GradingBenchmark {
+
+    private String[] sources;
+    private String[] fillInAnswers;
+    private String[] fillInSolutions;
+    private AnswerMatcher[] fillInMatchers;
+    private Object[] parsonsAnswers;
+    private Object[] parsonsSolutions;
+    private AnswerMatcher[] parsonsMatchers;
+
+    @Setup
+    public void setUp() {
+        Curriculum curriculum = Curriculum.load();
+        Random random = new Random(42);
+
+        List<Question> fillIn = curriculum.questionsOfType(Question.QuestionType.FILL_IN_BLANK);
+        List<String> code = new ArrayList<>(curriculum.codeSnippets);
+        List<String> answers = new ArrayList<>();
+        List<String> solutions = new ArrayList<>();
+        List<AnswerMatcher> matchers = new ArrayList<>();
+        for (Question question : fillIn) {
+            String solution = (String) question.getSolution();
+            code.add(question.getCodeTemplate().replace("___", solution));
+            for (String answer : List.of(solution, " " + solution.replace(" ", "  ") + "\n",
+                    (String) fillIn.get(random.nextInt(fillIn.size())).getSolution())) {
+                answers.add(answer);
+                solutions.add(solution);
+                matchers.add(AnswerMatcher.compile(question));
+            }
+        }
+        sources = code.toArray(String[]::new);
+        fillInAnswers = answers.toArray(String[]::new);
+        fillInSolutions = solutions.toArray(String[]::new);
+        fillInMatchers = matchers.toArray(AnswerMatcher[]::new);
+
+        List<Question> parsons = curriculum.questionsOfType(Question.QuestionType.PARSONS);
+        List<Object> parsonsAnswerList = new ArrayList<>();
+        List<Object> parsonsSolutionList = new ArrayList<>();
+        List<AnswerMatcher> parsonsMatcherList = new ArrayList<>();
+        for (Question question : parsons) {
+            List<?> solution = (List<?>) question.getSolution();
+            List<Object> swapped = new ArrayList<>(solution);
+            if (swapped.size() > 1) {
+                swapped.set(0, solution.get(1));
+                swapped.set(1, solution.get(0));
+            }
+            for (Object answer : List.of(List.copyOf(solution), swapped)) {
+                parsonsAnswerList.add(answer);
+                parsonsSolutionList.add(solution);
+                parsonsMatcherList.add(AnswerMatcher.compile(question));
+            }
+        }
+        parsonsAnswers = parsonsAnswerList.toArray();
+        parsonsSolutions = parsonsSolutionList.toArray();
+        parsonsMatchers = parsonsMatcherList.toArray(AnswerMatcher[]::new);
+    }
+
+    @Benchmark
+    public void tokenize(Blackhole bh) {
+        for (String source : sources) {
+            bh.consume(CppValidator.tokenize(source));
+        }
+    }
+
+    @Benchmark
+    public void validateFillInBlank(Blackhole bh) {
+        for (int i = 0; i < fillInAnswers.length; i++) {
+            bh.consume(CppValidator.validateFillInBlank(fillInAnswers[i], fillInSolutions[i]));
+        }
+    }
+
+    @Benchmark
+    public void fillInBlankMatcher(Blackhole bh) {
+        for (int i = 0; i < fillInAnswers.length; i++) {
+            bh.consume(fillInMatchers[i].matches(fillInAnswers[i]));
+        }
+    }
+
+    @Benchmark
+    public void validateParsons(Blackhole bh) {
+        for (int i = 0; i < parsonsAnswers.length; i++) {
+            bh.consume(CppValidator.validateParsons(parsonsAnswers[i], parsonsSolutions[i]));
+        }
+    }
+
+    @Benchmark
+    public void parsonsMatcher(Blackhole bh) {
+        for (int i = 0; i < parsonsAnswers.length; i++) {
+            bh.consume(parsonsMatchers[i].matches(parsonsAnswers[i]));
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.backend_java.Migration.benchmarks;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Stand-ins for the Spring Data repository interfaces, backed by lambdas. Only the methods a
+ * benchmark registers are implemented; anything else fails loudly instead of touching Mongo.
+ */
+final class InMemoryRepositories {
+
+    private InMemoryRepositories() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> T of(Class<T> repositoryType, Map<String, Function<Object[], Object>> methods) {
+        return (T) Proxy.newProxyInstance(repositoryType.getClassLoader(), new Class<?>[]{repositoryType},
+                (proxy, method, args) -> {
+                    Function<Object[], Object> implementation = methods.get(method.getName());
+                    if (implementation != null) {
+                        return implementation.apply(args);
+                    }
+                    return switch (method.getName()) {
+                        case "toString" -> "InMemory" + repositoryType.getSimpleName();
+                        case "hashCode" -> System.identityHashCode(proxy);
+                        case "equals" -> proxy == args[0];
+                        default -> throw new UnsupportedOperationException(
+                                repositoryType.getSimpleName() + "." + method.getName() + " is not stubbed");
+                    };
+                });
+    }
+}
@@ -0,0 +1,69 @@
+package com.backend_java.Migration.benchmarks;
+
+import com.backend_java.Migration.models.User;
+import com.backend_java.Migration.services.JwtService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and per-request verification. {@code extractUserIdCached} is the steady state
+ * (verified-token cache hit); {@code extractUserIdVerify} cycles through more tokens than a
+ * deliberately tiny cache holds, so nearly every call pays the full HMAC check. The JJWT and
+ * Jackson paths take several seconds to compile on one core, hence the longer warmup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 8, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class JwtBenchmark {
+
+    private static final int TOKENS = 4096;
+
+    private JwtService jwtService;
+    private JwtService uncachedJwtService;
+    private User user;
+    private String[] tokens;
+    private int step;
+
+    @Setup
+    public void setUp() {
+        jwtService = Services.jwtService(100_000);
+        uncachedJwtService = Services.jwtService(16);
+        user = User.builder().id("65f1c2a9e4b0a1b2c3d4e5f6").email("student@example.com").username("student").build();
+        tokens = new String[TOKENS];
+        for (int i = 0; i < TOKENS; i++) {
+            tokens[i] = jwtService.generateToken(User.builder()
+                    .id(String.format("%024x", i)).email("user" + i + "@example.com").build());
+        }
+        for (String token : tokens) {
+            jwtService.extractUserId(token);
+        }
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String extractUserIdCached() {
+        return jwtService.extractUserId(tokens[step++ & (TOKENS - 1)]);
+    }
+
+    @Benchmark
+    public String extractUserIdVerify() {
+        return uncachedJwtService.extractUserId(tokens[step++ & (TOKENS - 1)]);
+    }
+}
@@ -0,0 +1,113 @@
+package com.backend_java.Migration.benchmarks;
+
+import com.backend_java.Migration.dto.SearchHit;
+import com.backend_java.Migration.models.Problem;
+import com.backend_java.Migration.repositories.LessonRepository;
+import com.backend_java.Migration.repositories.ProblemRepository;
+import com.backend_java.Migration.repositories.QuestionRepository;
+import com.backend_java.Migration.services.CatalogService;
+import com.backend_java.Migration.services.impl.CatalogServiceImpl;
+import com.backend_java.Migration.services.impl.SearchServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GET /api/search over the shipped curriculum plus a synthetic problem bank of {@code problems}
+ * entries, worded from the curriculum's own vocabulary. Sampled, so the JMH output carries the
+ * p99 the endpoint is held to (well under 5 ms). {@code searchTyping} ends mid-word and expands
+ * the prefix; {@code searchWords} matches whole words only.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SearchBenchmark {
+
+    private static final String[] TAGS = {"Arrays", "Hash Table", "Strings", "Two Pointers", "Sliding Window",
+            "Linked List", "Math", "Recursion", "Sorting", "Binary Search", "Stack", "Queue", "Tree", "Graph",
+            "Dynamic Programming", "Greedy", "Bit Manipulation", "Heap", "Trie", "Backtracking"};
+    private static final String[] TYPING = {"vec", "point", "hash ta", "std::co", "loop ov", "dyn", "ref", "templ"};
+    private static final String[] WORDS = {"vector ", "pointer arithmetic ", "hash table ", "std cout ",
+            "loop over array ", "dynamic programming ", "reference ", "template class "};
+
+    @Param({"1000", "10000"})
+    public int problems;
+
+    private SearchServiceImpl searchService;
+    private int step;
+
+    @Setup
+    public void setUp() {
+        Curriculum curriculum = Curriculum.load();
+        List<Problem> bank = bank(curriculum, problems, new Random(11));
+
+        CatalogService catalogService = new CatalogServiceImpl(
+                InMemoryRepositories.of(LessonRepository.class, Map.of("findAll", args -> curriculum.lessons)),
+                InMemoryRepositories.of(QuestionRepository.class, Map.of("findAll", args -> curriculum.questions)),
+                InMemoryRepositories.of(ProblemRepository.class, Map.of("findAll", args -> bank)),
+                event -> { }, new SimpleMeterRegistry());
+        catalogService.reload();
+        searchService = new SearchServiceImpl(catalogService);
+        searchService.rebuild();
+    }
+
+    @Benchmark
+    public List<SearchHit> searchTyping() {
+        return searchService.search(TYPING[step++ & 7], 10);
+    }
+
+    @Benchmark
+    public List<SearchHit> searchWords() {
+        return searchService.search(WORDS[step++ & 7], 10);
+    }
+
+    private static List<Problem> bank(Curriculum curriculum, int size, Random random) {
+        List<String> vocabulary = new ArrayList<>();
+        curriculum.lessons.forEach(lesson -> {
+            vocabulary.addAll(List.of(lesson.getTitle().split("\\W+")));
+            vocabulary.addAll(List.of(lesson.getDescription().split("\\W+")));
+        });
+        curriculum.codeSnippets.forEach(code -> vocabulary.addAll(List.of(code.split("\\W+"))));
+        vocabulary.removeIf(String::isEmpty);
+
+        List<Problem> bank = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            bank.add(Problem.builder()
+                    .id(String.format("%024x", 2_000_000 + i))
+                    .slug("problem-" + i)
+                    .title(words(vocabulary, 3, random))
+                    .description(words(vocabulary, 30, random))
+                    .difficulty(Problem.Difficulty.values()[random.nextInt(3)])
+                    .tags(List.of(TAGS[random.nextInt(TAGS.length)], TAGS[random.nextInt(TAGS.length)]))
+                    .order(i + 1)
+                    .build());
+        }
+        return bank;
+    }
+
+    private static String words(List<String> vocabulary, int count, Random random) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            text.append(vocabulary.get(random.nextInt(vocabulary.size()))).append(' ');
+        }
+        return text.toString().trim();
+    }
+}
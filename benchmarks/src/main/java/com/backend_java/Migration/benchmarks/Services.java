@@ -0,0 +1,45 @@
+package com.backend_java.Migration.benchmarks;
+
+import com.backend_java.Migration.services.JwtService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+/**
+ * Builds services outside Spring: sets their {@code @Value} fields to the application
+ * defaults and runs their {@code @PostConstruct} hooks.
+ */
+final class Services {
+
+    private Services() {
+    }
+
+    static JwtService jwtService(long cacheMaxSize) {
+        JwtService service = new JwtService(new SimpleMeterRegistry());
+        set(service, "secret", "very-long-secret-key-at-least-32-characters-long");
+        set(service, "expiration", 604_800_000L);
+        set(service, "cacheMaxSize", cacheMaxSize);
+        invoke(service, "init");
+        return service;
+    }
+
+    static void set(Object target, String name, Object value) {
+        Field field = ReflectionUtils.findField(target.getClass(), name);
+        if (field == null) {
+            throw new IllegalArgumentException(target.getClass().getSimpleName() + " has no field " + name);
+        }
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target, value);
+    }
+
+    static void invoke(Object target, String name) {
+        Method method = ReflectionUtils.findMethod(target.getClass(), name);
+        if (method == null) {
+            throw new IllegalArgumentException(target.getClass().getSimpleName() + " has no method " + name);
+        }
+        ReflectionUtils.makeAccessible(method);
+        ReflectionUtils.invokeMethod(method, target);
+    }
+}